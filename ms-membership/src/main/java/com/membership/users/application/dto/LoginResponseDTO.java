@@ -14,16 +14,21 @@ public class LoginResponseDTO {
     private String token;
     private String tokenType;
     private long expiresIn;
+    private String refreshToken;
+    private long refreshExpiresIn;
     private String userId;
     private String email;
 
-    public static LoginResponseDTO of(String token, long expiresInMs, String userId, String email) {
+    public static LoginResponseDTO of(String token, long expiresInMs, String refreshToken, long refreshExpiresInMs,
+                                      String userId, String email) {
         return LoginResponseDTO.builder()
                 .token(token)
                 .tokenType("Bearer")
                 .expiresIn(expiresInMs / 1000)
+                .refreshToken(refreshToken)
+                .refreshExpiresIn(refreshExpiresInMs / 1000)
                 .userId(userId)
                 .email(email)
                 .build();
     }
-}
\ No newline at end of file
+}
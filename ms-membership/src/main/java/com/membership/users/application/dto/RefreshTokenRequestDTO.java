@@ -0,0 +1,17 @@
+package com.membership.users.application.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshTokenRequestDTO {
+
+    @NotBlank(message = "Le refresh token ne peut pas être vide")
+    private String refreshToken;
+}
@@ -0,0 +1,40 @@
+package com.membership.users.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Page du flux des révocations d'access tokens.
+ *
+ * Le client repart de {@code nextCursor} ; {@code latestId} inférieur à son
+ * curseur signale une base réinitialisée (relecture complète depuis 0).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevocationFeedDTO {
+
+    private long latestId;
+    private long nextCursor;
+    private boolean hasMore;
+    private List<Entry> revocations;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Entry {
+
+        private long id;
+        private String userId;
+        /** Tokens émis jusqu'à cet instant (epoch ms) révoqués */
+        private long revokedAt;
+        /** Entrée inutile après cet instant (epoch ms) */
+        private long expiresAt;
+    }
+}
@@ -0,0 +1,24 @@
+package com.membership.users.application.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Événement publié lorsqu'un utilisateur cesse d'être actif
+ * (désactivation ou suppression).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStatusChangedEvent {
+
+    private Long userId;
+
+    private Reason reason;
+
+    public enum Reason {
+        DEACTIVATED,
+        DELETED
+    }
+}
@@ -2,17 +2,39 @@ package com.membership.users.application.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.membership.users.application.dto.LoginRequestDTO;
 import com.membership.users.application.dto.LoginResponseDTO;
+import com.membership.users.application.service.RefreshTokenService.Rotation;
+import com.membership.users.application.service.UserCredentialsCache.Credentials;
 import com.membership.users.domain.entity.User;
 import com.membership.users.domain.repository.UserRepository;
+import com.membership.users.infrastructure.exception.InvalidRefreshTokenException;
 import com.membership.users.infrastructure.exception.ResourceNotFoundException;
+import com.membership.users.infrastructure.exception.TooManyRequestsException;
+import com.membership.users.infrastructure.security.LoginAttemptLimiter;
+import com.membership.users.infrastructure.security.PasswordHasher;
 import com.membership.users.infrastructure.security.jwt.JwtTokenProvider;
 
+/**
+ * Authentification par email / mot de passe.
+ *
+ * Les limites de tentatives sont vérifiées avant tout hachage ; la vérification
+ * du mot de passe passe par le pool de hachage borné ({@link PasswordHasher}).
+ * Aucune connexion JDBC n'est retenue pendant le hachage (pas de transaction
+ * englobante). Un hachage d'algorithme ou de coût obsolète est recalculé au login.
+ *
+ * Le login remet un access token de courte durée et un refresh token ; le refresh
+ * émet un nouvel access token sans mot de passe ni hachage (une lecture par clé
+ * unique et une signature).
+ *
+ * Les identifiants lus au login passent par {@link UserCredentialsCache}
+ * (copie locale contrôlée par la version de l'utilisateur).
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -20,36 +42,103 @@ import com.membership.users.infrastructure.security.jwt.JwtTokenProvider;
 public class AuthenticationService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final LoginAttemptLimiter loginAttemptLimiter;
     private final JwtTokenProvider jwtTokenProvider;
+    private final RefreshTokenService refreshTokenService;
+    private final UserCredentialsCache userCredentialsCache;
 
-    public LoginResponseDTO login(LoginRequestDTO loginRequest) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public LoginResponseDTO login(LoginRequestDTO loginRequest, String clientIp) {
         log.debug("Tentative de login pour l'email: {}", loginRequest.getEmail());
 
-        User user = userRepository.findByEmail(loginRequest.getEmail())
+        loginAttemptLimiter.checkAllowed(clientIp, loginRequest.getEmail());
+
+        Credentials user = userCredentialsCache.findByEmail(loginRequest.getEmail())
                 .orElseThrow(() -> {
                     log.warn("Utilisateur non trouvé: {}", loginRequest.getEmail());
+                    loginAttemptLimiter.recordFailure(loginRequest.getEmail());
                     return new ResourceNotFoundException("User", "email", loginRequest.getEmail());
                 });
 
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(loginRequest.getPassword(), user.passwordHash())) {
             log.warn("Mot de passe invalide pour: {}", loginRequest.getEmail());
+            loginAttemptLimiter.recordFailure(loginRequest.getEmail());
             throw new RuntimeException("Email ou mot de passe invalide");
         }
 
-        if (!user.getActive()) {
+        if (!user.active()) {
             log.warn("Utilisateur désactivé: {}", loginRequest.getEmail());
             throw new RuntimeException("Cet utilisateur est désactivé");
         }
 
+        loginAttemptLimiter.recordSuccess(loginRequest.getEmail());
+        upgradePasswordHashIfNeeded(user, loginRequest.getPassword());
+
+        String refreshToken = refreshTokenService.issue(user.id());
+
+        log.info("Login réussi pour: {}", loginRequest.getEmail());
+
+        return tokenResponse(user.id(), user.email(), refreshToken);
+    }
+
+    /**
+     * Échange un refresh token contre un nouvel access token et un nouveau refresh token.
+     *
+     * @throws InvalidRefreshTokenException si le token est invalide ou l'utilisateur inactif
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public LoginResponseDTO refresh(String refreshToken) {
+        Rotation rotation = refreshTokenService.rotate(refreshToken);
+
+        User user = userRepository.findById(rotation.userId())
+                .filter(User::getActive)
+                .orElseThrow(() -> {
+                    log.warn("Refresh refusé, utilisateur inactif ou supprimé: ID {}", rotation.userId());
+                    refreshTokenService.revokeAll(rotation.userId());
+                    return new InvalidRefreshTokenException("Refresh token invalide");
+                });
+
+        log.debug("Access token renouvelé pour l'utilisateur ID: {}", user.getId());
+
+        return tokenResponse(user.getId(), user.getEmail(), rotation.refreshToken());
+    }
+
+    /**
+     * Révoque le refresh token et ceux de la même session.
+     */
+    @Transactional
+    public void logout(String refreshToken) {
+        refreshTokenService.revoke(refreshToken);
+    }
+
+    private LoginResponseDTO tokenResponse(Long userId, String email, String refreshToken) {
         String token = jwtTokenProvider.generateToken(
-                String.valueOf(user.getId()),
-                user.getEmail(),
+                String.valueOf(userId),
+                email,
                 "USER"
         );
 
-        log.info("Login réussi pour: {}", loginRequest.getEmail());
+        return LoginResponseDTO.of(token, jwtTokenProvider.getExpirationMs(),
+                refreshToken, refreshTokenService.getExpirationMs(),
+                String.valueOf(userId), email);
+    }
 
-        return LoginResponseDTO.of(token, 3600000, String.valueOf(user.getId()), user.getEmail());
+    /**
+     * Recalcule le hachage avec l'algorithme et le coût courants. Un échec
+     * (pool saturé, base indisponible) n'empêche pas le login : nouvel essai au suivant.
+     */
+    private void upgradePasswordHashIfNeeded(Credentials user, String rawPassword) {
+        if (!passwordHasher.upgradeEncoding(user.passwordHash())) {
+            return;
+        }
+        try {
+            String upgraded = passwordHasher.encode(rawPassword);
+            userRepository.updatePassword(user.id(), user.passwordHash(), upgraded);
+            userCredentialsCache.invalidate(user.email());
+            log.info("Hachage du mot de passe mis à jour pour l'utilisateur ID: {}", user.id());
+        } catch (TooManyRequestsException | DataAccessException e) {
+            log.warn("Mise à jour du hachage reportée pour l'utilisateur ID: {}: {}", user.id(), e.getMessage());
+        }
     }
-}
\ No newline at end of file
+}
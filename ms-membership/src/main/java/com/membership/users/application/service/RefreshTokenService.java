@@ -0,0 +1,199 @@
+package com.membership.users.application.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.membership.users.application.event.UserStatusChangedEvent;
+import com.membership.users.domain.entity.RefreshToken;
+import com.membership.users.domain.repository.RefreshTokenRepository;
+import com.membership.users.infrastructure.exception.InvalidRefreshTokenException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Refresh tokens : émission, rotation et révocation.
+ *
+ * Le token est une valeur aléatoire de 256 bits remise au client ; seule son
+ * empreinte SHA-256 est stockée (un hachage lent est inutile à cette entropie).
+ * Chaque refresh consomme le token et en émet un nouveau dans la même famille.
+ * Rejouer un token déjà consommé révoque toute la famille : un token volé ne
+ * survit pas à l'utilisation suivante par son propriétaire légitime.
+ *
+ * Les tokens d'un utilisateur désactivé ou supprimé sont révoqués dans la même transaction.
+ */
+@Slf4j
+@Service
+@Transactional
+public class RefreshTokenService {
+
+    /**
+     * Résultat d'une rotation : utilisateur du token et nouveau refresh token.
+     */
+    public record Rotation(Long userId, String refreshToken) {
+    }
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final long expirationMs;
+    private final Clock clock;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    // --- MÉTRIQUES ---
+    private final Counter issuedCounter;
+    private final Counter rotatedCounter;
+    private final Counter reusedCounter;
+    private final Counter rejectedCounter;
+
+    @Autowired
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.jwt.refresh-token.expiration:2592000000}") long expirationMs
+    ) {
+        this(refreshTokenRepository, meterRegistry, expirationMs, Clock.systemDefaultZone());
+    }
+
+    RefreshTokenService(RefreshTokenRepository refreshTokenRepository, MeterRegistry meterRegistry,
+                        long expirationMs, Clock clock) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.expirationMs = expirationMs;
+        this.clock = clock;
+
+        this.issuedCounter = refreshCounter(meterRegistry, "issued", "Refresh tokens émis au login");
+        this.rotatedCounter = refreshCounter(meterRegistry, "rotated", "Refresh réussis (token consommé et remplacé)");
+        this.reusedCounter = refreshCounter(meterRegistry, "reused", "Rejeux d'un token consommé (famille révoquée)");
+        this.rejectedCounter = refreshCounter(meterRegistry, "rejected", "Refresh refusés (token inconnu ou expiré)");
+    }
+
+    private static Counter refreshCounter(MeterRegistry meterRegistry, String result, String description) {
+        return Counter.builder("refresh_tokens_total")
+                .tag("result", result)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    public long getExpirationMs() {
+        return expirationMs;
+    }
+
+    /**
+     * Émet le premier refresh token d'une nouvelle famille (login).
+     */
+    public String issue(Long userId) {
+        String refreshToken = store(userId, UUID.randomUUID());
+        issuedCounter.increment();
+        return refreshToken;
+    }
+
+    /**
+     * Consomme le refresh token et émet son successeur.
+     *
+     * @throws InvalidRefreshTokenException si le token est inconnu, expiré ou déjà consommé
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String refreshToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> rejected("Refresh token inconnu"));
+
+        if (!current.getExpiresAt().isAfter(now())) {
+            throw rejected("Refresh token expiré pour l'utilisateur ID: " + current.getUserId());
+        }
+
+        // Mise à jour conditionnelle : une seule requête concurrente consomme le token
+        if (refreshTokenRepository.revokeIfActive(current.getId()) == 0) {
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId());
+            reusedCounter.increment();
+            log.warn("Rejeu d'un refresh token consommé pour l'utilisateur ID: {}, famille révoquée ({} tokens)",
+                    current.getUserId(), revoked);
+            throw new InvalidRefreshTokenException("Refresh token invalide");
+        }
+
+        String next = store(current.getUserId(), current.getFamilyId());
+        rotatedCounter.increment();
+        return new Rotation(current.getUserId(), next);
+    }
+
+    /**
+     * Révoque la famille du token (logout). Sans effet pour un token inconnu.
+     */
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findByTokenHash(hash(refreshToken)).ifPresent(token -> {
+            int revoked = refreshTokenRepository.revokeFamily(token.getFamilyId());
+            log.info("Refresh tokens révoqués pour l'utilisateur ID: {} ({} tokens)", token.getUserId(), revoked);
+        });
+    }
+
+    public void revokeAll(Long userId) {
+        int revoked = refreshTokenRepository.revokeAllByUserId(userId);
+        if (revoked > 0) {
+            log.info("Refresh tokens révoqués pour l'utilisateur ID: {} ({} tokens)", userId, revoked);
+        }
+    }
+
+    /**
+     * Appelé de façon synchrone dans la transaction de désactivation / suppression.
+     */
+    @EventListener
+    public void onUserStatusChanged(UserStatusChangedEvent event) {
+        revokeAll(event.getUserId());
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-token.purge-interval-ms:3600000}",
+            initialDelayString = "${app.jwt.refresh-token.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpiredBefore(now());
+        if (deleted > 0) {
+            log.info("Refresh tokens expirés supprimés: {}", deleted);
+        }
+    }
+
+    private String store(Long userId, UUID familyId) {
+        byte[] random = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(random);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(refreshToken))
+                .userId(userId)
+                .familyId(familyId)
+                .expiresAt(now().plus(Duration.ofMillis(expirationMs)))
+                .revoked(false)
+                .build());
+        return refreshToken;
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    private InvalidRefreshTokenException rejected(String reason) {
+        rejectedCounter.increment();
+        log.warn(reason);
+        return new InvalidRefreshTokenException("Refresh token invalide");
+    }
+
+    static String hash(String refreshToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+}
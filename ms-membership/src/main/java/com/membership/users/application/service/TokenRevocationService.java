@@ -0,0 +1,150 @@
+package com.membership.users.application.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.membership.users.application.dto.RevocationFeedDTO;
+import com.membership.users.application.event.UserStatusChangedEvent;
+import com.membership.users.domain.entity.TokenRevocation;
+import com.membership.users.domain.repository.TokenRevocationRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Flux des révocations d'access tokens.
+ *
+ * Un utilisateur désactivé ou supprimé garde des JWT valides jusqu'à leur
+ * expiration ; Product et Order lisent ce flux (incrémental, par curseur) et
+ * refusent les tokens de l'utilisateur émis avant la révocation. L'entrée est
+ * conservée pendant la durée de vie d'un access token, puis purgée.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class TokenRevocationService {
+
+    static final int PAGE_SIZE = 1000;
+
+    /**
+     * Marge pour les écarts d'horloge entre services.
+     */
+    private static final Duration CLOCK_SKEW = Duration.ofMinutes(1);
+
+    /**
+     * Une révocation plus récente peut encore voir une transaction de plus petit id
+     * se valider après elle : le curseur ne la dépasse pas, elle est renvoyée au
+     * prochain appel (fusion idempotente côté client).
+     */
+    private static final Duration SETTLE_DELAY = Duration.ofSeconds(5);
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final Duration retention;
+    private final Clock clock;
+
+    private final Counter revokedCounter;
+
+    @Autowired
+    public TokenRevocationService(
+            TokenRevocationRepository tokenRevocationRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.jwt.expiration:900000}") long accessTokenLifetimeMs
+    ) {
+        this(tokenRevocationRepository, meterRegistry, accessTokenLifetimeMs, Clock.systemDefaultZone());
+    }
+
+    TokenRevocationService(TokenRevocationRepository tokenRevocationRepository, MeterRegistry meterRegistry,
+                           long accessTokenLifetimeMs, Clock clock) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        this.retention = Duration.ofMillis(accessTokenLifetimeMs).plus(CLOCK_SKEW);
+        this.clock = clock;
+
+        this.revokedCounter = Counter.builder("access_token_revocations_total")
+                .description("Révocations d'access tokens publiées (utilisateur désactivé ou supprimé)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Appelé de façon synchrone dans la transaction de désactivation / suppression.
+     */
+    @EventListener
+    @Transactional
+    public void onUserStatusChanged(UserStatusChangedEvent event) {
+        revoke(event.getUserId());
+    }
+
+    @Transactional
+    public void revoke(Long userId) {
+        LocalDateTime now = now();
+        tokenRevocationRepository.save(TokenRevocation.builder()
+                .userId(userId)
+                .revokedAt(now)
+                .expiresAt(now.plus(retention))
+                .build());
+        revokedCounter.increment();
+        log.info("Access tokens révoqués pour l'utilisateur ID: {}", userId);
+    }
+
+    /**
+     * Révocations encore utiles postérieures au curseur, par pages de {@value #PAGE_SIZE}.
+     */
+    public RevocationFeedDTO feed(long since) {
+        LocalDateTime now = now();
+        long latestId = tokenRevocationRepository.findLatestId();
+        List<TokenRevocation> page = tokenRevocationRepository.findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(
+                since, now, Limit.of(PAGE_SIZE));
+
+        List<RevocationFeedDTO.Entry> entries = page.stream()
+                .map(revocation -> RevocationFeedDTO.Entry.builder()
+                        .id(revocation.getId())
+                        .userId(String.valueOf(revocation.getUserId()))
+                        .revokedAt(toEpochMilli(revocation.getRevokedAt()))
+                        .expiresAt(toEpochMilli(revocation.getExpiresAt()))
+                        .build())
+                .toList();
+
+        LocalDateTime settled = now.minus(SETTLE_DELAY);
+        long nextCursor = since;
+        for (TokenRevocation revocation : page) {
+            if (revocation.getRevokedAt().isAfter(settled)) {
+                break;
+            }
+            nextCursor = revocation.getId();
+        }
+
+        return RevocationFeedDTO.builder()
+                .latestId(latestId)
+                .nextCursor(nextCursor)
+                .hasMore(page.size() == PAGE_SIZE && nextCursor == page.get(page.size() - 1).getId())
+                .revocations(entries)
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocations.purge-interval-ms:3600000}",
+            initialDelayString = "${app.jwt.revocations.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = tokenRevocationRepository.deleteExpiredBefore(now());
+        if (deleted > 0) {
+            log.info("Révocations expirées supprimées: {}", deleted);
+        }
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    private long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,149 @@
+package com.membership.users.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.membership.users.domain.entity.User;
+import com.membership.users.domain.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache local des identifiants de login (email -> id, hachage, statut, version).
+ *
+ * Une copie n'est utilisée qu'après contrôle de sa version en base (lecture
+ * d'une seule colonne par index couvrant, sans chargement de l'entité) : une
+ * modification faite par une autre instance Membership, y compris une
+ * suppression, est donc vue au login suivant. Les modifications locales
+ * (mise à jour, suppression, désactivation, nouveau hachage) retirent la
+ * copie dès leur commit.
+ *
+ * Optionnel ({@code app.security.user-cache.enabled}) : désactivé, chaque
+ * login relit l'utilisateur complet.
+ *
+ * Métriques Prometheus : cache_gets_total{cache="loginUserCredentials",result=hit|miss},
+ * cache_evictions_total, cache_size, login_user_cache_hit_ratio (copies
+ * utilisées / lectures), login_user_cache_stale_total.
+ */
+@Slf4j
+@Component
+public class UserCredentialsCache {
+
+    static final String CACHE_NAME = "loginUserCredentials";
+
+    /**
+     * Identifiants utiles au login, à la version lue.
+     */
+    public record Credentials(Long id, String email, String passwordHash, boolean active, long version) {
+
+        static Credentials of(User user) {
+            return new Credentials(user.getId(), user.getEmail(), user.getPassword(),
+                    Boolean.TRUE.equals(user.getActive()), user.getVersion() != null ? user.getVersion() : 0L);
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final Cache<String, Credentials> credentials;
+
+    private final Counter staleCounter;
+
+    public UserCredentialsCache(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.security.user-cache.enabled:true}") boolean enabled,
+            @Value("${app.security.user-cache.max-size:10000}") long maxSize,
+            @Value("${app.security.user-cache.ttl-seconds:600}") long ttlSeconds
+    ) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.credentials = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, credentials, CACHE_NAME);
+
+        this.staleCounter = Counter.builder("login_user_cache_stale_total")
+                .description("Copies écartées au login : version modifiée en base (autre instance) ou utilisateur supprimé")
+                .register(meterRegistry);
+
+        Gauge.builder("login_user_cache_hit_ratio", this, UserCredentialsCache::hitRatio)
+                .description("Part des logins servis par le cache local des identifiants")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Identifiants de l'utilisateur : copie locale si sa version est toujours
+     * celle de la base, sinon relecture complète.
+     */
+    public Optional<Credentials> findByEmail(String email) {
+        if (!enabled) {
+            return userRepository.findByEmail(email).map(Credentials::of);
+        }
+
+        Credentials cached = credentials.getIfPresent(email);
+        if (cached != null) {
+            Optional<Long> version = userRepository.findVersionByEmail(email);
+            if (version.isPresent() && version.get() == cached.version()) {
+                return Optional.of(cached);
+            }
+            credentials.asMap().remove(email, cached);
+            staleCounter.increment();
+            log.debug("Copie périmée des identifiants de: {} (version {} en cache)", email, cached.version());
+            if (version.isEmpty()) {
+                return Optional.empty();
+            }
+        }
+
+        Optional<Credentials> loaded = userRepository.findByEmail(email).map(Credentials::of);
+        loaded.ifPresent(current -> credentials.put(email, current));
+        return loaded;
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            credentials.invalidate(email);
+        }
+    }
+
+    /**
+     * Retire la copie au commit de la transaction courante (immédiatement hors
+     * transaction) : retirée avant, elle serait rechargée depuis la ligne pas
+     * encore modifiée par un login concurrent.
+     */
+    public void invalidateAfterCommit(String email) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(email);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(email);
+            }
+        });
+    }
+
+    /**
+     * Les copies écartées comptent comme des lectures en base, pas comme des succès.
+     */
+    private double hitRatio() {
+        long requests = credentials.stats().requestCount();
+        if (requests == 0) {
+            return 0.0;
+        }
+        return (credentials.stats().hitCount() - staleCounter.count()) / requests;
+    }
+}
@@ -4,11 +4,13 @@ import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.membership.users.application.dto.UserRequestDTO;
 import com.membership.users.application.dto.UserResponseDTO;
+import com.membership.users.application.event.UserStatusChangedEvent;
 import com.membership.users.application.mapper.UserMapper;
 import com.membership.users.domain.entity.User;
 import com.membership.users.domain.repository.UserRepository;
@@ -36,6 +38,8 @@ public class UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserCredentialsCache userCredentialsCache;
 
     /**
      * Récupère tous les utilisateurs
@@ -112,6 +116,7 @@ public class UserService {
             throw new ResourceAlreadyExistsException("User", "email", userRequestDTO.getEmail());
         }
         
+        userCredentialsCache.invalidateAfterCommit(user.getEmail());
         userMapper.updateEntityFromDto(userRequestDTO, user);
         User updatedUser = userRepository.save(user);
         
@@ -139,6 +144,8 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
         
         userRepository.delete(user);
+        userCredentialsCache.invalidateAfterCommit(user.getEmail());
+        eventPublisher.publishEvent(new UserStatusChangedEvent(id, UserStatusChangedEvent.Reason.DELETED));
         
         // Métrique personnalisée
         Counter.builder("users.deleted")
@@ -192,6 +199,8 @@ public class UserService {
         
         user.setActive(false);
         User deactivatedUser = userRepository.save(user);
+        userCredentialsCache.invalidateAfterCommit(user.getEmail());
+        eventPublisher.publishEvent(new UserStatusChangedEvent(id, UserStatusChangedEvent.Reason.DEACTIVATED));
         
         log.info("Utilisateur désactivé avec succès: ID={}, Email={}", id, user.getEmail());
         
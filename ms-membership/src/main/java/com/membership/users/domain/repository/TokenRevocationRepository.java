@@ -0,0 +1,28 @@
+package com.membership.users.domain.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.membership.users.domain.entity.TokenRevocation;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    /**
+     * Page du flux après le curseur, entrées encore utiles uniquement (parcours de la clé primaire).
+     */
+    List<TokenRevocation> findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(Long id, LocalDateTime now, Limit limit);
+
+    @Query("SELECT COALESCE(MAX(r.id), 0) FROM TokenRevocation r")
+    long findLatestId();
+
+    @Modifying
+    @Query("DELETE FROM TokenRevocation r WHERE r.expiresAt < :before")
+    int deleteExpiredBefore(LocalDateTime before);
+}
@@ -1,8 +1,10 @@
 package com.membership.users.domain.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.membership.users.domain.entity.User;
 
@@ -24,6 +26,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByEmail(String email);
 
+    /**
+     * Version courante de l'utilisateur (contrôle du cache des identifiants de login)
+     */
+    @Query("SELECT u.version FROM User u WHERE u.email = :email")
+    Optional<Long> findVersionByEmail(String email);
+
     /**
      * Vérifie si un email existe déjà
      */
@@ -45,4 +53,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     @Query("SELECT COUNT(u) FROM User u WHERE u.active = true")
     long countActiveUsers();
+
+    /**
+     * Remplace le hachage du mot de passe, uniquement s'il n'a pas changé entre-temps
+     * (migration de hachage au login sans écraser un changement de mot de passe concurrent).
+     *
+     * @return 1 si mis à jour, 0 sinon
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.password = :newHash, u.version = u.version + 1 "
+            + "WHERE u.id = :id AND u.password = :currentHash")
+    int updatePassword(Long id, String currentHash, String newHash);
 }
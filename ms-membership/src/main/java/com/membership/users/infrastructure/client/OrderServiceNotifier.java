@@ -0,0 +1,101 @@
+package com.membership.users.infrastructure.client;
+
+import com.membership.users.application.event.UserStatusChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Notifie le service Order qu'un utilisateur n'est plus actif, pour qu'il
+ * retire cet utilisateur de son cache local.
+ *
+ * L'appel est fait après le commit (jamais pour une transaction annulée) et
+ * hors du thread de la requête. Un échec est seulement journalisé : la durée
+ * de vie des entrées du cache côté Order borne alors le délai de prise en compte.
+ *
+ * L'endpoint interne d'Order exige le secret inter-services ({@code app.internal.token}).
+ */
+@Slf4j
+@Component
+public class OrderServiceNotifier {
+
+    private final RestTemplate restTemplate;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final boolean enabled;
+    private final HttpEntity<Void> authenticated;
+
+    @Value("${services.order.url:http://localhost:8083}")
+    private String orderServiceUrl;
+
+    // --- MÉTRIQUES ---
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+
+    public OrderServiceNotifier(
+            RestTemplateBuilder restTemplateBuilder,
+            MeterRegistry meterRegistry,
+            @Value("${app.user-status.notify-enabled:true}") boolean enabled,
+            @Value("${app.user-status.notify-timeout-ms:2000}") long timeoutMs,
+            @Value("${app.internal.token:}") String internalToken
+    ) {
+        this.restTemplate = restTemplateBuilder
+                .connectTimeout(Duration.ofMillis(timeoutMs))
+                .readTimeout(Duration.ofMillis(timeoutMs))
+                .build();
+        this.enabled = enabled;
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Internal-Token", internalToken);
+        this.authenticated = new HttpEntity<>(headers);
+
+        this.sentCounter = Counter.builder("users_status_invalidations_total")
+                .tag("result", "sent")
+                .description("Invalidations de statut utilisateur envoyées au service Order")
+                .register(meterRegistry);
+
+        this.failedCounter = Counter.builder("users_status_invalidations_total")
+                .tag("result", "failed")
+                .description("Invalidations de statut utilisateur en échec")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUserStatusChanged(UserStatusChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        executor.execute(() -> notifyOrderService(event));
+    }
+
+    void notifyOrderService(UserStatusChangedEvent event) {
+        try {
+            restTemplate.exchange(orderServiceUrl + "/api/v1/internal/users/{id}/status",
+                    HttpMethod.DELETE, authenticated, Void.class, event.getUserId());
+            sentCounter.increment();
+            log.debug("Service Order notifié : utilisateur ID={} {}", event.getUserId(), event.getReason());
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.warn("Notification du service Order impossible pour l'utilisateur ID={}: {}",
+                    event.getUserId(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,15 +1,48 @@
 package com.membership.users.infrastructure.config;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Map;
+
+/**
+ * Encodage des mots de passe.
+ *
+ * Les hachages sont préfixés par leur algorithme ({bcrypt}, {argon2}) : changer
+ * {@code app.security.password.encoder} ou le coût bcrypt ne demande aucune
+ * migration, chaque hachage obsolète étant recalculé au login suivant
+ * ({@link PasswordEncoder#upgradeEncoding}). Les hachages bcrypt historiques,
+ * sans préfixe, restent vérifiés puis sont migrés de la même façon.
+ */
+@Slf4j
 @Configuration
 public class SecurityBeansConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.security.password.encoder:bcrypt}") String encoderId,
+            @Value("${app.security.password.bcrypt-strength:10}") int bcryptStrength
+    ) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = Map.of(
+                "bcrypt", bcrypt,
+                "argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8()
+        );
+        if (!encoders.containsKey(encoderId)) {
+            throw new IllegalArgumentException("Encodeur de mot de passe inconnu: " + encoderId + " (bcrypt, argon2)");
+        }
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(encoderId, encoders);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        log.info("Encodage des mots de passe: {}{}", encoderId,
+                "bcrypt".equals(encoderId) ? " (coût " + bcryptStrength + ")" : "");
+        return passwordEncoder;
     }
-}
\ No newline at end of file
+}
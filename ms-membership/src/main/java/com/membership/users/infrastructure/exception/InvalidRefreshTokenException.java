@@ -0,0 +1,12 @@
+package com.membership.users.infrastructure.exception;
+
+/**
+ * Exception levée lorsqu'un refresh token est inconnu, expiré, révoqué ou rejoué (401).
+ * Le client doit se reconnecter avec son mot de passe.
+ */
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
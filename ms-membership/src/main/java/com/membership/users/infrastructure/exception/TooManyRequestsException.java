@@ -0,0 +1,18 @@
+package com.membership.users.infrastructure.exception;
+
+import lombok.Getter;
+
+/**
+ * Exception levée lorsqu'une requête est refusée par limitation de débit (429).
+ * Le client peut réessayer après {@link #getRetryAfterSeconds()} secondes.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,63 @@
+package com.membership.users.infrastructure.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Authentification des appels entre services (flux /api/v1/auth/revocations
+ * lu par les services Product et Order).
+ *
+ * Le service appelant présente le secret partagé {@code app.internal.token}
+ * dans l'en-tête {@value #HEADER} ; s'il correspond (comparaison en temps
+ * constant), la requête reçoit le rôle SERVICE. Sans secret configuré, aucun
+ * appel n'est authentifié : le flux est fermé.
+ */
+@Slf4j
+@Component
+public class InternalServiceTokenFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Internal-Token";
+
+    private static final List<SimpleGrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_SERVICE"));
+
+    private final byte[] token;
+
+    public InternalServiceTokenFilter(@Value("${app.internal.token:}") String token) {
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+        if (token.isBlank()) {
+            log.warn("Aucun secret inter-services (app.internal.token) : flux de révocations fermé");
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String presented = request.getHeader(HEADER);
+
+        if (presented != null && token.length > 0
+                && MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))) {
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken("internal-service", null, AUTHORITIES));
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,194 @@
+package com.membership.users.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.membership.users.infrastructure.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Limitation des tentatives de login, en mémoire, par fenêtre glissante.
+ *
+ * - Par adresse IP : toutes les tentatives (rafale, credential stuffing).
+ * - Par email : les échecs uniquement (devinette de mot de passe sur un compte) ;
+ *   un login réussi remet le compteur à zéro.
+ *
+ * Vérifiée avant tout hachage : une tentative refusée ne coûte rien en CPU.
+ * Fenêtre glissante approchée par deux fenêtres fixes consécutives pondérées
+ * (deux compteurs par clé). Le nombre de clés suivies est borné.
+ */
+@Slf4j
+@Component
+public class LoginAttemptLimiter {
+
+    private final SlidingWindow ipAttempts;
+    private final SlidingWindow emailFailures;
+    private final Clock clock;
+
+    private final Counter ipRejectedCounter;
+    private final Counter emailRejectedCounter;
+
+    @Autowired
+    public LoginAttemptLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${app.security.login-limit.ip-max-attempts:30}") int ipMaxAttempts,
+            @Value("${app.security.login-limit.ip-window-seconds:60}") long ipWindowSeconds,
+            @Value("${app.security.login-limit.email-max-failures:5}") int emailMaxFailures,
+            @Value("${app.security.login-limit.email-window-seconds:300}") long emailWindowSeconds,
+            @Value("${app.security.login-limit.max-tracked-keys:100000}") long maxTrackedKeys
+    ) {
+        this(meterRegistry, ipMaxAttempts, ipWindowSeconds, emailMaxFailures, emailWindowSeconds,
+                maxTrackedKeys, Clock.systemUTC());
+    }
+
+    LoginAttemptLimiter(MeterRegistry meterRegistry, int ipMaxAttempts, long ipWindowSeconds,
+                        int emailMaxFailures, long emailWindowSeconds, long maxTrackedKeys, Clock clock) {
+        this.clock = clock;
+        this.ipAttempts = new SlidingWindow(ipMaxAttempts, Duration.ofSeconds(ipWindowSeconds), maxTrackedKeys);
+        this.emailFailures = new SlidingWindow(emailMaxFailures, Duration.ofSeconds(emailWindowSeconds), maxTrackedKeys);
+
+        this.ipRejectedCounter = Counter.builder("login_attempts_rejected_total")
+                .tag("reason", "ip")
+                .description("Tentatives de login refusées (trop de tentatives depuis l'adresse IP)")
+                .register(meterRegistry);
+
+        this.emailRejectedCounter = Counter.builder("login_attempts_rejected_total")
+                .tag("reason", "email")
+                .description("Tentatives de login refusées (trop d'échecs pour l'email)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Compte une tentative pour l'IP et vérifie les deux limites.
+     *
+     * @throws TooManyRequestsException si l'une des limites est atteinte
+     */
+    public void checkAllowed(String clientIp, String email) {
+        long now = clock.millis();
+
+        long emailRetryAfter = emailFailures.retryAfterSeconds(normalize(email), now);
+        if (emailRetryAfter > 0) {
+            emailRejectedCounter.increment();
+            log.warn("Trop d'échecs de login pour: {}", email);
+            throw new TooManyRequestsException("Trop de tentatives de connexion pour ce compte, réessayez plus tard",
+                    emailRetryAfter);
+        }
+
+        long ipRetryAfter = ipAttempts.acquire(clientIp, now);
+        if (ipRetryAfter > 0) {
+            ipRejectedCounter.increment();
+            log.warn("Trop de tentatives de login depuis: {}", clientIp);
+            throw new TooManyRequestsException("Trop de tentatives de connexion, réessayez plus tard", ipRetryAfter);
+        }
+    }
+
+    public void recordFailure(String email) {
+        emailFailures.increment(normalize(email), clock.millis());
+    }
+
+    public void recordSuccess(String email) {
+        emailFailures.reset(normalize(email));
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Compteurs par clé sur deux fenêtres fixes : estimation = précédente × part
+     * restante de la fenêtre + courante.
+     */
+    static final class SlidingWindow {
+
+        private final int limit;
+        private final long windowMs;
+        private final Cache<String, Window> windows;
+
+        SlidingWindow(int limit, Duration window, long maxKeys) {
+            this.limit = limit;
+            this.windowMs = window.toMillis();
+            this.windows = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(window.multipliedBy(2))
+                    .build();
+        }
+
+        /**
+         * Compte un événement s'il reste de la place.
+         *
+         * @return 0 si accepté, sinon le délai conseillé en secondes
+         */
+        long acquire(String key, long now) {
+            Window window = windows.get(key, k -> new Window(now));
+            synchronized (window) {
+                window.roll(now, windowMs);
+                if (window.estimate(now, windowMs) >= limit) {
+                    return window.retryAfterSeconds(now, windowMs);
+                }
+                window.current++;
+                return 0;
+            }
+        }
+
+        long retryAfterSeconds(String key, long now) {
+            Window window = windows.getIfPresent(key);
+            if (window == null) {
+                return 0;
+            }
+            synchronized (window) {
+                window.roll(now, windowMs);
+                return window.estimate(now, windowMs) >= limit ? window.retryAfterSeconds(now, windowMs) : 0;
+            }
+        }
+
+        void increment(String key, long now) {
+            Window window = windows.get(key, k -> new Window(now));
+            synchronized (window) {
+                window.roll(now, windowMs);
+                window.current++;
+            }
+        }
+
+        void reset(String key) {
+            windows.invalidate(key);
+        }
+    }
+
+    private static final class Window {
+
+        private long start;
+        private int previous;
+        private int current;
+
+        Window(long now) {
+            this.start = now;
+        }
+
+        void roll(long now, long windowMs) {
+            long elapsedWindows = (now - start) / windowMs;
+            if (elapsedWindows == 0) {
+                return;
+            }
+            previous = elapsedWindows == 1 ? current : 0;
+            current = 0;
+            start += elapsedWindows * windowMs;
+        }
+
+        double estimate(long now, long windowMs) {
+            double remainingShare = 1.0 - (double) (now - start) / windowMs;
+            return previous * remainingShare + current;
+        }
+
+        long retryAfterSeconds(long now, long windowMs) {
+            return Math.max(1, (start + windowMs - now + 999) / 1000);
+        }
+    }
+}
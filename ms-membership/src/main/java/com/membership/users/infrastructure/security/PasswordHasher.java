@@ -0,0 +1,154 @@
+package com.membership.users.infrastructure.security;
+
+import com.membership.users.infrastructure.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hachage et vérification des mots de passe sur un pool dédié et borné.
+ *
+ * Le hachage (bcrypt, Argon2) est volontairement coûteux en CPU : exécuté sur
+ * les threads Tomcat, une rafale de logins les occupe tous. Ici au plus
+ * {@code threads} hachages tournent en parallèle et au plus {@code queue-capacity}
+ * attendent ; au-delà, ou si l'attente dépasse {@code max-wait-ms}, la requête
+ * est refusée immédiatement (429) au lieu de s'empiler.
+ *
+ * Métriques : password_hash_duration{operation}, password_hash_queue_wait,
+ * password_hash_queue_size, password_hash_rejected_total.
+ */
+@Slf4j
+@Component
+public class PasswordHasher {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMs;
+
+    private final Timer matchesTimer;
+    private final Timer encodeTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHasher(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${app.security.hashing.threads:0}") int threads,
+            @Value("${app.security.hashing.queue-capacity:16}") int queueCapacity,
+            @Value("${app.security.hashing.max-wait-ms:3000}") long maxWaitMs
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.maxWaitMs = maxWaitMs;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.matchesTimer = Timer.builder("password_hash_duration")
+                .tag("operation", "matches")
+                .description("Durée de vérification d'un mot de passe (hors attente)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        this.encodeTimer = Timer.builder("password_hash_duration")
+                .tag("operation", "encode")
+                .description("Durée de hachage d'un mot de passe (hors attente)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        this.queueWaitTimer = Timer.builder("password_hash_queue_wait")
+                .description("Attente d'un thread de hachage libre")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        this.rejectedCounter = Counter.builder("password_hash_rejected_total")
+                .description("Hachages refusés (file pleine ou attente trop longue)")
+                .register(meterRegistry);
+
+        Gauge.builder("password_hash_queue_size", executor, pool -> pool.getQueue().size())
+                .description("Hachages en attente d'un thread")
+                .register(meterRegistry);
+
+        log.info("Hachage des mots de passe: {} threads, file de {}", poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public String encode(String rawPassword) {
+        return run(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Le hachage doit-il être recalculé (algorithme ou coût obsolète) ? Sans coût CPU.
+     */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Timer durationTimer, Callable<T> hashing) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return durationTimer.recordCallable(hashing);
+            });
+        } catch (RejectedExecutionException e) {
+            throw rejected("file de hachage pleine");
+        }
+
+        try {
+            return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw rejected("attente du hachage dépassée");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Hachage interrompu", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Erreur de hachage", e.getCause());
+        }
+    }
+
+    private TooManyRequestsException rejected(String reason) {
+        rejectedCounter.increment();
+        log.warn("Hachage refusé: {}", reason);
+        return new TooManyRequestsException("Trop de tentatives de connexion simultanées, réessayez", RETRY_AFTER_SECONDS);
+    }
+}
@@ -0,0 +1,263 @@
+package com.membership.users.infrastructure.security.jwt;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import io.jsonwebtoken.security.UnsupportedKeyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Clés de signature des JWT.
+ *
+ * Algorithme configurable ({@code app.jwt.algorithm} : RS256, ES256 ou EdDSA),
+ * les fichiers PEM devant contenir des clés du type correspondant (RSA, EC P-256, Ed25519 ou Ed448).
+ * Chaque token porte en en-tête le {@code kid} de sa clé : l'empreinte RFC 7638
+ * de la clé publique, identique sur toutes les instances qui partagent les fichiers.
+ *
+ * Rotation sans redéploiement : les fichiers de clés sont relus périodiquement.
+ * Quand la paire change, la nouvelle clé signe immédiatement et l'ancienne clé
+ * publique reste publiée (JWKS) et acceptée pendant la durée de vie des tokens
+ * qu'elle a signés. Une paire incohérente est refusée et la clé courante conservée.
+ *
+ * Sert aussi de {@link io.jsonwebtoken.Locator} au parser : clé de vérification choisie par {@code kid}.
+ */
+@Slf4j
+@Component
+public class JwtKeyRing extends LocatorAdapter<Key> {
+
+    /**
+     * Clé de signature courante.
+     */
+    public record SigningKey(String kid, SignatureAlgorithm algorithm, PrivateKey privateKey, PublicKey publicKey) {
+    }
+
+    /**
+     * Clé publique retirée, acceptée jusqu'à expiration des tokens qu'elle a signés.
+     */
+    private record RetiredKey(PublicJwk<?> jwk, Instant acceptedUntil) {
+    }
+
+    private final String algorithmName;
+    private final String privateKeyPath;
+    private final String publicKeyPath;
+    private final long tokenLifetimeMs;
+    private final Clock clock;
+
+    private final SignatureAlgorithm algorithm;
+
+    private volatile SigningKey current;
+    private volatile PublicJwk<?> currentJwk;
+    private volatile Map<String, RetiredKey> retired = Map.of();
+    private volatile String jwksJson;
+
+    private final Counter rotationCounter;
+
+    @Autowired
+    public JwtKeyRing(
+            MeterRegistry meterRegistry,
+            @Value("${app.jwt.algorithm:RS256}") String algorithmName,
+            @Value("${app.jwt.private-key-path:./keys/private_key.pem}") String privateKeyPath,
+            @Value("${app.jwt.public-key-path:./keys/public_key.pem}") String publicKeyPath,
+            @Value("${app.jwt.expiration:3600000}") long tokenLifetimeMs
+    ) {
+        this(meterRegistry, algorithmName, privateKeyPath, publicKeyPath, tokenLifetimeMs, Clock.systemUTC());
+    }
+
+    JwtKeyRing(MeterRegistry meterRegistry, String algorithmName, String privateKeyPath,
+               String publicKeyPath, long tokenLifetimeMs, Clock clock) {
+        this.algorithmName = algorithmName;
+        this.privateKeyPath = privateKeyPath;
+        this.publicKeyPath = publicKeyPath;
+        this.tokenLifetimeMs = tokenLifetimeMs;
+        this.clock = clock;
+        this.algorithm = switch (algorithmName) {
+            case "RS256" -> Jwts.SIG.RS256;
+            case "ES256" -> Jwts.SIG.ES256;
+            case "EdDSA" -> Jwts.SIG.EdDSA;
+            default -> throw new IllegalArgumentException(
+                    "Algorithme JWT non supporté: " + algorithmName + " (RS256, ES256 ou EdDSA)");
+        };
+
+        this.rotationCounter = Counter.builder("jwt_signing_key_rotations_total")
+                .description("Changements de clé de signature JWT pris en compte")
+                .register(meterRegistry);
+
+        Gauge.builder("jwt_signing_keys_published", this, ring -> ring.publishedKeys().size())
+                .description("Clés publiques publiées dans le JWKS (courante + retirées)")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            SigningKey loaded = load();
+            activate(loaded);
+            log.info("Clés JWT chargées avec succès ({}, kid={})", algorithmName, loaded.kid());
+        } catch (Exception e) {
+            log.error("Erreur lors du chargement des clés JWT", e);
+            throw new RuntimeException("Impossible de charger les clés JWT", e);
+        }
+    }
+
+    public SigningKey current() {
+        return current;
+    }
+
+    /**
+     * JWKS (RFC 7517) des clés publiques acceptées, prêt à servir.
+     */
+    public String jwksJson() {
+        return jwksJson;
+    }
+
+    /**
+     * Relit les fichiers de clés et bascule sur la nouvelle paire si elle a changé.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.key-reload-interval-ms:60000}",
+            initialDelayString = "${app.jwt.key-reload-interval-ms:60000}")
+    public void reload() {
+        try {
+            SigningKey loaded = load();
+            if (!loaded.kid().equals(current.kid())) {
+                String previousKid = current.kid();
+                activate(loaded);
+                rotationCounter.increment();
+                log.info("Rotation de la clé de signature JWT: kid {} -> {}", previousKid, loaded.kid());
+            } else {
+                purgeRetired();
+            }
+        } catch (Exception e) {
+            log.error("Relecture des clés JWT impossible, clé courante conservée (kid={}): {}",
+                    current.kid(), e.getMessage());
+        }
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String kid = header.getKeyId();
+        SigningKey signing = current;
+        // Tokens émis avant l'introduction du kid : clé courante
+        if (kid == null || kid.equals(signing.kid())) {
+            return signing.publicKey();
+        }
+        RetiredKey retiredKey = retired.get(kid);
+        if (retiredKey == null || retiredKey.acceptedUntil().isBefore(clock.instant())) {
+            throw new UnsupportedKeyException("Clé de signature inconnue (kid=" + kid + ")");
+        }
+        return retiredKey.jwk().toKey();
+    }
+
+    private synchronized void activate(SigningKey loaded) {
+        SigningKey previous = current;
+        PublicJwk<?> previousJwk = currentJwk;
+
+        current = loaded;
+        currentJwk = Jwks.builder().key(loaded.publicKey()).idFromThumbprint().build();
+
+        if (previous != null) {
+            Map<String, RetiredKey> updated = new LinkedHashMap<>(retired);
+            updated.remove(loaded.kid());
+            updated.put(previousJwk.getId(),
+                    new RetiredKey(previousJwk, clock.instant().plusMillis(tokenLifetimeMs)));
+            retired = Map.copyOf(updated);
+        }
+        purgeRetired();
+    }
+
+    private synchronized void purgeRetired() {
+        Instant now = clock.instant();
+        Map<String, RetiredKey> kept = retired.entrySet().stream()
+                .filter(entry -> entry.getValue().acceptedUntil().isAfter(now))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        if (kept.size() != retired.size()) {
+            log.info("Clés JWT retirées expirées supprimées du JWKS: {}", retired.size() - kept.size());
+        }
+        retired = Map.copyOf(kept);
+        jwksJson = publishedKeys().stream()
+                .map(Jwks::json)
+                .collect(Collectors.joining(",", "{\"keys\":[", "]}"));
+    }
+
+    private List<PublicJwk<?>> publishedKeys() {
+        List<PublicJwk<?>> keys = new ArrayList<>();
+        if (currentJwk != null) {
+            keys.add(currentJwk);
+        }
+        retired.values().forEach(retiredKey -> keys.add(retiredKey.jwk()));
+        return keys;
+    }
+
+    /**
+     * Charge la paire et vérifie sa cohérence (signature de contrôle vérifiée avec la clé publique).
+     */
+    private SigningKey load() throws Exception {
+        String keyFactoryAlgorithm = switch (algorithmName) {
+            case "ES256" -> "EC";
+            case "EdDSA" -> "EdDSA";
+            default -> "RSA";
+        };
+        KeyFactory keyFactory = KeyFactory.getInstance(keyFactoryAlgorithm);
+
+        PrivateKey privateKey = keyFactory.generatePrivate(
+                new PKCS8EncodedKeySpec(decodePem(loadKeyFile(privateKeyPath), "PRIVATE KEY")));
+        PublicKey publicKey = keyFactory.generatePublic(
+                new X509EncodedKeySpec(decodePem(loadKeyFile(publicKeyPath), "PUBLIC KEY")));
+
+        String probe = Jwts.builder().subject("key-check").signWith(privateKey, algorithm).compact();
+        Jwts.parser().verifyWith(publicKey).build().parseSignedClaims(probe);
+
+        String kid = Jwks.builder().key(publicKey).idFromThumbprint().build().getId();
+        return new SigningKey(kid, algorithm, privateKey, publicKey);
+    }
+
+    private static byte[] decodePem(String pem, String type) {
+        String content = pem
+                .replace("-----BEGIN " + type + "-----", "")
+                .replace("-----END " + type + "-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(content);
+    }
+
+    private String loadKeyFile(String keyPath) throws IOException {
+        if (keyPath.startsWith("classpath:")) {
+            String classpathLocation = keyPath.replace("classpath:", "");
+            try (var is = getClass().getClassLoader().getResourceAsStream(classpathLocation)) {
+                if (is == null) {
+                    throw new IOException("Fichier non trouvé dans le classpath: " + classpathLocation);
+                }
+                return new String(is.readAllBytes());
+            }
+        } else {
+            return new String(Files.readAllBytes(Paths.get(keyPath)));
+        }
+    }
+}
@@ -6,6 +6,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.*;
 
 import com.membership.users.application.dto.LoginRequestDTO;
 import com.membership.users.application.dto.LoginResponseDTO;
+import com.membership.users.application.dto.RefreshTokenRequestDTO;
 import com.membership.users.application.service.AuthenticationService;
 
 @Slf4j
@@ -37,18 +39,60 @@ public class AuthenticationController {
             @ApiResponse(responseCode = "401", description = "Email ou mot de passe invalide",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Utilisateur non trouvé",
+                    content = @Content),
+            @ApiResponse(responseCode = "429", description = "Trop de tentatives ou service de hachage saturé (Retry-After)",
                     content = @Content)
     })
     @PostMapping(value = "/login",
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<LoginResponseDTO> login(
-            @Valid @RequestBody LoginRequestDTO loginRequest) {
+            @Valid @RequestBody LoginRequestDTO loginRequest,
+            HttpServletRequest request) {
 
         log.info("Requête de login pour: {}", loginRequest.getEmail());
 
-        LoginResponseDTO response = authenticationService.login(loginRequest);
+        LoginResponseDTO response = authenticationService.login(loginRequest, request.getRemoteAddr());
 
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Renouvellement du token",
+            description = "Échange un refresh token contre un nouvel access token et un nouveau refresh token "
+                    + "(le refresh token présenté devient invalide)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tokens renouvelés",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = LoginResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Données invalides",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Refresh token inconnu, expiré ou révoqué",
+                    content = @Content)
+    })
+    @PostMapping(value = "/refresh",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<LoginResponseDTO> refresh(
+            @Valid @RequestBody RefreshTokenRequestDTO refreshRequest) {
+
+        LoginResponseDTO response = authenticationService.refresh(refreshRequest.getRefreshToken());
+
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Logout",
+            description = "Révoque le refresh token et ceux de la même session")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Session révoquée"),
+            @ApiResponse(responseCode = "400", description = "Données invalides",
+                    content = @Content)
+    })
+    @PostMapping(value = "/logout", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Void> logout(
+            @Valid @RequestBody RefreshTokenRequestDTO refreshRequest) {
+
+        authenticationService.logout(refreshRequest.getRefreshToken());
+
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.membership.users.infrastructure.web.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.membership.users.infrastructure.security.jwt.JwtKeyRing;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publication des clés publiques de vérification des JWT (JWKS).
+ *
+ * Les services Product et Order les récupèrent et les mettent en cache ;
+ * un kid inconnu déclenche chez eux un rafraîchissement.
+ */
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Authentication", description = "API d'authentification JWT")
+public class JwksController {
+
+    private final JwtKeyRing keyRing;
+
+    @Operation(summary = "Clés publiques JWT",
+            description = "Clé de signature courante et clés retirées encore valides (RFC 7517)")
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(keyRing.jwksJson());
+    }
+}
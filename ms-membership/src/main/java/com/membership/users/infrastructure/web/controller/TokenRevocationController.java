@@ -0,0 +1,38 @@
+package com.membership.users.infrastructure.web.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.membership.users.application.dto.RevocationFeedDTO;
+import com.membership.users.application.service.TokenRevocationService;
+
+/**
+ * Flux des révocations d'access tokens, lu périodiquement par Product et Order
+ * (secret inter-services exigé, voir InternalServiceTokenFilter).
+ */
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Authentication", description = "API d'authentification JWT")
+public class TokenRevocationController {
+
+    private final TokenRevocationService tokenRevocationService;
+
+    @Operation(summary = "Révocations d'access tokens",
+            description = "Révocations encore actives postérieures au curseur (lecture incrémentale)")
+    @GetMapping(value = "/api/v1/auth/revocations", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<RevocationFeedDTO> revocations(
+            @Parameter(description = "Curseur retourné par l'appel précédent (0 : tout le flux)")
+            @RequestParam(defaultValue = "0") long since) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(tokenRevocationService.feed(since));
+    }
+}
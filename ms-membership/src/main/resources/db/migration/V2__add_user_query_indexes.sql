@@ -0,0 +1,4 @@
+-- Index des requêtes fréquentes de UserRepository
+
+-- findByActiveTrue, countActiveUsers
+CREATE INDEX idx_users_active ON users (active);
@@ -0,0 +1,26 @@
+-- Refresh tokens : seul le SHA-256 du token est stocké (le token reste chez le client)
+
+CREATE TABLE refresh_tokens (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token_hash VARCHAR(43)  NOT NULL,
+    user_id    BIGINT       NOT NULL,
+    -- Chaîne de rotation issue d'un même login : révoquée en bloc si un token consommé est rejoué
+    family_id  UUID         NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    revoked    BOOLEAN      NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    -- findByTokenHash (refresh, logout)
+    CONSTRAINT uk_refresh_tokens_hash UNIQUE (token_hash)
+);
+
+-- revokeAllByUserId (désactivation d'un utilisateur) ; créé avant la clé étrangère, qui le réutilise
+CREATE INDEX idx_refresh_tokens_user ON refresh_tokens (user_id);
+
+ALTER TABLE refresh_tokens
+    ADD CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE;
+
+-- revokeFamily (rejeu détecté, logout)
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens (family_id);
+
+-- deleteExpiredBefore (purge périodique)
+CREATE INDEX idx_refresh_tokens_expires ON refresh_tokens (expires_at);
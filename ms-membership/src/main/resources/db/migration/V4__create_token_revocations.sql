@@ -0,0 +1,14 @@
+-- Flux des révocations d'access tokens, lu par les services Product et Order
+
+CREATE TABLE token_revocations (
+    -- Curseur de lecture incrémentale du flux (id croissant)
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id    BIGINT       NOT NULL,
+    -- Les tokens de l'utilisateur émis jusqu'à cet instant sont révoqués
+    revoked_at TIMESTAMP(6) NOT NULL,
+    -- revoked_at + durée de vie des access tokens : au-delà, l'entrée est inutile
+    expires_at TIMESTAMP(6) NOT NULL
+);
+
+-- deleteExpiredBefore (purge périodique)
+CREATE INDEX idx_token_revocations_expires ON token_revocations (expires_at);
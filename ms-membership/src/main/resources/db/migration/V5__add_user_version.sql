@@ -0,0 +1,8 @@
+-- Version de la ligne utilisateur (verrou optimiste JPA), incrémentée à chaque
+-- modification : le cache des identifiants de login la compare avant d'utiliser
+-- une copie locale, quelle que soit l'instance à l'origine de la modification.
+
+ALTER TABLE users ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+-- findVersionByEmail : lecture de la version sans accès à la ligne (index couvrant)
+CREATE INDEX idx_users_email_version ON users (email, version);
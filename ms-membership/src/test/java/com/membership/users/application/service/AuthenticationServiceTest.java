@@ -0,0 +1,179 @@
+package com.membership.users.application.service;
+
+import com.membership.users.application.dto.LoginRequestDTO;
+import com.membership.users.application.dto.LoginResponseDTO;
+import com.membership.users.domain.entity.User;
+import com.membership.users.domain.repository.UserRepository;
+import com.membership.users.infrastructure.config.SecurityBeansConfig;
+import com.membership.users.infrastructure.exception.InvalidRefreshTokenException;
+import com.membership.users.infrastructure.exception.ResourceNotFoundException;
+import com.membership.users.infrastructure.exception.TooManyRequestsException;
+import com.membership.users.infrastructure.security.LoginAttemptLimiter;
+import com.membership.users.infrastructure.security.PasswordHasher;
+import com.membership.users.infrastructure.security.jwt.JwtTokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests du login :
+ * - Migration du hachage (algorithme ou coût obsolète) au login réussi
+ * - Limites de tentatives vérifiées avant tout accès base ou hachage
+ * - Refresh sans vérification du mot de passe
+ */
+@ExtendWith(MockitoExtension.class)
+class AuthenticationServiceTest {
+
+    private static final String EMAIL = "aya@test.com";
+    private static final String PASSWORD = "password123";
+
+    @Mock private UserRepository userRepository;
+    @Mock private JwtTokenProvider jwtTokenProvider;
+    @Mock private RefreshTokenService refreshTokenService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+    private AuthenticationService authenticationService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordEncoder = new SecurityBeansConfig().passwordEncoder("bcrypt", 5);
+        passwordHasher = new PasswordHasher(passwordEncoder, meterRegistry, 1, 4, 3000);
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(meterRegistry, 30, 60, 2, 300, 1000);
+        // Cache des identifiants désactivé : chaque login relit l'utilisateur (voir UserCredentialsCacheTest)
+        UserCredentialsCache credentialsCache = new UserCredentialsCache(userRepository, meterRegistry, false, 100, 60);
+        authenticationService = new AuthenticationService(userRepository, passwordHasher, limiter, jwtTokenProvider,
+                refreshTokenService, credentialsCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    private User user(String passwordHash) {
+        return User.builder().id(1L).email(EMAIL).password(passwordHash).active(true).build();
+    }
+
+    private LoginResponseDTO login(String password) {
+        return authenticationService.login(new LoginRequestDTO(EMAIL, password), "10.0.0.1");
+    }
+
+    @Test
+    void testLoginWithCurrentHashDoesNotRehash() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user(passwordEncoder.encode(PASSWORD))));
+        when(jwtTokenProvider.generateToken("1", EMAIL, "USER")).thenReturn("token");
+
+        when(refreshTokenService.issue(1L)).thenReturn("refresh");
+        when(jwtTokenProvider.getExpirationMs()).thenReturn(900_000L);
+
+        LoginResponseDTO response = login(PASSWORD);
+
+        assertEquals("token", response.getToken());
+        assertEquals("refresh", response.getRefreshToken());
+        assertEquals(900, response.getExpiresIn());
+        verify(userRepository, never()).updatePassword(anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    void testLegacyUnprefixedHashUpgradedOnLogin() {
+        // Given : hachage bcrypt historique, sans préfixe d'algorithme
+        String legacyHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user(legacyHash)));
+        when(jwtTokenProvider.generateToken("1", EMAIL, "USER")).thenReturn("token");
+
+        // When
+        login(PASSWORD);
+
+        // Then : remplacé par un hachage préfixé au coût courant
+        ArgumentCaptor<String> upgraded = ArgumentCaptor.forClass(String.class);
+        verify(userRepository).updatePassword(eq(1L), eq(legacyHash), upgraded.capture());
+        assertTrue(upgraded.getValue().startsWith("{bcrypt}$2a$05$"));
+        assertTrue(passwordEncoder.matches(PASSWORD, upgraded.getValue()));
+        assertFalse(passwordEncoder.upgradeEncoding(upgraded.getValue()));
+    }
+
+    @Test
+    void testRehashFailureDoesNotFailLogin() {
+        String legacyHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user(legacyHash)));
+        when(userRepository.updatePassword(anyLong(), anyString(), anyString()))
+                .thenThrow(new org.springframework.dao.QueryTimeoutException("timeout"));
+        when(jwtTokenProvider.generateToken("1", EMAIL, "USER")).thenReturn("token");
+
+        assertEquals("token", login(PASSWORD).getToken());
+    }
+
+    @Test
+    void testRepeatedFailuresBlockEmailBeforeHashing() {
+        // Given
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user(passwordEncoder.encode(PASSWORD))));
+
+        // When : 2 échecs (limite de la configuration de test)
+        assertThrows(RuntimeException.class, () -> login("wrong-1"));
+        assertThrows(RuntimeException.class, () -> login("wrong-2"));
+
+        // Then : refusé sans lecture en base ni hachage, même avec le bon mot de passe
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class, () -> login(PASSWORD));
+        assertTrue(ex.getRetryAfterSeconds() > 0);
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+        assertEquals(2, meterRegistry.get("password_hash_duration").tag("operation", "matches").timer().count());
+        assertEquals(1.0, meterRegistry.get("login_attempts_rejected_total").tag("reason", "email").counter().count());
+    }
+
+    @Test
+    void testUnknownEmailCountsAsFailure() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> login(PASSWORD));
+        assertThrows(ResourceNotFoundException.class, () -> login(PASSWORD));
+
+        assertThrows(TooManyRequestsException.class, () -> login(PASSWORD));
+    }
+
+    @Test
+    void testRefreshIssuesTokensWithoutPasswordCheck() {
+        // Given
+        when(refreshTokenService.rotate("refresh-1")).thenReturn(new RefreshTokenService.Rotation(1L, "refresh-2"));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user("{bcrypt}hash")));
+        when(jwtTokenProvider.generateToken("1", EMAIL, "USER")).thenReturn("token");
+
+        // When
+        LoginResponseDTO response = authenticationService.refresh("refresh-1");
+
+        // Then : ni lecture par email ni hachage
+        assertEquals("token", response.getToken());
+        assertEquals("refresh-2", response.getRefreshToken());
+        verify(userRepository, never()).findByEmail(anyString());
+        assertEquals(0, meterRegistry.get("password_hash_duration").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void testRefreshForInactiveUserRevokesTokens() {
+        User inactive = user("{bcrypt}hash");
+        inactive.setActive(false);
+        when(refreshTokenService.rotate("refresh-1")).thenReturn(new RefreshTokenService.Rotation(1L, "refresh-2"));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(inactive));
+
+        assertThrows(InvalidRefreshTokenException.class, () -> authenticationService.refresh("refresh-1"));
+
+        verify(refreshTokenService).revokeAll(1L);
+        verify(jwtTokenProvider, never()).generateToken(anyString(), anyString(), anyString());
+    }
+}
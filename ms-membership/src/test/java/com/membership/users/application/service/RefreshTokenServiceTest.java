@@ -0,0 +1,165 @@
+package com.membership.users.application.service;
+
+import com.membership.users.application.event.UserStatusChangedEvent;
+import com.membership.users.domain.entity.RefreshToken;
+import com.membership.users.domain.entity.User;
+import com.membership.users.domain.repository.RefreshTokenRepository;
+import com.membership.users.domain.repository.UserRepository;
+import com.membership.users.infrastructure.exception.InvalidRefreshTokenException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests des refresh tokens sur une base H2 (schéma Flyway) :
+ * - Rotation à usage unique, seule l'empreinte est stockée
+ * - Rejeu d'un token consommé : famille révoquée
+ * - Expiration, logout, désactivation de l'utilisateur
+ */
+@DataJpaTest
+class RefreshTokenServiceTest {
+
+    private static final long EXPIRATION_MS = 86_400_000;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    private RefreshTokenService refreshTokenService;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.parse("2026-01-01T10:00:00Z"));
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, meterRegistry, EXPIRATION_MS, clock);
+
+        userId = userRepository.save(User.builder()
+                .firstName("Aya")
+                .lastName("Test")
+                .email("aya@test.com")
+                .password("{bcrypt}hash")
+                .active(true)
+                .build()).getId();
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("refresh_tokens_total").tag("result", result).counter().count();
+    }
+
+    @Test
+    void testRotationIssuesNewTokenAndConsumesPrevious() {
+        // Given
+        String first = refreshTokenService.issue(userId);
+
+        // When
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(first);
+
+        // Then
+        assertEquals(userId, rotation.userId());
+        assertNotEquals(first, rotation.refreshToken());
+        assertEquals(43, first.length());
+        assertTrue(refreshTokenRepository.findAll().stream()
+                .map(RefreshToken::getTokenHash)
+                .noneMatch(hash -> hash.equals(first) || hash.equals(rotation.refreshToken())));
+        assertEquals(userId, refreshTokenService.rotate(rotation.refreshToken()).userId());
+        assertEquals(2.0, count("rotated"));
+    }
+
+    @Test
+    void testReplayOfConsumedTokenRevokesFamily() {
+        // Given : token consommé, successeur émis
+        String stolen = refreshTokenService.issue(userId);
+        String legitimate = refreshTokenService.rotate(stolen).refreshToken();
+        String otherSession = refreshTokenService.issue(userId);
+
+        // When : rejeu du token consommé
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(stolen));
+
+        // Then : toute la famille est révoquée, l'autre session non
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(legitimate));
+        assertEquals(userId, refreshTokenService.rotate(otherSession).userId());
+        assertEquals(2.0, count("reused"));
+    }
+
+    @Test
+    void testExpiredAndUnknownTokensRejectedThenPurged() {
+        String token = refreshTokenService.issue(userId);
+
+        clock.advanceMillis(EXPIRATION_MS);
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(token));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("inconnu"));
+        assertEquals(2.0, count("rejected"));
+
+        clock.advanceMillis(1);
+        refreshTokenService.purgeExpired();
+        assertEquals(0, refreshTokenRepository.count());
+    }
+
+    @Test
+    void testLogoutRevokesSession() {
+        String token = refreshTokenService.issue(userId);
+        String current = refreshTokenService.rotate(token).refreshToken();
+
+        refreshTokenService.revoke(token);
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(current));
+    }
+
+    @Test
+    void testUserDeactivationRevokesAllTokens() {
+        String first = refreshTokenService.issue(userId);
+        String second = refreshTokenService.issue(userId);
+
+        refreshTokenService.onUserStatusChanged(
+                new UserStatusChangedEvent(userId, UserStatusChangedEvent.Reason.DEACTIVATED));
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(first));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(second));
+    }
+
+    /**
+     * Horloge réglable pour simuler l'expiration des refresh tokens.
+     */
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advanceMillis(long millis) {
+            now = now.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.membership.users.application.service;
+
+import com.membership.users.application.dto.RevocationFeedDTO;
+import com.membership.users.application.event.UserStatusChangedEvent;
+import com.membership.users.domain.repository.TokenRevocationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests du flux des révocations d'access tokens sur une base H2 (schéma Flyway) :
+ * - Révocation publiée à la désactivation / suppression
+ * - Lecture incrémentale par curseur, curseur retenu tant qu'une révocation est récente
+ * - Entrées expirées exclues du flux puis purgées
+ */
+@DataJpaTest
+class TokenRevocationServiceTest {
+
+    private static final long ACCESS_TOKEN_LIFETIME_MS = 900_000;
+
+    @Autowired
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.parse("2026-01-01T10:00:00Z"));
+        tokenRevocationService = new TokenRevocationService(tokenRevocationRepository, meterRegistry,
+                ACCESS_TOKEN_LIFETIME_MS, clock);
+    }
+
+    private void revoke(long userId, UserStatusChangedEvent.Reason reason) {
+        tokenRevocationService.onUserStatusChanged(new UserStatusChangedEvent(userId, reason));
+    }
+
+    @Test
+    void testFeedIsIncremental() {
+        // Given
+        revoke(42L, UserStatusChangedEvent.Reason.DEACTIVATED);
+        revoke(43L, UserStatusChangedEvent.Reason.DELETED);
+        clock.advanceSeconds(10);
+
+        // When
+        RevocationFeedDTO full = tokenRevocationService.feed(0);
+
+        // Then
+        assertEquals(2, full.getRevocations().size());
+        RevocationFeedDTO.Entry first = full.getRevocations().get(0);
+        assertEquals("42", first.getUserId());
+        assertEquals(Instant.parse("2026-01-01T10:00:00Z").toEpochMilli(), first.getRevokedAt());
+        assertEquals(first.getRevokedAt() + ACCESS_TOKEN_LIFETIME_MS + 60_000, first.getExpiresAt());
+        assertEquals(full.getLatestId(), full.getNextCursor());
+        assertFalse(full.isHasMore());
+
+        // When : nouvelle révocation après le curseur
+        revoke(44L, UserStatusChangedEvent.Reason.DEACTIVATED);
+        clock.advanceSeconds(10);
+        RevocationFeedDTO next = tokenRevocationService.feed(full.getNextCursor());
+
+        // Then
+        assertEquals(1, next.getRevocations().size());
+        assertEquals("44", next.getRevocations().get(0).getUserId());
+        assertEquals(3.0, meterRegistry.get("access_token_revocations_total").counter().count());
+    }
+
+    @Test
+    void testCursorHoldsBackRecentRevocations() {
+        // Given : révocation de moins de 5 s, sa transaction voisine peut encore se valider
+        revoke(42L, UserStatusChangedEvent.Reason.DEACTIVATED);
+
+        // When
+        RevocationFeedDTO feed = tokenRevocationService.feed(0);
+
+        // Then : renvoyée, mais le curseur ne la dépasse pas
+        assertEquals(1, feed.getRevocations().size());
+        assertEquals(0, feed.getNextCursor());
+    }
+
+    @Test
+    void testExpiredRevocationsLeaveFeedAndArePurged() {
+        revoke(42L, UserStatusChangedEvent.Reason.DEACTIVATED);
+
+        clock.advanceSeconds(ACCESS_TOKEN_LIFETIME_MS / 1000 + 61);
+
+        assertTrue(tokenRevocationService.feed(0).getRevocations().isEmpty());
+        tokenRevocationService.purgeExpired();
+        assertEquals(0, tokenRevocationRepository.count());
+    }
+
+    /**
+     * Horloge réglable pour simuler l'écoulement du temps.
+     */
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advanceSeconds(long seconds) {
+            now = now.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.membership.users.application.service;
+
+import com.membership.users.application.service.UserCredentialsCache.Credentials;
+import com.membership.users.domain.entity.User;
+import com.membership.users.domain.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests du cache des identifiants de login sur une base H2 (schéma Flyway) :
+ * - Copie utilisée sans relire l'utilisateur tant que sa version est inchangée
+ * - Modification ou suppression faite par une autre instance : copie écartée
+ * - Nouveau hachage (requête de mise à jour directe) : version incrémentée
+ * - Retrait au commit de la transaction de modification
+ * - Cache désactivé : relecture à chaque login
+ */
+@DataJpaTest
+class UserCredentialsCacheTest {
+
+    private static final String EMAIL = "aya@test.com";
+
+    @MockitoSpyBean
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserCredentialsCache cache;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new UserCredentialsCache(userRepository, meterRegistry, true, 100, 600);
+
+        userId = userRepository.save(User.builder()
+                .firstName("Aya")
+                .lastName("Test")
+                .email(EMAIL)
+                .password("{bcrypt}hash-1")
+                .active(true)
+                .build()).getId();
+        flushAndClear();
+        clearInvocations(userRepository);
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Modification par une autre instance Membership : même base, aucune invalidation locale.
+     */
+    private void deactivateElsewhere() {
+        User user = userRepository.findById(userId).orElseThrow();
+        user.setActive(false);
+        userRepository.save(user);
+        flushAndClear();
+    }
+
+    @Test
+    void testHitChecksVersionWithoutReloadingUser() {
+        // Given
+        Credentials first = cache.findByEmail(EMAIL).orElseThrow();
+
+        // When
+        Credentials second = cache.findByEmail(EMAIL).orElseThrow();
+
+        // Then : une seule lecture complète, la seconde ne lit que la version
+        assertSame(first, second);
+        assertEquals(userId, second.id());
+        assertEquals("{bcrypt}hash-1", second.passwordHash());
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+        verify(userRepository, times(1)).findVersionByEmail(EMAIL);
+        assertEquals(0.5, meterRegistry.get("login_user_cache_hit_ratio").gauge().value());
+    }
+
+    @Test
+    void testChangeFromAnotherInstanceDiscardsCopy() {
+        // Given
+        Credentials cached = cache.findByEmail(EMAIL).orElseThrow();
+        assertTrue(cached.active());
+
+        // When
+        deactivateElsewhere();
+        Credentials reloaded = cache.findByEmail(EMAIL).orElseThrow();
+
+        // Then
+        assertFalse(reloaded.active());
+        assertTrue(reloaded.version() > cached.version());
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+        assertEquals(1.0, meterRegistry.get("login_user_cache_stale_total").counter().count());
+        assertEquals(0.0, meterRegistry.get("login_user_cache_hit_ratio").gauge().value());
+    }
+
+    @Test
+    void testDeletionFromAnotherInstanceDiscardsCopy() {
+        // Given
+        cache.findByEmail(EMAIL).orElseThrow();
+
+        // When
+        userRepository.deleteById(userId);
+        flushAndClear();
+
+        // Then : absent, sans relecture complète
+        assertEquals(Optional.empty(), cache.findByEmail(EMAIL));
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+        assertEquals(1.0, meterRegistry.get("login_user_cache_stale_total").counter().count());
+    }
+
+    @Test
+    void testPasswordUpdateIncrementsVersion() {
+        // Given
+        Credentials cached = cache.findByEmail(EMAIL).orElseThrow();
+
+        // When : nouveau hachage par une autre instance
+        assertEquals(1, userRepository.updatePassword(userId, "{bcrypt}hash-1", "{bcrypt}hash-2"));
+
+        // Then
+        Credentials reloaded = cache.findByEmail(EMAIL).orElseThrow();
+        assertEquals("{bcrypt}hash-2", reloaded.passwordHash());
+        assertEquals(cached.version() + 1, reloaded.version());
+    }
+
+    @Test
+    void testInvalidateForcesReload() {
+        cache.findByEmail(EMAIL).orElseThrow();
+
+        cache.invalidate(EMAIL);
+        cache.findByEmail(EMAIL).orElseThrow();
+
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+        verify(userRepository, never()).findVersionByEmail(EMAIL);
+    }
+
+    @Test
+    void testInvalidateAfterCommitKeepsCopyUntilCommit() {
+        // Given
+        cache.findByEmail(EMAIL).orElseThrow();
+
+        // When : retrait demandé dans la transaction de modification
+        cache.invalidateAfterCommit(EMAIL);
+        cache.findByEmail(EMAIL).orElseThrow();
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        // Then : copie retirée au commit
+        try {
+            cache.findByEmail(EMAIL).orElseThrow();
+            verify(userRepository, times(2)).findByEmail(EMAIL);
+        } finally {
+            userRepository.deleteById(userId);
+        }
+    }
+
+    @Test
+    void testUnknownEmailIsNotCached() {
+        assertEquals(Optional.empty(), cache.findByEmail("inconnu@test.com"));
+        assertEquals(Optional.empty(), cache.findByEmail("inconnu@test.com"));
+
+        verify(userRepository, times(2)).findByEmail("inconnu@test.com");
+    }
+
+    @Test
+    void testDisabledCacheReloadsEveryTime() {
+        UserCredentialsCache disabled = new UserCredentialsCache(userRepository, new SimpleMeterRegistry(), false, 100, 600);
+
+        disabled.findByEmail(EMAIL).orElseThrow();
+        disabled.findByEmail(EMAIL).orElseThrow();
+
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+        verify(userRepository, never()).findVersionByEmail(EMAIL);
+    }
+}
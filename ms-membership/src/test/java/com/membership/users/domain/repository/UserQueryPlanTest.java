@@ -0,0 +1,93 @@
+package com.membership.users.domain.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Plans d'exécution (EXPLAIN H2) des requêtes fréquentes du service Membership.
+ *
+ * Vérifie, sur le schéma créé par les migrations Flyway, que chaque requête
+ * passe par l'index attendu et jamais par un parcours complet de table.
+ * La recherche par nom partiel (LIKE '%...%') ne peut pas utiliser d'index
+ * et n'est pas vérifiée ici.
+ */
+@DataJpaTest
+class UserQueryPlanTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    private String explain(String sql, Object... args) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+    }
+
+    private void assertUsesIndex(String index, String sql, Object... args) {
+        String plan = explain(sql, args);
+        assertFalse(plan.contains(".tableScan"), () -> "Parcours complet de table :\n" + plan);
+        assertTrue(plan.toUpperCase().contains(index.toUpperCase()), () -> "Index " + index + " non utilisé :\n" + plan);
+    }
+
+    @Test
+    void testDetectsTableScan() {
+        assertTrue(explain("SELECT * FROM users WHERE first_name = ?", "Jean").contains(".tableScan"));
+    }
+
+    // findByEmail / existsByEmail (connexion, inscription)
+    @Test
+    void testFindByEmailUsesUniqueIndex() {
+        assertUsesIndex("uk_users_email", "SELECT * FROM users WHERE email = ?", "jean@example.com");
+    }
+
+    // findVersionByEmail (contrôle du cache des identifiants de login)
+    @Test
+    void testFindVersionByEmailUsesCoveringIndex() {
+        assertUsesIndex("idx_users_email_version", "SELECT version FROM users WHERE email = ?", "jean@example.com");
+    }
+
+    // findByActiveTrue
+    @Test
+    void testFindActiveUsersUsesIndex() {
+        assertUsesIndex("idx_users_active", "SELECT * FROM users WHERE active = TRUE");
+    }
+
+    // countActiveUsers (health check)
+    @Test
+    void testCountActiveUsersUsesIndex() {
+        assertUsesIndex("idx_users_active", "SELECT COUNT(*) FROM users WHERE active = TRUE");
+    }
+
+    // findByTokenHash (refresh, logout)
+    @Test
+    void testFindRefreshTokenByHashUsesUniqueIndex() {
+        assertUsesIndex("uk_refresh_tokens_hash", "SELECT * FROM refresh_tokens WHERE token_hash = ?", "abc");
+    }
+
+    // revokeFamily
+    @Test
+    void testRevokeRefreshTokenFamilyUsesIndex() {
+        assertUsesIndex("idx_refresh_tokens_family",
+                "SELECT id FROM refresh_tokens WHERE family_id = CAST(? AS UUID) AND revoked = FALSE",
+                "7c9e6679-7425-40de-944b-e07fc1f90ae7");
+    }
+
+    // revokeAllByUserId (désactivation)
+    @Test
+    void testRevokeUserRefreshTokensUsesIndex() {
+        assertUsesIndex("idx_refresh_tokens_user",
+                "SELECT id FROM refresh_tokens WHERE user_id = ? AND revoked = FALSE", 1L);
+    }
+}
@@ -0,0 +1,30 @@
+package com.membership.users.infrastructure.exception;
+
+import com.membership.users.domain.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    void testConcurrentModificationMapsToConflict() {
+        // Given : utilisateur supprimé par une autre requête pendant sa mise à jour
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/v1/users/1");
+        ObjectOptimisticLockingFailureException ex = new ObjectOptimisticLockingFailureException(User.class, 1L);
+
+        // When
+        ResponseEntity<ErrorResponse> response = handler.handleOptimisticLockingFailureException(ex, request);
+
+        // Then
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(409, response.getBody().getStatus());
+        assertEquals("/api/v1/users/1", response.getBody().getPath());
+    }
+}
@@ -0,0 +1,47 @@
+package com.membership.users.infrastructure.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InternalServiceTokenFilterTest {
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private Authentication filter(String configured, String presented) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/auth/revocations");
+        if (presented != null) {
+            request.addHeader(InternalServiceTokenFilter.HEADER, presented);
+        }
+        new InternalServiceTokenFilter(configured).doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Test
+    void testMatchingTokenGrantsServiceRole() throws Exception {
+        Authentication authentication = filter("s3cret", "s3cret");
+
+        assertNotNull(authentication);
+        assertTrue(authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_SERVICE")));
+    }
+
+    @Test
+    void testWrongOrMissingTokenNotAuthenticated() throws Exception {
+        assertNull(filter("s3cret", "autre"));
+        assertNull(filter("s3cret", null));
+    }
+
+    @Test
+    void testNoConfiguredTokenClosesRevocationFeed() throws Exception {
+        assertNull(filter("", ""));
+    }
+}
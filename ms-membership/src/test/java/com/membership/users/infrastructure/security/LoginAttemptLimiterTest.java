@@ -0,0 +1,112 @@
+package com.membership.users.infrastructure.security;
+
+import com.membership.users.infrastructure.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de la limitation des tentatives de login :
+ * - Par IP : toutes les tentatives, fenêtre glissante
+ * - Par email : échecs uniquement, remis à zéro par un succès
+ */
+class LoginAttemptLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    private LoginAttemptLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.parse("2026-01-01T10:00:00Z"));
+        // 3 tentatives / 60 s par IP, 2 échecs / 300 s par email
+        limiter = new LoginAttemptLimiter(meterRegistry, 3, 60, 2, 300, 1000, clock);
+    }
+
+    @Test
+    void testIpLimitAndSlidingWindow() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            limiter.checkAllowed("10.0.0.1", "user" + i + "@test.com");
+        }
+
+        // When / Then : 4e tentative refusée, une autre IP non affectée
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> limiter.checkAllowed("10.0.0.1", "other@test.com"));
+        assertEquals(60, ex.getRetryAfterSeconds());
+        limiter.checkAllowed("10.0.0.2", "other@test.com");
+        assertEquals(1.0, meterRegistry.get("login_attempts_rejected_total").tag("reason", "ip").counter().count());
+
+        // Fenêtre suivante entamée aux deux tiers : 3 × 1/3 = 1 tentative estimée, 2 de libres
+        clock.advanceSeconds(100);
+        limiter.checkAllowed("10.0.0.1", "other@test.com");
+        limiter.checkAllowed("10.0.0.1", "other@test.com");
+        assertThrows(TooManyRequestsException.class, () -> limiter.checkAllowed("10.0.0.1", "other@test.com"));
+
+        // Deux fenêtres plus tard : compteur vide
+        clock.advanceSeconds(120);
+        limiter.checkAllowed("10.0.0.1", "other@test.com");
+    }
+
+    @Test
+    void testEmailFailuresBlockAccountUntilWindowPasses() {
+        // Given : 2 échecs, casse de l'email indifférente
+        limiter.recordFailure("Aya@Test.com");
+        limiter.recordFailure("aya@test.com");
+
+        // When / Then
+        assertThrows(TooManyRequestsException.class, () -> limiter.checkAllowed("10.0.0.1", "AYA@test.com"));
+        assertEquals(1.0, meterRegistry.get("login_attempts_rejected_total").tag("reason", "email").counter().count());
+
+        clock.advanceSeconds(600);
+        limiter.checkAllowed("10.0.0.1", "aya@test.com");
+    }
+
+    @Test
+    void testSuccessResetsEmailFailures() {
+        limiter.recordFailure("aya@test.com");
+        limiter.recordSuccess("aya@test.com");
+        limiter.recordFailure("aya@test.com");
+
+        limiter.checkAllowed("10.0.0.1", "aya@test.com");
+    }
+
+    /**
+     * Horloge réglable pour faire glisser les fenêtres.
+     */
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advanceSeconds(long seconds) {
+            now = now.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
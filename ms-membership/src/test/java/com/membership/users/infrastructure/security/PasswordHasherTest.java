@@ -0,0 +1,98 @@
+package com.membership.users.infrastructure.security;
+
+import com.membership.users.infrastructure.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests du pool de hachage borné :
+ * - Refus immédiat (429) quand les threads et la file sont occupés
+ * - Refus quand l'attente dépasse le délai maximal
+ */
+class PasswordHasherTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHasher passwordHasher;
+
+    /**
+     * Encodeur qui bloque jusqu'au signal : simule un hachage long.
+     */
+    private final PasswordEncoder blockingEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // 1 thread, 1 place en file, 200 ms d'attente maximale
+        passwordHasher = new PasswordHasher(blockingEncoder, meterRegistry, 1, 1, 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void testRejectsWhenPoolAndQueueAreFull() throws Exception {
+        // Given : un hachage en cours, un en file
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> passwordHasher.matches("a", "hash:a"));
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> passwordHasher.matches("b", "hash:b"));
+        while (meterRegistry.get("password_hash_queue_size").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // When / Then : refus immédiat
+        assertThrows(TooManyRequestsException.class, () -> passwordHasher.matches("c", "hash:c"));
+
+        release.countDown();
+        assertTrue(running.get(2, TimeUnit.SECONDS));
+        assertTrue(queued.get(2, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.get("password_hash_rejected_total").counter().count());
+        assertEquals(2, meterRegistry.get("password_hash_duration").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void testRejectsWhenWaitExceedsMaximum() {
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> passwordHasher.matches("a", "hash:a"));
+
+        assertEquals(1, ex.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("password_hash_rejected_total").counter().count());
+    }
+
+    @Test
+    void testEncodeAndUpgradeEncoding() {
+        assertEquals("hash:a", passwordHasher.encode("a"));
+        assertFalse(passwordHasher.upgradeEncoding("hash:a"));
+        assertEquals(1, meterRegistry.get("password_hash_duration").tag("operation", "encode").timer().count());
+    }
+}
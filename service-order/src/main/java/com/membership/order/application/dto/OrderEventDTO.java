@@ -0,0 +1,26 @@
+package com.membership.order.application.dto;
+
+import com.membership.order.domain.entity.Order.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Contenu (JSON) d'un événement de commande stocké dans l'outbox.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderEventDTO {
+
+    private Long orderId;
+    private OrderStatus previousStatus;
+    private OrderStatus status;
+
+    // Lignes de stock à appliquer sur le service Product (vide si aucun effet sur le stock)
+    private List<StockBatchItemDTO> stockLines;
+}
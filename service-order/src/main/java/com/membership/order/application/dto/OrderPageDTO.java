@@ -0,0 +1,26 @@
+package com.membership.order.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Page de commandes (pagination par curseur, plus récentes d'abord).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderPageDTO {
+
+    private List<OrderResponseDTO> items;
+
+    /**
+     * Curseur de la page suivante (ID de la dernière commande de la page),
+     * null s'il n'y a plus de commandes.
+     */
+    private Long nextCursor;
+}
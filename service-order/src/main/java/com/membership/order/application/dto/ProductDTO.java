@@ -25,5 +25,6 @@ public class ProductDTO {
     private Integer stock;
     private String category;
     private Boolean active;
+    private Long catalogVersion;
     private LocalDateTime createdAt;
 }
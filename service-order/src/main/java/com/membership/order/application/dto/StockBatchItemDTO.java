@@ -0,0 +1,23 @@
+package com.membership.order.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO pour une ligne de mise à jour groupée du stock via le service Product.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockBatchItemDTO {
+
+    private Long productId;
+    private Integer quantity;
+    private String operation; // "ADD", "SUBTRACT", "SET"
+
+    // Clé d'idempotence de l'événement d'outbox : un lot rejoué n'est appliqué qu'une fois
+    private String idempotencyKey;
+}
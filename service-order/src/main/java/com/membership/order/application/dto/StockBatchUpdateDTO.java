@@ -0,0 +1,20 @@
+package com.membership.order.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO pour mettre à jour le stock de plusieurs produits en un seul appel au service Product.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockBatchUpdateDTO {
+
+    private List<StockBatchItemDTO> items;
+}
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -30,9 +31,22 @@ public class OrderMapper {
      * @return le DTO réponse, null si l'ordre est null
      */
     public OrderResponseDTO toResponseDTO(Order order) {
+        if (order == null) return null;
+        return toResponseDTO(order, order.getItems());
+    }
+
+    /**
+     * Convertit une commande avec des articles déjà chargés, sans accéder à
+     * la collection paresseuse {@code order.getItems()}.
+     *
+     * @param order l'entité Order à convertir
+     * @param items les articles de la commande
+     * @return le DTO réponse, null si l'ordre est null
+     */
+    public OrderResponseDTO toResponseDTO(Order order, List<OrderItem> items) {
         if (order == null) return null;
             // Conversion des items de la commande
-        List<OrderItemResponseDTO> itemsDTO = order.getItems().stream()
+        List<OrderItemResponseDTO> itemsDTO = items.stream()
                 .map(this::toItemResponseDTO)
                 .collect(Collectors.toList());
 
@@ -90,4 +104,20 @@ public class OrderMapper {
                 .map(this::toResponseDTO)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Convertit une liste de commandes avec les articles de toutes ces
+     * commandes, lus en une seule requête (regroupés ici par commande).
+     */
+    public List<OrderResponseDTO> toResponseList(List<Order> orders, List<OrderItem> items) {
+        if (orders == null) return List.of();
+
+        // getOrder().getId() ne charge pas la commande (identifiant du proxy)
+        Map<Long, List<OrderItem>> itemsByOrder = items.stream()
+                .collect(Collectors.groupingBy(item -> item.getOrder().getId()));
+
+        return orders.stream()
+                .map(order -> toResponseDTO(order, itemsByOrder.getOrDefault(order.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
 }
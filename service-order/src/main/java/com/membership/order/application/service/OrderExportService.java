@@ -0,0 +1,151 @@
+package com.membership.order.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.membership.order.application.dto.OrderItemResponseDTO;
+import com.membership.order.application.dto.OrderResponseDTO;
+import com.membership.order.domain.entity.Order.OrderStatus;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+/**
+ * Export des commandes au format NDJSON (une commande JSON par ligne).
+ *
+ * Les lignes sont lues par un curseur JDBC (commandes et articles joints,
+ * triés par commande) et chaque commande est écrite dès que sa dernière ligne
+ * est lue : la mémoire utilisée ne dépend pas du nombre de commandes.
+ */
+@Slf4j
+@Service
+public class OrderExportService {
+
+    private static final String EXPORT_SQL = """
+            SELECT o.id, o.user_id, o.order_date, o.status, o.total_amount, o.shipping_address,
+                   o.created_at, o.updated_at,
+                   i.id AS item_id, i.product_id, i.product_name, i.quantity, i.unit_price, i.subtotal
+            FROM orders o
+            LEFT JOIN order_items i ON i.order_id = o.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OrderExportService(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${app.order.export.fetch-size:500}") int fetchSize
+    ) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.objectMapper = objectMapper;
+
+        // Transaction en lecture seule : requise par certains pilotes (PostgreSQL)
+        // pour lire par curseur plutôt que charger tout le résultat
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Écrit les commandes (filtrées par statut si non null) dans le flux.
+     *
+     * @return le nombre de commandes exportées
+     */
+    public long exportOrders(OrderStatus status, OutputStream out) {
+        NdjsonWriter writer = new NdjsonWriter(out);
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            if (status != null) {
+                jdbcTemplate.query(EXPORT_SQL + " WHERE o.status = ? ORDER BY o.id, i.id",
+                        writer, status.name());
+            } else {
+                jdbcTemplate.query(EXPORT_SQL + " ORDER BY o.id, i.id", writer);
+            }
+        });
+        writer.flush();
+
+        log.info("Export NDJSON : {} commande(s)", writer.count);
+        return writer.count;
+    }
+
+    /**
+     * Regroupe les lignes consécutives d'une même commande et écrit chaque
+     * commande complète sur une ligne.
+     */
+    private class NdjsonWriter implements RowCallbackHandler {
+
+        private final OutputStream out;
+        private OrderResponseDTO current;
+        private long count;
+
+        NdjsonWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long orderId = rs.getLong("id");
+            if (current == null || current.getId() != orderId) {
+                flush();
+                current = OrderResponseDTO.builder()
+                        .id(orderId)
+                        .userId(rs.getLong("user_id"))
+                        .orderDate(toLocalDateTime(rs.getTimestamp("order_date")))
+                        .status(OrderStatus.valueOf(rs.getString("status")))
+                        .totalAmount(rs.getBigDecimal("total_amount"))
+                        .shippingAddress(rs.getString("shipping_address"))
+                        .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                        .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+                        .items(new ArrayList<>())
+                        .build();
+            }
+
+            long itemId = rs.getLong("item_id");
+            if (!rs.wasNull()) {
+                current.getItems().add(OrderItemResponseDTO.builder()
+                        .id(itemId)
+                        .productId(rs.getLong("product_id"))
+                        .productName(rs.getString("product_name"))
+                        .quantity(rs.getInt("quantity"))
+                        .unitPrice(rs.getBigDecimal("unit_price"))
+                        .subtotal(rs.getBigDecimal("subtotal"))
+                        .build());
+            }
+        }
+
+        void flush() {
+            if (current == null) {
+                return;
+            }
+            try {
+                out.write(objectMapper.writeValueAsBytes(current));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException("Écriture de l'export interrompue", e);
+            }
+            current = null;
+            count++;
+        }
+
+        private LocalDateTime toLocalDateTime(Timestamp timestamp) {
+            return timestamp != null ? timestamp.toLocalDateTime() : null;
+        }
+    }
+}
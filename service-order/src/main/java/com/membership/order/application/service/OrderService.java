@@ -4,6 +4,7 @@ import com.membership.order.application.dto.*;
 import com.membership.order.application.mapper.OrderMapper;
 import com.membership.order.domain.entity.Order;
 import com.membership.order.domain.entity.OrderItem;
+import com.membership.order.domain.entity.OutboxEvent;
 import com.membership.order.domain.repository.OrderRepository;
 import com.membership.order.domain.repository.OrderItemRepository;
 import com.membership.order.infrastructure.client.ProductServiceClient;
@@ -13,28 +14,45 @@ import com.membership.order.infrastructure.exception.ResourceNotFoundException;
 import com.membership.order.infrastructure.exception.ServiceUnavailableException;
 
 import io.micrometer.core.instrument.Counter;
-import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
 public class OrderService {
 
+    public static final int MAX_PAGE_SIZE = 200;
+
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final OrderMapper orderMapper;
 
     private final UserServiceClient userServiceClient;
     private final ProductServiceClient productServiceClient;
+    private final OutboxService outboxService;
+    private final OrderStatistics orderStatistics;
+
+    // Appels distants parallèles de createOrder et délai global par commande
+    private final ExecutorService remoteCallExecutor;
+    private final long remoteDeadlineMs;
 
     // --- MÉTRIQUES ---
     private final Counter ordersCreatedCounter;
@@ -51,13 +69,21 @@ public class OrderService {
             OrderMapper orderMapper,
             UserServiceClient userServiceClient,
             ProductServiceClient productServiceClient,
-            MeterRegistry meterRegistry
+            OutboxService outboxService,
+            OrderStatistics orderStatistics,
+            MeterRegistry meterRegistry,
+            ExecutorService remoteCallExecutor,
+            @Value("${app.order.remote-deadline-ms:3000}") long remoteDeadlineMs
     ) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
         this.orderMapper = orderMapper;
         this.userServiceClient = userServiceClient;
         this.productServiceClient = productServiceClient;
+        this.outboxService = outboxService;
+        this.orderStatistics = orderStatistics;
+        this.remoteCallExecutor = remoteCallExecutor;
+        this.remoteDeadlineMs = remoteDeadlineMs;
 
         this.ordersCreatedCounter = meterRegistry.counter("orders_created_total");
 
@@ -86,29 +112,18 @@ public class OrderService {
                 .description("Nombre de commandes passées au statut CANCELLED")
                 .register(meterRegistry);
 
-        Gauge.builder("orders_total_amount_today", orderRepository,
-                        repo -> Optional.ofNullable(repo.getTotalAmountToday())
-                                .orElse(BigDecimal.ZERO)
-                                .doubleValue())
-                .register(meterRegistry);
-
-        // Gauge : nombre de commandes par statut (état DB)
-        for (Order.OrderStatus status : Order.OrderStatus.values()) {
-            final Order.OrderStatus st = status;
-
-            Gauge.builder("orders_by_status", orderRepository,
-                            repo -> repo.countByStatus(st))
-                    .tag("status", st.name())
-                    .description("Nombre de commandes existantes en base par statut")
-                    .register(meterRegistry);
-        }
+        // Gauges orders_by_status / orders_total_amount_today : voir OrderStatistics
     }
 
     // ==================================================================
-    public List<OrderResponseDTO> getAllOrders() {
-        return orderRepository.findAll().stream()
-                .map(orderMapper::toResponseDTO)
-                .toList();
+    /**
+     * Liste paginée par curseur : commandes d'ID strictement inférieur à
+     * {@code after} (toutes si null), plus récentes d'abord.
+     */
+    @Transactional(readOnly = true)
+    public OrderPageDTO getAllOrders(Long after, int size) {
+        int pageSize = checkPageSize(size);
+        return toPage(orderRepository.findByIdLessThanOrderByIdDesc(cursor(after), Limit.of(pageSize + 1)), pageSize);
     }
 
     // ==================================================================
@@ -119,17 +134,52 @@ public class OrderService {
     }
 
     // ==================================================================
-    public List<OrderResponseDTO> getOrdersByUser(Long userId) {
-        return orderRepository.findByUserId(userId).stream()
-                .map(orderMapper::toResponseDTO)
-                .toList();
+    @Transactional(readOnly = true)
+    public OrderPageDTO getOrdersByUser(Long userId, Long after, int size) {
+        int pageSize = checkPageSize(size);
+        return toPage(orderRepository.findByUserIdAndIdLessThanOrderByIdDesc(
+                userId, cursor(after), Limit.of(pageSize + 1)), pageSize);
     }
 
     // ==================================================================
-    public List<OrderResponseDTO> getOrdersByStatus(Order.OrderStatus status) {
-        return orderRepository.findByStatus(status).stream()
-                .map(orderMapper::toResponseDTO)
-                .toList();
+    @Transactional(readOnly = true)
+    public OrderPageDTO getOrdersByStatus(Order.OrderStatus status, Long after, int size) {
+        int pageSize = checkPageSize(size);
+        return toPage(orderRepository.findByStatusAndIdLessThanOrderByIdDesc(
+                status, cursor(after), Limit.of(pageSize + 1)), pageSize);
+    }
+
+    /**
+     * Taille de page plafonnée à {@link #MAX_PAGE_SIZE}.
+     */
+    private int checkPageSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("La taille de page doit être positive");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    private long cursor(Long after) {
+        return after != null ? after : Long.MAX_VALUE;
+    }
+
+    /**
+     * Une ligne de plus que la taille de page est lue : sa présence indique
+     * qu'une page suivante existe. Les articles de toute la page sont lus en
+     * une seule requête (deux requêtes au total, quel que soit le nombre de commandes).
+     */
+    private OrderPageDTO toPage(List<Order> orders, int pageSize) {
+        boolean hasMore = orders.size() > pageSize;
+        List<Order> page = hasMore ? orders.subList(0, pageSize) : orders;
+
+        List<OrderItem> items = page.isEmpty()
+                ? List.of()
+                : orderItemRepository.findByOrderIdInOrderByIdAsc(page.stream().map(Order::getId).toList());
+
+        return OrderPageDTO.builder()
+                .items(orderMapper.toResponseList(page, items))
+                .nextCursor(hasMore ? page.get(page.size() - 1).getId() : null)
+                .build();
     }
 
     // ==================================================================
@@ -138,11 +188,20 @@ public class OrderService {
 
         log.info("Création commande pour user {}", request.getUserId());
 
-        // 1) Vérifier si user existe + actif
-        if (!userServiceClient.isUserActive(request.getUserId())) {
-            throw new IllegalArgumentException("Utilisateur inactif ou inexistant");
+        // 1) Vérifier l'utilisateur et récupérer les produits en parallèle
+        Set<Long> productIds = new LinkedHashSet<>();
+        for (OrderItemRequestDTO itemDTO : request.getItems()) {
+            productIds.add(itemDTO.getProductId());
+        }
+        Map<Long, ProductDTO> products = new HashMap<>();
+        for (ProductDTO product : fetchUserAndProducts(request.getUserId(), productIds)) {
+            products.put(product.getId(), product);
         }
 
+        // 2) Le stock en cache n'est qu'une indication : un manque est vérifié
+        //    auprès du service Product avant de refuser la commande
+        Set<Long> unverifiedStock = refreshShortStock(request, products);
+
         Order order = new Order();
         order.setUserId(request.getUserId());
         order.setShippingAddress(request.getShippingAddress());
@@ -151,38 +210,37 @@ public class OrderService {
         order.setItems(new ArrayList<>());
 
         BigDecimal totalAmount = BigDecimal.ZERO;
+        List<StockBatchItemDTO> stockLines = new ArrayList<>();
 
         for (OrderItemRequestDTO itemDTO : request.getItems()) {
 
-            var product = productServiceClient.getProductById(itemDTO.getProductId());
+            var product = products.get(itemDTO.getProductId());
             if (product == null || !product.getActive()) {
                 throw new ResourceNotFoundException("Produit non trouvé ou inactif");
             }
-            // 3c) Vérifier le stock (2 cas: rupture / insuffisant)
+            // 3c) Vérifier le stock (2 cas: rupture / insuffisant), sauf s'il n'a pas pu
+            //     être relu : la réservation par l'outbox tranche alors
             int available = product.getStock();
             int requested = itemDTO.getQuantity();
+            boolean stockVerified = !unverifiedStock.contains(product.getId());
 
-            if (available == 0) {
+            if (stockVerified && available == 0) {
                 throw new IllegalArgumentException(
                         "Produit en rupture de stock : " + product.getName() + " (id=" + product.getId() + ")"
                 );
             }
 
-            if (available < requested) {
+            if (stockVerified && available < requested) {
                 throw new IllegalArgumentException(
                         "Stock insuffisant pour le produit " + product.getName()
                                 + " (demandé=" + requested + ", disponible=" + available + ")"
                 );
             }
-            boolean updated = productServiceClient.updateStock(
-                    product.getId(),
-                    itemDTO.getQuantity(),
-                    "SUBTRACT"
-            );
-
-            if (!updated) {
-                throw new ServiceUnavailableException("Impossible de mettre à jour le stock du produit");
-            }
+            stockLines.add(StockBatchItemDTO.builder()
+                    .productId(product.getId())
+                    .quantity(requested)
+                    .operation("SUBTRACT")
+                    .build());
 
             OrderItem item = new OrderItem();
             item.setOrder(order);
@@ -199,6 +257,14 @@ public class OrderService {
         order.setTotalAmount(totalAmount);
 
         Order saved = orderRepository.save(order);
+
+        // 4) Réservation du stock publiée par l'outbox (même transaction que la commande)
+        outboxService.record(OutboxEvent.EventType.ORDER_CREATED, OrderEventDTO.builder()
+                .orderId(saved.getId())
+                .status(saved.getStatus())
+                .stockLines(stockLines)
+                .build());
+        orderStatistics.orderCreated(saved);
         pendingCounter.increment();
 
         ordersCreatedCounter.increment();
@@ -206,6 +272,114 @@ public class OrderService {
         return orderMapper.toResponseDTO(saved);
     }
 
+    /**
+     * Relit en un appel, sans passer par le cache, les produits dont le stock
+     * en cache ne couvre pas la quantité demandée, et remplace leurs copies
+     * dans {@code products}.
+     *
+     * @return les produits dont le stock n'a pas pu être relu (service Product
+     *         indisponible) : la réservation publiée par l'outbox en décide
+     */
+    private Set<Long> refreshShortStock(OrderRequestDTO request, Map<Long, ProductDTO> products) {
+        Set<Long> shortStock = new LinkedHashSet<>();
+        for (OrderItemRequestDTO itemDTO : request.getItems()) {
+            ProductDTO product = products.get(itemDTO.getProductId());
+            if (product != null && product.getStock() < itemDTO.getQuantity()) {
+                shortStock.add(product.getId());
+            }
+        }
+        if (shortStock.isEmpty()) {
+            return Set.of();
+        }
+
+        try {
+            for (ProductDTO product : productServiceClient.refreshProducts(shortStock)) {
+                products.put(product.getId(), product);
+            }
+            return Set.of();
+        } catch (ServiceUnavailableException e) {
+            log.warn("Stock des produits {} non vérifiable, réservation laissée au service Product", shortStock);
+            return shortStock;
+        }
+    }
+
+    /**
+     * Lance en parallèle la vérification de l'utilisateur et la lecture des
+     * produits : la latence est celle de l'appel le plus lent, pas leur somme.
+     *
+     * Échec rapide : dès qu'une branche échoue (utilisateur inactif, service
+     * indisponible) ou que le délai global est dépassé, l'autre est annulée.
+     */
+    private List<ProductDTO> fetchUserAndProducts(Long userId, Set<Long> productIds) {
+        CompletableFuture<Boolean> userFuture = callAsync(() -> userServiceClient.isUserActive(userId));
+        CompletableFuture<List<ProductDTO>> productsFuture =
+                callAsync(() -> productServiceClient.getProductsByIds(productIds));
+
+        CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+        userFuture.whenComplete((active, ex) -> {
+            if (ex != null) {
+                firstFailure.completeExceptionally(ex);
+            } else if (!active) {
+                firstFailure.completeExceptionally(
+                        new IllegalArgumentException("Utilisateur inactif ou inexistant"));
+            }
+        });
+        productsFuture.whenComplete((list, ex) -> {
+            if (ex != null) {
+                firstFailure.completeExceptionally(ex);
+            }
+        });
+
+        try {
+            CompletableFuture.anyOf(CompletableFuture.allOf(userFuture, productsFuture), firstFailure)
+                    .get(remoteDeadlineMs, TimeUnit.MILLISECONDS);
+            // Les deux appels ont pu aboutir avant que firstFailure ne soit signalé
+            if (!Boolean.TRUE.equals(userFuture.join())) {
+                throw new IllegalArgumentException("Utilisateur inactif ou inexistant");
+            }
+            return productsFuture.join();
+        } catch (TimeoutException e) {
+            log.warn("Délai de {} ms dépassé pour la commande de l'utilisateur {}", remoteDeadlineMs, userId);
+            throw new ServiceUnavailableException("Délai dépassé lors de la vérification de la commande");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Création de commande interrompue");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ServiceUnavailableException("Erreur lors de l'appel aux services distants");
+        } finally {
+            userFuture.cancel(true);
+            productsFuture.cancel(true);
+        }
+    }
+
+    /**
+     * Exécute un appel distant sur l'exécuteur dédié. Annuler le futur
+     * retourné interrompt l'appel en cours.
+     */
+    private <T> CompletableFuture<T> callAsync(Supplier<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = remoteCallExecutor.submit(() -> {
+            try {
+                result.complete(call.get());
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+        result.whenComplete((value, ex) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
     // ==================================================================
     @Transactional
     public OrderResponseDTO updateOrderStatus(Long id, OrderStatusUpdateDTO dto) {
@@ -221,7 +395,10 @@ public class OrderService {
             return orderMapper.toResponseDTO(order);
         }
 
+        Order.OrderStatus previousStatus = order.getStatus();
         order.setStatus(dto.getStatus());
+        recordStatusEvent(order, previousStatus);
+        orderStatistics.statusChanged(previousStatus, dto.getStatus());
 
         switch (dto.getStatus()) {
             case PENDING -> pendingCounter.increment();
@@ -246,11 +423,44 @@ public class OrderService {
             return;
         }
 
+        Order.OrderStatus previousStatus = order.getStatus();
         order.setStatus(Order.OrderStatus.CANCELLED);
         orderRepository.save(order);
+        recordStatusEvent(order, previousStatus);
+        orderStatistics.statusChanged(previousStatus, Order.OrderStatus.CANCELLED);
         cancelledCounter.increment();
     }
 
+    /**
+     * Enregistre dans l'outbox le changement de statut d'une commande.
+     *
+     * Une annulation avant expédition (PENDING / CONFIRMED) restitue le stock
+     * réservé ; après expédition, la marchandise n'est pas remise en stock.
+     */
+    private void recordStatusEvent(Order order, Order.OrderStatus previousStatus) {
+        OrderEventDTO.OrderEventDTOBuilder event = OrderEventDTO.builder()
+                .orderId(order.getId())
+                .previousStatus(previousStatus)
+                .status(order.getStatus())
+                .stockLines(List.of());
+
+        if (order.getStatus() != Order.OrderStatus.CANCELLED) {
+            outboxService.record(OutboxEvent.EventType.STATUS_CHANGED, event.build());
+            return;
+        }
+
+        if (previousStatus == Order.OrderStatus.PENDING || previousStatus == Order.OrderStatus.CONFIRMED) {
+            event.stockLines(order.getItems().stream()
+                    .map(item -> StockBatchItemDTO.builder()
+                            .productId(item.getProductId())
+                            .quantity(item.getQuantity())
+                            .operation("ADD")
+                            .build())
+                    .toList());
+        }
+        outboxService.record(OutboxEvent.EventType.ORDER_CANCELLED, event.build());
+    }
+
     // ==================================================================
     public boolean isProductUsedInAnyOrder(Long productId) {
         return orderItemRepository.existsByProductId(productId);
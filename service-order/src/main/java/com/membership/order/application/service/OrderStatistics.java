@@ -0,0 +1,188 @@
+package com.membership.order.application.service;
+
+import com.membership.order.domain.entity.Order;
+import com.membership.order.domain.entity.Order.OrderStatus;
+import com.membership.order.domain.repository.OrderRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Statistiques des commandes tenues en mémoire pour les gauges Prometheus
+ * (commandes par statut, montant commandé du jour).
+ *
+ * Initialisées depuis la base au démarrage, mises à jour à chaque création /
+ * changement de statut après le commit de la transaction (une transaction
+ * annulée ne les modifie pas), et recalculées périodiquement depuis la base
+ * pour corriger tout écart (autre instance, écriture hors service).
+ * Un scrape ne lit que des valeurs en mémoire.
+ */
+@Slf4j
+@Component
+public class OrderStatistics {
+
+    private final OrderRepository orderRepository;
+    private final Clock clock;
+
+    private final Map<OrderStatus, AtomicLong> countByStatus = new EnumMap<>(OrderStatus.class);
+    private final AtomicReference<DailyAmount> amountToday;
+
+    private final Counter correctionCounter;
+    private volatile boolean seeded;
+
+    /**
+     * Montant commandé pour un jour donné.
+     */
+    record DailyAmount(LocalDate day, BigDecimal amount) {
+    }
+
+    @Autowired
+    public OrderStatistics(OrderRepository orderRepository, MeterRegistry meterRegistry) {
+        this(orderRepository, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    OrderStatistics(OrderRepository orderRepository, MeterRegistry meterRegistry, Clock clock) {
+        this.orderRepository = orderRepository;
+        this.clock = clock;
+        this.amountToday = new AtomicReference<>(new DailyAmount(LocalDate.now(clock), BigDecimal.ZERO));
+
+        // Gauge : nombre de commandes par statut
+        for (OrderStatus status : OrderStatus.values()) {
+            AtomicLong count = new AtomicLong();
+            countByStatus.put(status, count);
+
+            Gauge.builder("orders_by_status", count, AtomicLong::get)
+                    .tag("status", status.name())
+                    .description("Nombre de commandes existantes en base par statut")
+                    .register(meterRegistry);
+        }
+
+        Gauge.builder("orders_total_amount_today", this, stats -> stats.getAmountToday().doubleValue())
+                .description("Montant total des commandes créées aujourd'hui")
+                .register(meterRegistry);
+
+        this.correctionCounter = Counter.builder("orders_stats_corrections_total")
+                .description("Recalculs des statistiques de commandes ayant corrigé un écart")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        reconcile();
+    }
+
+    public long getCount(OrderStatus status) {
+        return countByStatus.get(status).get();
+    }
+
+    public BigDecimal getAmountToday() {
+        DailyAmount current = amountToday.get();
+        return current.day().equals(LocalDate.now(clock)) ? current.amount() : BigDecimal.ZERO;
+    }
+
+    /**
+     * Nouvelle commande (prise en compte au commit).
+     */
+    public void orderCreated(Order order) {
+        OrderStatus status = order.getStatus();
+        BigDecimal amount = order.getTotalAmount() != null ? order.getTotalAmount() : BigDecimal.ZERO;
+        afterCommit(() -> {
+            countByStatus.get(status).incrementAndGet();
+            addToToday(amount);
+        });
+    }
+
+    /**
+     * Changement de statut d'une commande (pris en compte au commit).
+     */
+    public void statusChanged(OrderStatus previousStatus, OrderStatus newStatus) {
+        if (previousStatus == newStatus) {
+            return;
+        }
+        afterCommit(() -> {
+            countByStatus.get(previousStatus).decrementAndGet();
+            countByStatus.get(newStatus).incrementAndGet();
+        });
+    }
+
+    /**
+     * Recalcule les statistiques depuis la base : un GROUP BY sur le statut et
+     * une somme sur l'intervalle du jour (utilisable par un index sur created_at).
+     *
+     * Les mises à jour validées pendant le recalcul peuvent être comptées deux
+     * fois ou pas du tout ; le recalcul suivant corrige.
+     */
+    @Scheduled(fixedDelayString = "${app.order.stats.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.order.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        try {
+            Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+            for (OrderRepository.StatusCount row : orderRepository.countGroupByStatus()) {
+                counts.put(row.getStatus(), row.getCount());
+            }
+
+            LocalDate today = LocalDate.now(clock);
+            BigDecimal amount = orderRepository.sumTotalAmountCreatedBetween(
+                    today.atStartOfDay(), today.plusDays(1).atStartOfDay());
+
+            boolean corrected = false;
+            for (OrderStatus status : OrderStatus.values()) {
+                long expected = counts.getOrDefault(status, 0L);
+                long previous = countByStatus.get(status).getAndSet(expected);
+                corrected |= previous != expected;
+            }
+            DailyAmount previousAmount = amountToday.getAndSet(
+                    new DailyAmount(today, amount != null ? amount : BigDecimal.ZERO));
+            corrected |= previousAmount.day().equals(today)
+                    && previousAmount.amount().compareTo(amountToday.get().amount()) != 0;
+
+            // Le premier chargement (démarrage) n'est pas un écart
+            if (corrected && seeded) {
+                correctionCounter.increment();
+                log.debug("Statistiques des commandes recalculées depuis la base: {}", counts);
+            }
+            seeded = true;
+        } catch (RuntimeException e) {
+            log.error("Recalcul des statistiques de commandes impossible: {}", e.getMessage(), e);
+        }
+    }
+
+    private void addToToday(BigDecimal amount) {
+        LocalDate today = LocalDate.now(clock);
+        amountToday.updateAndGet(current -> current.day().equals(today)
+                ? new DailyAmount(today, current.amount().add(amount))
+                : new DailyAmount(today, amount));
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,294 @@
+package com.membership.order.application.service;
+
+import com.membership.order.application.dto.OrderEventDTO;
+import com.membership.order.application.dto.StockBatchItemDTO;
+import com.membership.order.domain.entity.Order;
+import com.membership.order.domain.entity.OutboxEvent;
+import com.membership.order.domain.entity.OutboxEvent.EventStatus;
+import com.membership.order.domain.entity.OutboxEvent.EventType;
+import com.membership.order.domain.repository.OrderRepository;
+import com.membership.order.domain.repository.OutboxEventRepository;
+import com.membership.order.infrastructure.client.ProductServiceClient;
+import com.membership.order.infrastructure.client.ProductServiceClient.StockBatchResult;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Relais de l'outbox vers le service Product.
+ *
+ * À chaque cycle, les événements en attente sont lus dans l'ordre d'écriture
+ * et leurs lignes de stock envoyées en un seul lot. Si le lot est refusé
+ * (stock insuffisant, produit absent), les événements sont rejoués un par un
+ * pour isoler celui qui pose problème. Si le service est indisponible, le
+ * premier événement est replanifié (backoff exponentiel) et bloque les
+ * suivants, ce qui préserve l'ordre des mouvements d'une même commande.
+ *
+ * Livraison "au moins une fois" : un arrêt entre l'appel HTTP et la mise à
+ * jour du statut, ou une réponse perdue, peut rejouer un lot. Chaque ligne
+ * porte la clé d'idempotence de son événement ; le service Product ignore
+ * les lignes d'une clé déjà appliquée. Une seule instance du relais est supposée.
+ */
+@Slf4j
+@Service
+public class OutboxRelayService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OrderRepository orderRepository;
+    private final ProductServiceClient productServiceClient;
+    private final OutboxService outboxService;
+    private final OrderStatistics orderStatistics;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+
+    // --- MÉTRIQUES ---
+    private final Counter publishedCounter;
+    private final Counter rejectedCounter;
+    private final Counter retryCounter;
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OutboxRelayService(
+            OutboxEventRepository outboxEventRepository,
+            OrderRepository orderRepository,
+            ProductServiceClient productServiceClient,
+            OutboxService outboxService,
+            OrderStatistics orderStatistics,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.order.outbox.batch-size:100}") int batchSize,
+            @Value("${app.order.outbox.initial-backoff-ms:500}") long initialBackoffMs,
+            @Value("${app.order.outbox.max-backoff-ms:30000}") long maxBackoffMs
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.orderRepository = orderRepository;
+        this.productServiceClient = productServiceClient;
+        this.outboxService = outboxService;
+        this.orderStatistics = orderStatistics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+
+        this.publishedCounter = Counter.builder("orders_outbox_events_total")
+                .tag("result", "published")
+                .description("Événements d'outbox publiés vers le service Product")
+                .register(meterRegistry);
+
+        this.rejectedCounter = Counter.builder("orders_outbox_events_total")
+                .tag("result", "rejected")
+                .description("Événements d'outbox refusés définitivement par le service Product")
+                .register(meterRegistry);
+
+        this.retryCounter = Counter.builder("orders_outbox_retries_total")
+                .description("Publications d'outbox en échec, replanifiées")
+                .register(meterRegistry);
+
+        Gauge.builder("orders_outbox_pending", pendingEvents, AtomicLong::get)
+                .description("Événements d'outbox en attente de publication")
+                .register(meterRegistry);
+
+        Gauge.builder("orders_outbox_lag_seconds", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Âge du plus ancien événement d'outbox en attente")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.order.outbox.relay-interval-ms:500}")
+    public void scheduledRelay() {
+        try {
+            relay();
+        } catch (RuntimeException e) {
+            log.error("Erreur du relais d'outbox: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Publie un lot d'événements en attente.
+     *
+     * @return le nombre d'événements traités (publiés, refusés ou ignorés)
+     */
+    public int relay() {
+        List<OutboxEvent> events = outboxEventRepository.findByStatusOrderByIdAsc(
+                EventStatus.PENDING, PageRequest.of(0, batchSize));
+        updateBacklogMetrics(events);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        OutboxEvent head = events.get(0);
+        if (head.getNextAttemptAt() != null && head.getNextAttemptAt().isAfter(LocalDateTime.now())) {
+            return 0;
+        }
+
+        Map<OutboxEvent, OrderEventDTO> payloads = new LinkedHashMap<>();
+        List<StockBatchItemDTO> lines = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            OrderEventDTO payload = outboxService.readPayload(event);
+            payloads.put(event, payload);
+            lines.addAll(stockLines(event, payload));
+        }
+
+        if (lines.isEmpty()) {
+            markPublished(events);
+            return events.size();
+        }
+
+        StockBatchResult result = productServiceClient.updateStockBatch(lines);
+        switch (result) {
+            case APPLIED -> {
+                markPublished(events);
+                return events.size();
+            }
+            case UNAVAILABLE -> {
+                scheduleRetry(head, "Service Product indisponible");
+                return 0;
+            }
+            default -> {
+                if (events.size() == 1) {
+                    reject(head, payloads.get(head));
+                    return 1;
+                }
+                log.warn("Lot de {} événement(s) refusé, publication unitaire", events.size());
+                return relayOneByOne(payloads);
+            }
+        }
+    }
+
+    /**
+     * Publie chaque événement séparément pour isoler ceux refusés par le service Product.
+     */
+    private int relayOneByOne(Map<OutboxEvent, OrderEventDTO> payloads) {
+        Set<Long> rejectedOrders = new HashSet<>();
+        int processed = 0;
+
+        for (Map.Entry<OutboxEvent, OrderEventDTO> entry : payloads.entrySet()) {
+            OutboxEvent event = entry.getKey();
+            OrderEventDTO payload = entry.getValue();
+
+            if (event.getEventType() == EventType.ORDER_CANCELLED && rejectedOrders.contains(event.getAggregateId())) {
+                processed++; // déjà marqué SKIPPED par reject()
+                continue;
+            }
+
+            List<StockBatchItemDTO> lines = stockLines(event, payload);
+            StockBatchResult result = lines.isEmpty()
+                    ? StockBatchResult.APPLIED
+                    : productServiceClient.updateStockBatch(lines);
+
+            if (result == StockBatchResult.UNAVAILABLE) {
+                scheduleRetry(event, "Service Product indisponible");
+                break;
+            }
+            if (result == StockBatchResult.APPLIED) {
+                markPublished(List.of(event));
+            } else {
+                reject(event, payload);
+                rejectedOrders.add(event.getAggregateId());
+            }
+            processed++;
+        }
+        return processed;
+    }
+
+    private void markPublished(List<OutboxEvent> events) {
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEvent event : events) {
+            event.setStatus(EventStatus.PUBLISHED);
+            event.setPublishedAt(now);
+        }
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.saveAll(events));
+        publishedCounter.increment(events.size());
+    }
+
+    /**
+     * Refus définitif : une réservation refusée annule la commande, et ses
+     * annulations en attente deviennent sans objet (rien à restituer).
+     */
+    private void reject(OutboxEvent event, OrderEventDTO payload) {
+        log.warn("Événement {} de la commande {} refusé par le service Product",
+                event.getEventType(), event.getAggregateId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            event.setStatus(EventStatus.FAILED);
+            event.setLastError("Refusé par le service Product");
+            outboxEventRepository.save(event);
+
+            if (event.getEventType() == EventType.ORDER_CREATED) {
+                orderRepository.findById(payload.getOrderId()).ifPresent(order -> {
+                    if (order.getStatus() != Order.OrderStatus.CANCELLED) {
+                        orderStatistics.statusChanged(order.getStatus(), Order.OrderStatus.CANCELLED);
+                        order.setStatus(Order.OrderStatus.CANCELLED);
+                        orderRepository.save(order);
+                        log.warn("Commande {} annulée : stock non réservable", order.getId());
+                    }
+                });
+
+                List<OutboxEvent> cancellations = outboxEventRepository.findByAggregateIdAndEventTypeAndStatus(
+                        event.getAggregateId(), EventType.ORDER_CANCELLED, EventStatus.PENDING);
+                cancellations.forEach(cancellation -> cancellation.setStatus(EventStatus.SKIPPED));
+                outboxEventRepository.saveAll(cancellations);
+            }
+        });
+        rejectedCounter.increment();
+    }
+
+    private void scheduleRetry(OutboxEvent event, String reason) {
+        int attempts = event.getAttempts() + 1;
+        long backoff = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 16));
+
+        event.setAttempts(attempts);
+        event.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoff)));
+        event.setLastError(reason);
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.save(event));
+
+        retryCounter.increment();
+        log.warn("Publication de l'événement {} en échec (tentative {}), nouvel essai dans {} ms",
+                event.getId(), attempts, backoff);
+    }
+
+    private void updateBacklogMetrics(List<OutboxEvent> events) {
+        pendingEvents.set(events.size() < batchSize
+                ? events.size()
+                : outboxEventRepository.countByStatus(EventStatus.PENDING));
+        lagMillis.set(events.isEmpty() || events.get(0).getCreatedAt() == null
+                ? 0
+                : Duration.between(events.get(0).getCreatedAt(), LocalDateTime.now()).toMillis());
+    }
+
+    private List<StockBatchItemDTO> stockLines(OutboxEvent event, OrderEventDTO payload) {
+        if (payload.getStockLines() == null) {
+            return List.of();
+        }
+        String idempotencyKey = idempotencyKey(event);
+        return payload.getStockLines().stream()
+                .map(line -> StockBatchItemDTO.builder()
+                        .productId(line.getProductId())
+                        .quantity(line.getQuantity())
+                        .operation(line.getOperation())
+                        .idempotencyKey(idempotencyKey)
+                        .build())
+                .toList();
+    }
+
+    static String idempotencyKey(OutboxEvent event) {
+        return "order-outbox-" + event.getId();
+    }
+}
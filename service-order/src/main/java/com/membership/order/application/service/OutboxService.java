@@ -0,0 +1,57 @@
+package com.membership.order.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.membership.order.application.dto.OrderEventDTO;
+import com.membership.order.domain.entity.OutboxEvent;
+import com.membership.order.domain.repository.OutboxEventRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Écriture et lecture des événements de commande dans l'outbox.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Enregistre un événement dans la transaction de la commande : il n'existe
+     * que si la commande est commitée.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(OutboxEvent.EventType eventType, OrderEventDTO event) {
+        OutboxEvent outboxEvent = OutboxEvent.builder()
+                .aggregateId(event.getOrderId())
+                .eventType(eventType)
+                .payload(writePayload(event))
+                .build();
+        outboxEventRepository.save(outboxEvent);
+        log.debug("Événement {} enregistré pour la commande {}", eventType, event.getOrderId());
+    }
+
+    public OrderEventDTO readPayload(OutboxEvent outboxEvent) {
+        try {
+            return objectMapper.readValue(outboxEvent.getPayload(), OrderEventDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Événement d'outbox illisible, ID: " + outboxEvent.getId(), e);
+        }
+    }
+
+    private String writePayload(OrderEventDTO event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Sérialisation de l'événement impossible", e);
+        }
+    }
+}
@@ -4,6 +4,9 @@ import com.membership.order.domain.entity.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Repository pour gérer les articles de commande (OrderItem) dans la base de données.
  */
@@ -12,4 +15,8 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 
 
     boolean existsByProductId(Long productId);
+
+
+    // Articles d'un lot de commandes en une requête (listes paginées, sans N+1)
+    List<OrderItem> findByOrderIdInOrderByIdAsc(Collection<Long> orderIds);
 }
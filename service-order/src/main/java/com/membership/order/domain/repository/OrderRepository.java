@@ -2,6 +2,7 @@ package com.membership.order.domain.repository;
 
 import com.membership.order.domain.entity.Order;
 import com.membership.order.domain.entity.Order.OrderStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -23,18 +24,34 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByUserIdOrderByOrderDateDesc(Long userId);
 
 
+    // Pagination par curseur (keyset) : commandes d'ID inférieur au curseur, plus récentes d'abord
+    List<Order> findByIdLessThanOrderByIdDesc(Long cursor, Limit limit);
+
+
+    List<Order> findByUserIdAndIdLessThanOrderByIdDesc(Long userId, Long cursor, Limit limit);
+
+
+    List<Order> findByStatusAndIdLessThanOrderByIdDesc(OrderStatus status, Long cursor, Limit limit);
+
+
     long countByStatus(OrderStatus status);
 
 
     List<Order> findByCreatedAtAfter(LocalDateTime date);
 
 
+    // Nombre de commandes par statut en une seule requête
+    @Query("SELECT o.status AS status, COUNT(o) AS count FROM Order o GROUP BY o.status")
+    List<StatusCount> countGroupByStatus();
+
+
+    // Intervalle [start, end) sur created_at (utilisable par un index, contrairement à CAST(... AS date))
     @Query("""
        SELECT COALESCE(SUM(o.totalAmount), 0)
        FROM Order o
-       WHERE CAST(o.createdAt AS date) = CURRENT_DATE
+       WHERE o.createdAt >= :start AND o.createdAt < :end
        """)
-    BigDecimal getTotalAmountToday();
+    BigDecimal sumTotalAmountCreatedBetween(LocalDateTime start, LocalDateTime end);
 
 
 
@@ -43,4 +60,11 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
 
     long countByUserIdAndStatus(Long userId, OrderStatus status);
+
+
+    interface StatusCount {
+        OrderStatus getStatus();
+
+        long getCount();
+    }
 }
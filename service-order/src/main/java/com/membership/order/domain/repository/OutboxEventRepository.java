@@ -0,0 +1,26 @@
+package com.membership.order.domain.repository;
+
+import com.membership.order.domain.entity.OutboxEvent;
+import com.membership.order.domain.entity.OutboxEvent.EventStatus;
+import com.membership.order.domain.entity.OutboxEvent.EventType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository pour les événements de l'outbox.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+
+    List<OutboxEvent> findByStatusOrderByIdAsc(EventStatus status, Pageable pageable);
+
+
+    long countByStatus(EventStatus status);
+
+
+    List<OutboxEvent> findByAggregateIdAndEventTypeAndStatus(Long aggregateId, EventType eventType, EventStatus status);
+}
@@ -1,8 +1,14 @@
 package com.membership.order.infrastructure.client;
 
 import com.membership.order.application.dto.ProductDTO;
+import com.membership.order.application.dto.StockBatchItemDTO;
+import com.membership.order.application.dto.StockBatchUpdateDTO;
 import com.membership.order.application.dto.StockUpdateDTO;
-import lombok.RequiredArgsConstructor;
+import com.membership.order.infrastructure.exception.ServiceUnavailableException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
@@ -12,26 +18,79 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class ProductServiceClient {
 
     private final RestTemplate restTemplate;
+    private final RemoteServiceGuard guard;
+    private final ProductSnapshotCache productSnapshotCache;
+    private final ExecutorService remoteCallExecutor;
+
+    // Produits dont le stock est en cours de rafraîchissement en arrière-plan
+    private final Set<Long> refreshing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Issue d'une mise à jour groupée du stock.
+     * - APPLIED : toutes les lignes sont appliquées
+     * - REJECTED : refus métier (stock insuffisant, produit absent), aucune ligne appliquée
+     * - UNAVAILABLE : service injoignable ou en erreur, à retenter
+     */
+    public enum StockBatchResult {
+        APPLIED,
+        REJECTED,
+        UNAVAILABLE
+    }
 
     @Value("${services.product.url:http://localhost:8082}")
     private String productServiceUrl;
 
+    public ProductServiceClient(RestTemplate restTemplate,
+                                CircuitBreakerRegistry circuitBreakerRegistry,
+                                BulkheadRegistry bulkheadRegistry,
+                                RetryRegistry retryRegistry,
+                                ProductSnapshotCache productSnapshotCache,
+                                ExecutorService remoteCallExecutor) {
+        this.restTemplate = restTemplate;
+        this.productSnapshotCache = productSnapshotCache;
+        this.remoteCallExecutor = remoteCallExecutor;
+        this.guard = new RemoteServiceGuard("productService",
+                circuitBreakerRegistry, bulkheadRegistry, retryRegistry);
+    }
+
 
+    /**
+     * Récupère un produit, depuis le cache local si une copie est disponible.
+     */
     public ProductDTO getProductById(Long productId) {
+        ProductSnapshotCache.Snapshot snapshot = productSnapshotCache.get(productId);
+        if (snapshot != null) {
+            if (productSnapshotCache.isStockStale(snapshot)) {
+                refreshInBackground(Set.of(productId));
+            }
+            return snapshot.product();
+        }
+
         try {
             log.debug("Récupération du produit ID: {} depuis le service Product", productId);
             
             String url = productServiceUrl + "/api/v1/products/" + productId;
-            ProductDTO product = restTemplate.getForObject(url, ProductDTO.class);
+            ProductDTO product = guard.read(() -> restTemplate.getForObject(url, ProductDTO.class));
             
             log.debug("Produit récupéré: {}", product != null ? product.getName() : "null");
+            if (product != null) {
+                productSnapshotCache.put(product);
+            }
             return product;
             
         } catch (HttpClientErrorException.NotFound e) {
@@ -39,7 +98,99 @@ public class ProductServiceClient {
             return null;
         } catch (Exception e) {
             log.error("Erreur lors de la récupération du produit ID: {}", productId, e);
-            throw new RuntimeException("Service Product indisponible", e);
+            throw new ServiceUnavailableException("ProductService", e);
+        }
+    }
+
+
+    /**
+     * Récupère plusieurs produits. Les copies en cache sont servies directement
+     * (leur stock est rafraîchi en arrière-plan s'il est trop ancien) ; les
+     * produits absents du cache sont lus en un seul appel au service Product.
+     * Les produits inexistants sont absents de la liste retournée.
+     *
+     * @param productIds Les IDs des produits
+     * @return Les produits trouvés
+     */
+    public List<ProductDTO> getProductsByIds(Collection<Long> productIds) {
+        List<ProductDTO> products = new ArrayList<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        Set<Long> staleStock = new LinkedHashSet<>();
+
+        for (Long productId : productIds) {
+            ProductSnapshotCache.Snapshot snapshot = productSnapshotCache.get(productId);
+            if (snapshot == null) {
+                missing.add(productId);
+                continue;
+            }
+            if (productSnapshotCache.isStockStale(snapshot)) {
+                staleStock.add(productId);
+            }
+            products.add(snapshot.product());
+        }
+
+        if (!staleStock.isEmpty()) {
+            refreshInBackground(staleStock);
+        }
+        if (!missing.isEmpty()) {
+            List<ProductDTO> fetched = fetchProductsByIds(missing);
+            fetched.forEach(productSnapshotCache::put);
+            products.addAll(fetched);
+        }
+        return products;
+    }
+
+    /**
+     * Relit des produits auprès du service Product sans passer par le cache
+     * (stock en cache insuffisant pour une commande) et met à jour leurs copies.
+     *
+     * @throws ServiceUnavailableException si le service Product est injoignable
+     */
+    public List<ProductDTO> refreshProducts(Collection<Long> productIds) {
+        List<ProductDTO> fetched = fetchProductsByIds(productIds);
+        fetched.forEach(productSnapshotCache::put);
+        return fetched;
+    }
+
+    /**
+     * Relit des produits dont l'indication de stock est ancienne, sans bloquer
+     * l'appelant. Un produit déjà en cours de rafraîchissement est ignoré.
+     */
+    private void refreshInBackground(Set<Long> productIds) {
+        Set<Long> toRefresh = productIds.stream()
+                .filter(refreshing::add)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (toRefresh.isEmpty()) {
+            return;
+        }
+
+        remoteCallExecutor.execute(() -> {
+            try {
+                fetchProductsByIds(toRefresh).forEach(productSnapshotCache::put);
+            } catch (Exception e) {
+                log.debug("Rafraîchissement du stock des produits {} impossible: {}", toRefresh, e.getMessage());
+            } finally {
+                refreshing.removeAll(toRefresh);
+            }
+        });
+    }
+
+    private List<ProductDTO> fetchProductsByIds(Collection<Long> productIds) {
+        try {
+            log.debug("Récupération de {} produit(s) depuis le service Product", productIds.size());
+
+            String ids = productIds.stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(","));
+            String url = productServiceUrl + "/api/v1/products?ids=" + ids;
+            ProductDTO[] products = guard.read(() -> restTemplate.getForObject(url, ProductDTO[].class));
+
+            log.debug("{} produit(s) récupéré(s)", products != null ? products.length : 0);
+            return products != null ? Arrays.asList(products) : List.of();
+
+        } catch (Exception e) {
+            log.error("Erreur lors de la récupération des produits IDs: {}", productIds, e);
+            throw new ServiceUnavailableException("ProductService", e);
         }
     }
 
@@ -92,12 +243,12 @@ public class ProductServiceClient {
             HttpEntity<StockUpdateDTO> entity = new HttpEntity<>(stockUpdate, headers);
 
 
-            restTemplate.exchange(
+            guard.write(() -> restTemplate.exchange(
                     url,
                     org.springframework.http.HttpMethod.PATCH,
                     entity,
                     Void.class
-            );
+            ));
 
             log.debug("Stock du produit ID: {} mis à jour avec succès", productId);
             return true;
@@ -108,6 +259,47 @@ public class ProductServiceClient {
         }
     }
 
+    /**
+     * Met à jour le stock de plusieurs produits en un seul appel.
+     * Le service Product applique toutes les lignes dans une transaction :
+     * si une ligne échoue, aucune n'est appliquée.
+     *
+     * @param items Les lignes (produit, quantité, opération)
+     * @return l'issue de la mise à jour
+     */
+    public StockBatchResult updateStockBatch(List<StockBatchItemDTO> items) {
+        try {
+            log.debug("Mise à jour groupée du stock - {} ligne(s)", items.size());
+
+            String url = productServiceUrl + "/api/v1/products/stock/batch";
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+
+            HttpEntity<StockBatchUpdateDTO> entity =
+                    new HttpEntity<>(new StockBatchUpdateDTO(items), headers);
+
+            guard.write(() -> restTemplate.postForEntity(url, entity, Void.class));
+
+            log.debug("Stock de {} ligne(s) mis à jour avec succès", items.size());
+            return StockBatchResult.APPLIED;
+
+        } catch (HttpClientErrorException e) {
+            log.warn("Mise à jour groupée du stock refusée ({}): {}", e.getStatusCode(), e.getResponseBodyAsString());
+            return StockBatchResult.REJECTED;
+        } catch (Exception e) {
+            log.error("Erreur lors de la mise à jour groupée du stock", e);
+            return StockBatchResult.UNAVAILABLE;
+        }
+    }
+
+    /**
+     * État du circuit breaker vers le service Product.
+     */
+    public CircuitBreaker.State getCircuitState() {
+        return guard.getCircuitState();
+    }
+
     /**
      * Vérifie si le service Product est disponible.
      * 
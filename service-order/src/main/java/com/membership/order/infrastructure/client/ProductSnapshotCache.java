@@ -0,0 +1,159 @@
+package com.membership.order.infrastructure.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.membership.order.application.dto.ProductDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cache local des produits (near-cache) du service Product.
+ *
+ * Deux règles de fraîcheur :
+ * - nom, prix, activation : copie valable {@code catalog-ttl-seconds}, et
+ *   retirée dès que le service Product signale une nouvelle version de catalogue ;
+ * - stock : simple indication (la réservation par l'outbox reste la vérification
+ *   qui fait foi). Au-delà de {@code stock-ttl-seconds}, la copie reste servie
+ *   mais doit être rafraîchie en arrière-plan.
+ *
+ * Une invalidation mémorise la version reçue : une réponse plus ancienne
+ * (lecture en vol au moment de la modification) n'est pas mise en cache.
+ * Une version sans rapport avec celles du service Product (plus de
+ * {@value #MAX_VERSION_GAP} versions d'écart) est refusée, ou écartée dès
+ * qu'une lecture du produit la contredit : elle ne bloque pas le cache.
+ *
+ * Métriques Prometheus : cache_gets_total{cache="productSnapshot",result=hit|miss},
+ * cache_evictions_total, cache_size, orders_product_cache_hit_ratio,
+ * orders_product_cache_invalidations_total, orders_product_cache_invalid_versions_total.
+ */
+@Slf4j
+@Component
+public class ProductSnapshotCache {
+
+    static final String CACHE_NAME = "productSnapshot";
+
+    /**
+     * Écart maximal plausible entre deux versions connues d'un même produit
+     * (une notification par modification).
+     */
+    static final long MAX_VERSION_GAP = 1000;
+
+    private final Cache<Long, Snapshot> snapshots;
+
+    // Version minimale acceptée par produit, après une invalidation
+    private final Cache<Long, Long> minimumVersions;
+
+    private final long stockTtlNanos;
+
+    private final Counter invalidationCounter;
+    private final Counter invalidVersionCounter;
+
+    /**
+     * Copie d'un produit et date (System.nanoTime) de sa lecture.
+     */
+    record Snapshot(ProductDTO product, long loadedAt) {
+    }
+
+    public ProductSnapshotCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.order.product-cache.max-size:10000}") long maxSize,
+            @Value("${app.order.product-cache.catalog-ttl-seconds:300}") long catalogTtlSeconds,
+            @Value("${app.order.product-cache.stock-ttl-seconds:5}") long stockTtlSeconds
+    ) {
+        Duration catalogTtl = Duration.ofSeconds(catalogTtlSeconds);
+        this.stockTtlNanos = Duration.ofSeconds(stockTtlSeconds).toNanos();
+
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(catalogTtl)
+                .recordStats()
+                .build();
+
+        this.minimumVersions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(catalogTtl)
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, CACHE_NAME);
+
+        Gauge.builder("orders_product_cache_hit_ratio", snapshots, cache -> cache.stats().hitRate())
+                .description("Part des lectures de produit servies par le cache local")
+                .register(meterRegistry);
+
+        this.invalidationCounter = Counter.builder("orders_product_cache_invalidations_total")
+                .description("Invalidations de produit reçues du service Product")
+                .register(meterRegistry);
+
+        this.invalidVersionCounter = Counter.builder("orders_product_cache_invalid_versions_total")
+                .description("Versions de produit invraisemblables refusées ou écartées")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return la copie en cache, ou null si absente ou expirée
+     */
+    public Snapshot get(Long productId) {
+        return snapshots.getIfPresent(productId);
+    }
+
+    /**
+     * @return true si l'indication de stock de la copie doit être rafraîchie
+     */
+    public boolean isStockStale(Snapshot snapshot) {
+        return System.nanoTime() - snapshot.loadedAt() >= stockTtlNanos;
+    }
+
+    /**
+     * Met en cache une copie lue du service Product, sauf si elle est plus
+     * ancienne que la dernière invalidation reçue.
+     */
+    public void put(ProductDTO product) {
+        Long minimumVersion = minimumVersions.getIfPresent(product.getId());
+        long version = product.getCatalogVersion() != null ? product.getCatalogVersion() : 0L;
+        if (minimumVersion != null && version < minimumVersion) {
+            if (minimumVersion - version <= MAX_VERSION_GAP) {
+                log.debug("Copie périmée du produit ID: {} ignorée (version {} < {})",
+                        product.getId(), version, minimumVersion);
+                return;
+            }
+            // Version minimale que le service Product n'a jamais pu émettre
+            minimumVersions.asMap().remove(product.getId(), minimumVersion);
+            invalidVersionCounter.increment();
+            log.warn("Version minimale invraisemblable {} écartée pour le produit ID: {} (version lue {})",
+                    minimumVersion, product.getId(), version);
+        }
+        snapshots.put(product.getId(), new Snapshot(product, System.nanoTime()));
+    }
+
+    /**
+     * Retire la copie d'un produit dont la version de catalogue a changé.
+     *
+     * @return false si la version est invraisemblable au regard de la copie en cache (refusée)
+     */
+    public boolean invalidate(Long productId, long version) {
+        Snapshot current = snapshots.getIfPresent(productId);
+        Long cachedVersion = current != null ? current.product().getCatalogVersion() : null;
+        if (version < 0 || (cachedVersion != null && version - cachedVersion > MAX_VERSION_GAP)) {
+            invalidVersionCounter.increment();
+            log.warn("Invalidation refusée pour le produit ID: {} (version {}, version en cache {})",
+                    productId, version, cachedVersion);
+            return false;
+        }
+
+        minimumVersions.asMap().merge(productId, version, Math::max);
+        snapshots.asMap().computeIfPresent(productId, (id, snapshot) -> {
+            Long cached = snapshot.product().getCatalogVersion();
+            return cached != null && cached >= version ? snapshot : null;
+        });
+        invalidationCounter.increment();
+        log.debug("Produit ID: {} invalidé (version {})", productId, version);
+        return true;
+    }
+}
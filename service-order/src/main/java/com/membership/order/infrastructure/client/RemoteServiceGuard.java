@@ -0,0 +1,57 @@
+package com.membership.order.infrastructure.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+
+import java.util.function.Supplier;
+
+/**
+ * Protection des appels vers un service distant (instance Resilience4j
+ * du même nom, configurée dans application.yml) :
+ * - bulkhead : borne le nombre d'appels simultanés, les suivants échouent vite ;
+ * - circuit breaker : coupe les appels quand le taux d'échec ou de lenteur
+ *   dépasse le seuil, puis teste la reprise en demi-ouverture ;
+ * - retry : nouvelles tentatives bornées avec backoff exponentiel et jitter,
+ *   réservées aux lectures idempotentes.
+ */
+public class RemoteServiceGuard {
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Retry retry;
+
+    public RemoteServiceGuard(String name,
+                              CircuitBreakerRegistry circuitBreakerRegistry,
+                              BulkheadRegistry bulkheadRegistry,
+                              RetryRegistry retryRegistry) {
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(name);
+        this.bulkhead = bulkheadRegistry.bulkhead(name);
+        this.retry = retryRegistry.retry(name);
+    }
+
+    /**
+     * Appel idempotent (GET) : retry + circuit breaker + bulkhead.
+     */
+    public <T> T read(Supplier<T> call) {
+        return Retry.decorateSupplier(retry, guarded(call)).get();
+    }
+
+    /**
+     * Appel non idempotent (POST, PATCH) : circuit breaker + bulkhead, sans retry.
+     */
+    public <T> T write(Supplier<T> call) {
+        return guarded(call).get();
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private <T> Supplier<T> guarded(Supplier<T> call) {
+        return CircuitBreaker.decorateSupplier(circuitBreaker, Bulkhead.decorateSupplier(bulkhead, call));
+    }
+}
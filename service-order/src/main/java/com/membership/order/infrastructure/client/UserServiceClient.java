@@ -1,7 +1,11 @@
 package com.membership.order.infrastructure.client;
 
 import com.membership.order.application.dto.UserDTO;
-import lombok.RequiredArgsConstructor;
+import com.membership.order.infrastructure.exception.ServiceUnavailableException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -10,24 +14,49 @@ import org.springframework.web.client.RestTemplate;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class UserServiceClient {
 
     private final RestTemplate restTemplate;
+    private final RemoteServiceGuard guard;
+    private final UserStatusCache userStatusCache;
 
     @Value("${services.user.url:http://localhost:8080}")
     private String userServiceUrl;
 
+    public UserServiceClient(RestTemplate restTemplate,
+                             CircuitBreakerRegistry circuitBreakerRegistry,
+                             BulkheadRegistry bulkheadRegistry,
+                             RetryRegistry retryRegistry,
+                             UserStatusCache userStatusCache) {
+        this.restTemplate = restTemplate;
+        this.userStatusCache = userStatusCache;
+        this.guard = new RemoteServiceGuard("userService",
+                circuitBreakerRegistry, bulkheadRegistry, retryRegistry);
+    }
+
+    /**
+     * Vérifie qu'un utilisateur est actif. Un utilisateur déjà vu actif est
+     * servi par le cache local, sans appel au service User.
+     */
     public boolean isUserActive(Long userId) {
+        if (userStatusCache.isKnownActive(userId)) {
+            return true;
+        }
+
+        long generation = userStatusCache.currentGeneration();
         try {
             log.debug("Vérification de l'utilisateur ID: {} auprès du service User", userId);
 
             String url = userServiceUrl + "/api/v1/users/" + userId;
-            UserDTO user = restTemplate.getForObject(url, UserDTO.class);
+            UserDTO user = guard.read(() -> restTemplate.getForObject(url, UserDTO.class));
 
             boolean isActive = user != null && Boolean.TRUE.equals(user.getActive());
             log.debug("Utilisateur ID: {} - Actif: {}", userId, isActive);
 
+            if (isActive) {
+                userStatusCache.markActive(userId, generation);
+            }
+
             return isActive;
 
         } catch (HttpClientErrorException.NotFound e) {
@@ -35,7 +64,7 @@ public class UserServiceClient {
             return false;
         } catch (Exception e) {
             log.error("Erreur lors de la vérification de l'utilisateur ID: {}", userId, e);
-            throw new RuntimeException("Service User indisponible", e);
+            throw new ServiceUnavailableException("UserService", e);
         }
     }
 
@@ -44,17 +73,24 @@ public class UserServiceClient {
             log.debug("Récupération des informations de l'utilisateur ID: {}", userId);
 
             String url = userServiceUrl + "/api/v1/users/" + userId;
-            return restTemplate.getForObject(url, UserDTO.class);
+            return guard.read(() -> restTemplate.getForObject(url, UserDTO.class));
 
         } catch (HttpClientErrorException.NotFound e) {
             log.warn("Utilisateur ID: {} non trouvé", userId);
             return null;
         } catch (Exception e) {
             log.error("Erreur lors de la récupération de l'utilisateur ID: {}", userId, e);
-            throw new RuntimeException("Service User indisponible", e);
+            throw new ServiceUnavailableException("UserService", e);
         }
     }
 
+    /**
+     * État du circuit breaker vers le service User.
+     */
+    public CircuitBreaker.State getCircuitState() {
+        return guard.getCircuitState();
+    }
+
     public boolean isServiceAvailable() {
         try {
             String url = userServiceUrl + "/actuator/health";
@@ -0,0 +1,99 @@
+package com.membership.order.infrastructure.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache local des utilisateurs actifs (userId -> actif).
+ *
+ * Seuls les utilisateurs actifs sont mémorisés : un utilisateur inactif ou
+ * inconnu est toujours revérifié auprès du service User, une réactivation est
+ * donc prise en compte immédiatement. Une désactivation ou une suppression est
+ * poussée par le service User (invalidation) ; la durée de vie courte des
+ * entrées borne la fenêtre d'incohérence si cette notification est perdue.
+ *
+ * Une vérification en vol au moment d'une invalidation ne remet pas l'ancien
+ * statut en cache : chaque invalidation mémorise un numéro de génération, et
+ * un résultat obtenu à partir d'une génération antérieure est ignoré.
+ *
+ * Métriques Prometheus : cache_gets_total{cache="userActiveStatus",result=hit|miss},
+ * cache_evictions_total, cache_size.
+ */
+@Slf4j
+@Component
+public class UserStatusCache {
+
+    static final String CACHE_NAME = "userActiveStatus";
+
+    private final Cache<Long, Boolean> activeUsers;
+
+    // Génération de la dernière invalidation par utilisateur
+    private final Cache<Long, Long> invalidatedAt;
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserStatusCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.order.user-cache.max-size:10000}") long maxSize,
+            @Value("${app.order.user-cache.ttl-seconds:30}") long ttlSeconds
+    ) {
+        this.activeUsers = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        // Conservée au-delà de la durée d'une vérification (bornée par les timeouts HTTP)
+        this.invalidatedAt = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, activeUsers, CACHE_NAME);
+    }
+
+    /**
+     * @return true si l'utilisateur est connu comme actif et l'entrée non expirée
+     */
+    public boolean isKnownActive(Long userId) {
+        return activeUsers.getIfPresent(userId) != null;
+    }
+
+    /**
+     * Génération courante, à lire avant d'interroger le service User.
+     */
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Mémorise l'utilisateur comme actif, sauf s'il a été invalidé depuis la
+     * génération lue avant la vérification.
+     */
+    public void markActive(Long userId, long lookupGeneration) {
+        activeUsers.asMap().compute(userId, (id, current) -> {
+            Long invalidated = invalidatedAt.getIfPresent(id);
+            if (invalidated != null && invalidated > lookupGeneration) {
+                log.debug("Statut périmé de l'utilisateur ID: {} ignoré (invalidé pendant la vérification)", id);
+                return current;
+            }
+            return Boolean.TRUE;
+        });
+    }
+
+    public void invalidate(Long userId) {
+        // Sérialisé avec markActive sur la même clé
+        activeUsers.asMap().compute(userId, (id, current) -> {
+            invalidatedAt.put(id, generation.incrementAndGet());
+            return null;
+        });
+        log.debug("Statut de l'utilisateur ID: {} retiré du cache", userId);
+    }
+}
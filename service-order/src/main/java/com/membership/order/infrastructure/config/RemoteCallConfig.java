@@ -0,0 +1,24 @@
+package com.membership.order.infrastructure.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Exécuteur des appels distants lancés en parallèle (User / Product).
+ *
+ * Un thread virtuel par appel : les appels RestTemplate bloquants ne
+ * consomment pas de thread plateforme. Une branche abandonnée (échec rapide,
+ * délai global dépassé) n'est pas interrompue : elle se termine au plus tard
+ * au délai de réponse du client HTTP ({@code app.http-client.response-timeout-ms}).
+ */
+@Configuration
+public class RemoteCallConfig {
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService remoteCallExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
@@ -1,30 +1,174 @@
 package com.membership.order.infrastructure.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 /**
- * Configuration du RestTemplate avec support de la méthode HTTP PATCH
- * via Apache HttpClient
+ * Configuration du client HTTP inter-services (User, Product).
+ *
+ * Par défaut : Apache HttpClient avec un pool de connexions keep-alive
+ * dimensionné par route, délais de connexion / d'attente du pool / de réponse,
+ * et éviction des connexions inactives. Le pool (connexions louées,
+ * disponibles, en attente) et le temps d'attente d'un bail sont exportés
+ * vers Prometheus.
+ *
+ * Avec {@code app.http-client.http2-enabled=true}, le client HTTP du JDK est
+ * utilisé (HTTP/2 multiplexé, repli HTTP/1.1) ; il gère lui-même ses
+ * connexions, les métriques de pool ne sont alors pas disponibles.
  */
+@Slf4j
 @Configuration
 public class RestTemplateConfig {
 
+    private static final String POOL_NAME = "inter-service";
+
+    @Value("${app.http-client.max-total:100}")
+    private int maxTotal;
+
+    @Value("${app.http-client.max-per-route:50}")
+    private int maxPerRoute;
+
+    @Value("${app.http-client.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${app.http-client.connection-request-timeout-ms:1000}")
+    private long connectionRequestTimeoutMs;
+
+    @Value("${app.http-client.response-timeout-ms:5000}")
+    private long responseTimeoutMs;
+
+    @Value("${app.http-client.keep-alive-ms:30000}")
+    private long keepAliveMs;
+
+    @Value("${app.http-client.validate-after-inactivity-ms:2000}")
+    private long validateAfterInactivityMs;
+
+    @Value("${app.http-client.http2-enabled:false}")
+    private boolean http2Enabled;
+
     @Bean
-    public RestTemplate restTemplate() {
-        RestTemplate restTemplate = new RestTemplate();
+    public RestTemplate restTemplate(MeterRegistry meterRegistry) {
+        return new RestTemplate(http2Enabled
+                ? jdkRequestFactory()
+                : pooledRequestFactory(meterRegistry));
+    }
+
+    /**
+     * Apache HttpClient (supporte nativement PATCH) sur un pool keep-alive.
+     */
+    private ClientHttpRequestFactory pooledRequestFactory(MeterRegistry meterRegistry) {
+        Timer leaseWait = Timer.builder("http_client_pool_lease_wait")
+                .tag("pool", POOL_NAME)
+                .description("Temps d'attente pour obtenir une connexion du pool HTTP")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        PoolingHttpClientConnectionManager connectionManager = new LeaseTimingConnectionManager(leaseWait);
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                .setSocketTimeout(Timeout.ofMilliseconds(responseTimeoutMs))
+                .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivityMs))
+                .build());
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME, Tags.empty())
+                .bindTo(meterRegistry);
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(responseTimeoutMs))
+                        .build())
+                // Durée keep-alive annoncée par le serveur, plafonnée
+                .setKeepAliveStrategy((response, context) -> {
+                    TimeValue announced = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return TimeValue.ofMilliseconds(Math.min(announced.toMilliseconds(), keepAliveMs));
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(keepAliveMs))
+                .build();
+
+        log.info("Client HTTP inter-services : pool {} connexions ({} par route), réponse {} ms",
+                maxTotal, maxPerRoute, responseTimeoutMs);
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    /**
+     * Client HTTP du JDK en HTTP/2 (PATCH supporté).
+     */
+    private ClientHttpRequestFactory jdkRequestFactory() {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(responseTimeoutMs));
+
+        log.info("Client HTTP inter-services : HTTP/2 (client JDK), réponse {} ms", responseTimeoutMs);
+        return requestFactory;
+    }
+
+    /**
+     * Gestionnaire de pool qui mesure le temps d'attente d'un bail de connexion.
+     */
+    static class LeaseTimingConnectionManager extends PoolingHttpClientConnectionManager {
+
+        private final Timer leaseWait;
 
-        // Utiliser Apache HttpClient qui supporte nativement PATCH
-        HttpComponentsClientHttpRequestFactory requestFactory =
-                new HttpComponentsClientHttpRequestFactory();
+        LeaseTimingConnectionManager(Timer leaseWait) {
+            this.leaseWait = leaseWait;
+        }
 
-        // Configuration des timeouts (en millisecondes)
-        requestFactory.setConnectTimeout(5000); // 5 secondes pour la connexion
-        requestFactory.setConnectionRequestTimeout(5000); // 5 secondes pour obtenir une connexion du pool
+        @Override
+        public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+            long start = System.nanoTime();
+            LeaseRequest delegate = super.lease(id, route, requestTimeout, state);
+            return new LeaseRequest() {
+                @Override
+                public ConnectionEndpoint get(Timeout timeout)
+                        throws InterruptedException, ExecutionException, TimeoutException {
+                    try {
+                        return delegate.get(timeout);
+                    } finally {
+                        leaseWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                }
 
-        restTemplate.setRequestFactory(requestFactory);
-        return restTemplate;
+                @Override
+                public boolean cancel() {
+                    return delegate.cancel();
+                }
+            };
+        }
     }
-}
\ No newline at end of file
+}
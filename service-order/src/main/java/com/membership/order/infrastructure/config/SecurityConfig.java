@@ -1,10 +1,12 @@
 package com.membership.order.infrastructure.config;
 
 
+import com.membership.order.infrastructure.security.InternalServiceTokenFilter;
 import com.membership.order.infrastructure.security.jwt.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -17,6 +19,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final InternalServiceTokenFilter internalServiceTokenFilter;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -36,6 +39,13 @@ public class SecurityConfig {
                                 "/h2-console/**"
                         ).permitAll()
 
+                        // Invalidations de cache poussées par les services User et Product
+                        // (secret inter-services, voir InternalServiceTokenFilter)
+                        .requestMatchers(HttpMethod.DELETE,
+                                "/api/v1/internal/users/*/status",
+                                "/api/v1/internal/products/*/snapshot")
+                        .hasRole("SERVICE")
+
                         .requestMatchers("/api/v1/orders/**")
                         .hasRole("USER")
 
@@ -46,6 +56,10 @@ public class SecurityConfig {
                         jwtAuthenticationFilter,
                         UsernamePasswordAuthenticationFilter.class
                 )
+                .addFilterBefore(
+                        internalServiceTokenFilter,
+                        JwtAuthenticationFilter.class
+                )
 
                 .formLogin(form -> form.disable())
                 .httpBasic(basic -> basic.disable());
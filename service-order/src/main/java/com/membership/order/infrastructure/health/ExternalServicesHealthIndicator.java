@@ -2,6 +2,7 @@ package com.membership.order.infrastructure.health;
 
 import com.membership.order.infrastructure.client.ProductServiceClient;
 import com.membership.order.infrastructure.client.UserServiceClient;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
@@ -10,7 +11,8 @@ import org.springframework.stereotype.Component;
 /**
  * Vérifie la santé des microservices dépendants (UserService, ProductService)
  * Endpoint: GET /actuate/health
- * Retourne: UP/DOWN avec détails de chaque service
+ * Retourne: UP/DOWN avec détails de chaque service et état de son circuit breaker
+ * (un circuit ouvert compte comme service DOWN, sans appel de sonde)
  */
 @Component
 @RequiredArgsConstructor
@@ -33,14 +35,21 @@ public class ExternalServicesHealthIndicator implements HealthIndicator {
     @Override
     public Health health() {
         try {
-            boolean userServiceUp = userServiceClient.isServiceAvailable();
-            boolean productServiceUp = productServiceClient.isServiceAvailable();
+            CircuitBreaker.State userCircuit = userServiceClient.getCircuitState();
+            CircuitBreaker.State productCircuit = productServiceClient.getCircuitState();
+
+            boolean userServiceUp = userCircuit != CircuitBreaker.State.OPEN
+                    && userServiceClient.isServiceAvailable();
+            boolean productServiceUp = productCircuit != CircuitBreaker.State.OPEN
+                    && productServiceClient.isServiceAvailable();
 
             // Les 2 services disponibles
             if (userServiceUp && productServiceUp) {
                 return Health.up()
                         .withDetail("userService", "UP")
                         .withDetail("productService", "UP")
+                        .withDetail("userServiceCircuit", userCircuit.name())
+                        .withDetail("productServiceCircuit", productCircuit.name())
                         .withDetail("status", "Tous les services externes sont disponibles")
                         .build();
             }
@@ -49,6 +58,8 @@ public class ExternalServicesHealthIndicator implements HealthIndicator {
                 return Health.down()
                         .withDetail("userService", "DOWN")
                         .withDetail("productService", "DOWN")
+                        .withDetail("userServiceCircuit", userCircuit.name())
+                        .withDetail("productServiceCircuit", productCircuit.name())
                         .withDetail("status", "CRITICAL - Tous les services externes sont indisponibles")
                         .build();
             }
@@ -57,6 +68,8 @@ public class ExternalServicesHealthIndicator implements HealthIndicator {
                 return Health.down()
                         .withDetail("userService", userServiceUp ? "UP" : "DOWN")
                         .withDetail("productService", productServiceUp ? "UP" : "DOWN")
+                        .withDetail("userServiceCircuit", userCircuit.name())
+                        .withDetail("productServiceCircuit", productCircuit.name())
                         .withDetail("status", "WARNING - Un service externe est indisponible")
                         .build();
             }
@@ -1,8 +1,10 @@
 package com.membership.order.infrastructure.web.controller;
 
+import com.membership.order.application.dto.OrderPageDTO;
 import com.membership.order.application.dto.OrderRequestDTO;
 import com.membership.order.application.dto.OrderResponseDTO;
 import com.membership.order.application.dto.OrderStatusUpdateDTO;
+import com.membership.order.application.service.OrderExportService;
 import com.membership.order.application.service.OrderService;
 import com.membership.order.domain.entity.Order.OrderStatus;
 
@@ -11,14 +13,20 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
 /**
  * Contrôleur REST pour les commandes
  * Endpoints: /api/v1/orders
+ *
+ * Les listes sont paginées par curseur : plus récentes d'abord, {@code size}
+ * commandes au plus (plafonné), et l'en-tête {@value #NEXT_CURSOR_HEADER}
+ * donne la valeur de {@code after} pour la page suivante.
  */
 @RestController
 @RequestMapping("/api/v1/orders")
@@ -26,7 +34,10 @@ import java.util.List;
 @Slf4j
 public class OrderController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
 
     /**
      * POST /api/v1/orders
@@ -49,34 +60,56 @@ public class OrderController {
     }
 
     /**
-     * GET /api/v1/orders
-     * Récupérer toutes les commandes
+     * GET /api/v1/orders?after={cursor}&size={size}
+     * Récupérer les commandes, page par page
      */
     @GetMapping
-    public ResponseEntity<List<OrderResponseDTO>> getAllOrders() {
-        log.info("GET /orders");
-        return ResponseEntity.ok(orderService.getAllOrders());
+    public ResponseEntity<List<OrderResponseDTO>> getAllOrders(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int size) {
+        log.info("GET /orders?after={}&size={}", after, size);
+        return pageResponse(orderService.getAllOrders(after, size));
     }
 
     /**
-     * GET /api/v1/orders/user/{userId}
-     * Récupérer l'historique d'un utilisateur
+     * GET /api/v1/orders/user/{userId}?after={cursor}&size={size}
+     * Récupérer l'historique d'un utilisateur, page par page
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<OrderResponseDTO>> getOrdersByUser(@PathVariable Long userId) {
-        log.info("GET /orders/user/{}", userId);
-        return ResponseEntity.ok(orderService.getOrdersByUser(userId));
+    public ResponseEntity<List<OrderResponseDTO>> getOrdersByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int size) {
+        log.info("GET /orders/user/{}?after={}&size={}", userId, after, size);
+        return pageResponse(orderService.getOrdersByUser(userId, after, size));
     }
 
     /**
-     * GET /api/v1/orders/status/{status}
+     * GET /api/v1/orders/status/{status}?after={cursor}&size={size}
      * Filtrer par statut: PENDING, SHIPPED, DELIVERED, CANCELLED
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<OrderResponseDTO>> getOrdersByStatus(@PathVariable String status) {
-        log.info("GET /orders/status/{}", status);
+    public ResponseEntity<List<OrderResponseDTO>> getOrdersByStatus(
+            @PathVariable String status,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int size) {
+        log.info("GET /orders/status/{}?after={}&size={}", status, after, size);
         OrderStatus enumStatus = OrderStatus.valueOf(status.toUpperCase());
-        return ResponseEntity.ok(orderService.getOrdersByStatus(enumStatus));
+        return pageResponse(orderService.getOrdersByStatus(enumStatus, after, size));
+    }
+
+    /**
+     * GET /api/v1/orders/export?status={status}
+     * Exporter les commandes en NDJSON (flux, une commande par ligne)
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(required = false) String status) {
+        log.info("GET /orders/export?status={}", status);
+        OrderStatus enumStatus = status != null ? OrderStatus.valueOf(status.toUpperCase()) : null;
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> orderExportService.exportOrders(enumStatus, out));
     }
 
     /**
@@ -112,4 +145,12 @@ public class OrderController {
         log.info("GET /orders/exists/product/{}", productId);
         return ResponseEntity.ok(orderService.isProductUsedInAnyOrder(productId));
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<List<OrderResponseDTO>> pageResponse(OrderPageDTO page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.getNextCursor()));
+        }
+        return response.body(page.getItems());
+    }
+}
@@ -0,0 +1,38 @@
+package com.membership.order.infrastructure.web.controller;
+
+import com.membership.order.infrastructure.client.ProductSnapshotCache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Endpoint interne appelé par le service Product lorsque le nom, le prix ou
+ * l'activation d'un produit change.
+ * Endpoint: /api/v1/internal/products
+ */
+@RestController
+@RequestMapping("/api/v1/internal/products")
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSnapshotController {
+
+    private final ProductSnapshotCache productSnapshotCache;
+
+    /**
+     * DELETE /api/v1/internal/products/{id}/snapshot?version=N
+     * Retirer du cache local les copies d'un produit antérieures à la version N
+     * (400 si N est sans rapport avec la version en cache)
+     */
+    @DeleteMapping("/{id}/snapshot")
+    public ResponseEntity<Void> invalidateProductSnapshot(@PathVariable Long id,
+                                                          @RequestParam long version) {
+        log.info("DELETE /internal/products/{}/snapshot?version={}", id, version);
+        if (!productSnapshotCache.invalidate(id, version)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.membership.order.infrastructure.web.controller;
+
+import com.membership.order.infrastructure.client.UserStatusCache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Endpoint interne appelé par le service User lorsqu'un utilisateur est
+ * désactivé ou supprimé.
+ * Endpoint: /api/v1/internal/users
+ */
+@RestController
+@RequestMapping("/api/v1/internal/users")
+@RequiredArgsConstructor
+@Slf4j
+public class UserStatusController {
+
+    private final UserStatusCache userStatusCache;
+
+    /**
+     * DELETE /api/v1/internal/users/{id}/status
+     * Retirer le statut d'un utilisateur du cache local
+     */
+    @DeleteMapping("/{id}/status")
+    public ResponseEntity<Void> invalidateUserStatus(@PathVariable Long id) {
+        log.info("DELETE /internal/users/{}/status", id);
+        userStatusCache.invalidate(id);
+        return ResponseEntity.noContent().build();
+    }
+}
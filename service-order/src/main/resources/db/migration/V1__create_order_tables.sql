@@ -0,0 +1,39 @@
+-- Schéma initial du service Order (commandes, articles, outbox)
+
+CREATE TABLE orders (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id          BIGINT         NOT NULL,
+    order_date       TIMESTAMP(6)   NOT NULL,
+    status           ENUM ('CANCELLED', 'CONFIRMED', 'DELIVERED', 'PENDING', 'SHIPPED') NOT NULL,
+    total_amount     NUMERIC(12, 2) NOT NULL,
+    shipping_address VARCHAR(500)   NOT NULL,
+    created_at       TIMESTAMP(6)   NOT NULL,
+    updated_at       TIMESTAMP(6)
+);
+
+CREATE TABLE order_items (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id     BIGINT         NOT NULL,
+    product_id   BIGINT         NOT NULL,
+    product_name VARCHAR(200)   NOT NULL,
+    quantity     INTEGER        NOT NULL,
+    unit_price   NUMERIC(12, 2) NOT NULL,
+    subtotal     NUMERIC(12, 2) NOT NULL,
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id)
+);
+
+CREATE TABLE outbox_events (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    aggregate_id    BIGINT       NOT NULL,
+    event_type      ENUM ('ORDER_CANCELLED', 'ORDER_CREATED', 'STATUS_CHANGED') NOT NULL,
+    payload         CLOB         NOT NULL,
+    status          ENUM ('FAILED', 'PENDING', 'PUBLISHED', 'SKIPPED') NOT NULL,
+    attempts        INTEGER      NOT NULL,
+    next_attempt_at TIMESTAMP(6),
+    last_error      VARCHAR(500),
+    created_at      TIMESTAMP(6) NOT NULL,
+    published_at    TIMESTAMP(6)
+);
+
+CREATE INDEX idx_outbox_status_id ON outbox_events (status, id);
+CREATE INDEX idx_outbox_aggregate ON outbox_events (aggregate_id);
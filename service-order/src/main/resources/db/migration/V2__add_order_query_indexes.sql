@@ -0,0 +1,14 @@
+-- Index des requêtes fréquentes de OrderRepository / OrderItemRepository
+-- (order_items.order_id est déjà indexé par sa clé étrangère)
+
+-- findByUserId*, existsByUserId, countByUserIdAndStatus, pagination par utilisateur (user_id, id < curseur)
+CREATE INDEX idx_orders_user_id ON orders (user_id, id);
+
+-- findByStatus*, pagination par statut (status, id < curseur), countGroupByStatus
+CREATE INDEX idx_orders_status_id ON orders (status, id);
+
+-- sumTotalAmountCreatedBetween (montant du jour), findByCreatedAtAfter
+CREATE INDEX idx_orders_created_at ON orders (created_at);
+
+-- existsByProductId (suppression d'un produit)
+CREATE INDEX idx_order_items_product_id ON order_items (product_id);
@@ -0,0 +1,96 @@
+package com.membership.order.application.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.membership.order.domain.entity.Order;
+import com.membership.order.domain.entity.Order.OrderStatus;
+import com.membership.order.domain.entity.OrderItem;
+import com.membership.order.domain.repository.OrderRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class OrderExportServiceTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private OrderExportService orderExportService;
+
+    @BeforeEach
+    void setUp() {
+        // Petite taille de lecture : plusieurs allers-retours du curseur
+        orderExportService = new OrderExportService(dataSource, transactionManager, objectMapper, 2);
+    }
+
+    private Order saveOrder(OrderStatus status, int itemCount) {
+        Order order = new Order();
+        order.setUserId(1L);
+        order.setOrderDate(LocalDateTime.now());
+        order.setStatus(status);
+        order.setShippingAddress("Adresse test");
+        order.setTotalAmount(BigDecimal.TEN.multiply(BigDecimal.valueOf(itemCount)));
+        for (int i = 0; i < itemCount; i++) {
+            OrderItem item = new OrderItem();
+            item.setProductId(100L + i);
+            item.setProductName("Produit " + i);
+            item.setQuantity(1);
+            item.setUnitPrice(BigDecimal.TEN);
+            item.setSubtotal(BigDecimal.TEN);
+            order.addItem(item);
+        }
+        return orderRepository.saveAndFlush(order);
+    }
+
+    @Test
+    void testExportWritesOneLinePerOrderWithItems() throws Exception {
+        Order first = saveOrder(OrderStatus.PENDING, 3);
+        saveOrder(OrderStatus.CANCELLED, 0);
+        saveOrder(OrderStatus.PENDING, 1);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = orderExportService.exportOrders(null, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, exported);
+        assertEquals(3, lines.length);
+
+        JsonNode firstLine = objectMapper.readTree(lines[0]);
+        assertEquals(first.getId(), firstLine.get("id").asLong());
+        assertEquals(3, firstLine.get("items").size());
+        assertEquals(0, objectMapper.readTree(lines[1]).get("items").size());
+    }
+
+    @Test
+    void testExportFiltersByStatus() {
+        saveOrder(OrderStatus.PENDING, 2);
+        saveOrder(OrderStatus.CANCELLED, 1);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = orderExportService.exportOrders(OrderStatus.CANCELLED, out);
+
+        assertEquals(1, exported);
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("\"status\":\"CANCELLED\""));
+    }
+}
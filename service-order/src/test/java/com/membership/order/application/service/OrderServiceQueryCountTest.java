@@ -0,0 +1,122 @@
+package com.membership.order.application.service;
+
+import com.membership.order.application.dto.OrderPageDTO;
+import com.membership.order.application.mapper.OrderMapper;
+import com.membership.order.domain.entity.Order;
+import com.membership.order.domain.entity.Order.OrderStatus;
+import com.membership.order.domain.entity.OrderItem;
+import com.membership.order.domain.repository.OrderItemRepository;
+import com.membership.order.domain.repository.OrderRepository;
+import com.membership.order.infrastructure.client.ProductServiceClient;
+import com.membership.order.infrastructure.client.UserServiceClient;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Nombre de requêtes SQL des listes de commandes : une pour les commandes,
+ * une pour leurs articles, quel que soit le nombre de commandes (pas de N+1).
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderServiceQueryCountTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private OrderService orderService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        orderService = new OrderService(
+                orderRepository,
+                orderItemRepository,
+                new OrderMapper(),
+                mock(UserServiceClient.class),
+                mock(ProductServiceClient.class),
+                mock(OutboxService.class),
+                mock(OrderStatistics.class),
+                new SimpleMeterRegistry(),
+                Executors.newVirtualThreadPerTaskExecutor(),
+                3000
+        );
+
+        for (int i = 0; i < 10; i++) {
+            saveOrder(i % 2 == 0 ? OrderStatus.PENDING : OrderStatus.SHIPPED, 3);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    private void saveOrder(OrderStatus status, int itemCount) {
+        Order order = new Order();
+        order.setUserId(7L);
+        order.setOrderDate(LocalDateTime.now());
+        order.setStatus(status);
+        order.setShippingAddress("Adresse test");
+        order.setTotalAmount(BigDecimal.TEN.multiply(BigDecimal.valueOf(itemCount)));
+        for (int i = 0; i < itemCount; i++) {
+            OrderItem item = new OrderItem();
+            item.setProductId(100L + i);
+            item.setProductName("Produit " + i);
+            item.setQuantity(1);
+            item.setUnitPrice(BigDecimal.TEN);
+            item.setSubtotal(BigDecimal.TEN);
+            order.addItem(item);
+        }
+        orderRepository.save(order);
+    }
+
+    @Test
+    void testGetAllOrdersUsesTwoQueries() {
+        OrderPageDTO page = orderService.getAllOrders(null, 50);
+
+        assertEquals(10, page.getItems().size());
+        assertTrue(page.getItems().stream().allMatch(order -> order.getItems().size() == 3));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetOrdersByUserUsesTwoQueries() {
+        OrderPageDTO page = orderService.getOrdersByUser(7L, null, 4);
+
+        assertEquals(4, page.getItems().size());
+        assertNotNull(page.getNextCursor());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetOrdersByStatusUsesTwoQueries() {
+        OrderPageDTO page = orderService.getOrdersByStatus(OrderStatus.SHIPPED, null, 50);
+
+        assertEquals(5, page.getItems().size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
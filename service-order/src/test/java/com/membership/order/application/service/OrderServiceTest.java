@@ -5,6 +5,7 @@ import com.membership.order.application.mapper.OrderMapper;
 import com.membership.order.domain.entity.Order;
 import com.membership.order.domain.entity.Order.OrderStatus;
 import com.membership.order.domain.entity.OrderItem;
+import com.membership.order.domain.entity.OutboxEvent.EventType;
 import com.membership.order.domain.repository.OrderRepository;
 import com.membership.order.domain.repository.OrderItemRepository;
 import com.membership.order.infrastructure.client.ProductServiceClient;
@@ -22,12 +23,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,15 +45,19 @@ class OrderServiceTest {
     @Mock private OrderItemRepository orderItemRepository;
     @Mock private UserServiceClient userServiceClient;
     @Mock private ProductServiceClient productServiceClient;
+    @Mock private OutboxService outboxService;
+    @Mock private OrderStatistics orderStatistics;
 
     private OrderMapper orderMapper;
     private SimpleMeterRegistry meterRegistry;
+    private ExecutorService remoteCallExecutor;
     private OrderService orderService;
 
     @BeforeEach
     void setUp() {
         orderMapper = new OrderMapper();
         meterRegistry = new SimpleMeterRegistry();
+        remoteCallExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
         orderService = new OrderService(
                 orderRepository,
@@ -53,7 +65,11 @@ class OrderServiceTest {
                 orderMapper,
                 userServiceClient,
                 productServiceClient,
-                meterRegistry
+                outboxService,
+                orderStatistics,
+                meterRegistry,
+                remoteCallExecutor,
+                3000
         );
     }
 
@@ -62,15 +78,45 @@ class OrderServiceTest {
     // ----------------------------------------------------
     @Test
     void testGetAllOrders() {
-        Order o1 = createOrder(1L, 1L, OrderStatus.PENDING);
-        Order o2 = createOrder(2L, 2L, OrderStatus.CONFIRMED);
+        Order o1 = createOrder(2L, 1L, OrderStatus.PENDING);
+        Order o2 = createOrder(1L, 2L, OrderStatus.CONFIRMED);
+
+        when(orderRepository.findByIdLessThanOrderByIdDesc(Long.MAX_VALUE, Limit.of(51)))
+                .thenReturn(List.of(o1, o2));
+
+        var result = orderService.getAllOrders(null, 50);
+
+        assertEquals(2, result.getItems().size());
+        assertNull(result.getNextCursor());
+        verify(orderRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetAllOrdersNextCursor() {
+        Order o1 = createOrder(30L, 1L, OrderStatus.PENDING);
+        Order o2 = createOrder(29L, 1L, OrderStatus.PENDING);
+        Order o3 = createOrder(28L, 1L, OrderStatus.PENDING);
 
-        when(orderRepository.findAll()).thenReturn(List.of(o1, o2));
+        when(orderRepository.findByIdLessThanOrderByIdDesc(31L, Limit.of(3)))
+                .thenReturn(List.of(o1, o2, o3));
 
-        var result = orderService.getAllOrders();
+        var result = orderService.getAllOrders(31L, 2);
 
-        assertEquals(2, result.size());
-        verify(orderRepository).findAll();
+        // Une ligne de plus que la page : la page suivante commence après 29
+        assertEquals(2, result.getItems().size());
+        assertEquals(29L, result.getNextCursor());
+    }
+
+    @Test
+    void testGetAllOrdersPageSizeCapped() {
+        when(orderRepository.findByIdLessThanOrderByIdDesc(eq(Long.MAX_VALUE), any(Limit.class)))
+                .thenReturn(List.of());
+
+        orderService.getAllOrders(null, 100_000);
+
+        verify(orderRepository).findByIdLessThanOrderByIdDesc(Long.MAX_VALUE,
+                Limit.of(OrderService.MAX_PAGE_SIZE + 1));
+        assertThrows(IllegalArgumentException.class, () -> orderService.getAllOrders(null, 0));
     }
 
     // ----------------------------------------------------
@@ -105,12 +151,13 @@ class OrderServiceTest {
         Order o1 = createOrder(1L, userId, OrderStatus.PENDING);
         Order o2 = createOrder(2L, userId, OrderStatus.DELIVERED);
 
-        when(orderRepository.findByUserId(userId)).thenReturn(List.of(o1, o2));
+        when(orderRepository.findByUserIdAndIdLessThanOrderByIdDesc(userId, Long.MAX_VALUE, Limit.of(51)))
+                .thenReturn(List.of(o1, o2));
 
-        var result = orderService.getOrdersByUser(userId);
+        var result = orderService.getOrdersByUser(userId, null, 50);
 
-        assertEquals(2, result.size());
-        verify(orderRepository).findByUserId(userId);
+        assertEquals(2, result.getItems().size());
+        assertNull(result.getNextCursor());
     }
 
     // ----------------------------------------------------
@@ -121,12 +168,12 @@ class OrderServiceTest {
         Order o1 = createOrder(1L, 1L, OrderStatus.PENDING);
         Order o2 = createOrder(2L, 3L, OrderStatus.PENDING);
 
-        when(orderRepository.findByStatus(OrderStatus.PENDING))
+        when(orderRepository.findByStatusAndIdLessThanOrderByIdDesc(OrderStatus.PENDING, Long.MAX_VALUE, Limit.of(51)))
                 .thenReturn(List.of(o1, o2));
 
-        var result = orderService.getOrdersByStatus(OrderStatus.PENDING);
+        var result = orderService.getOrdersByStatus(OrderStatus.PENDING, null, 50);
 
-        assertEquals(2, result.size());
+        assertEquals(2, result.getItems().size());
     }
 
     // ----------------------------------------------------
@@ -201,13 +248,131 @@ class OrderServiceTest {
                 .build();
 
         when(userServiceClient.isUserActive(1L)).thenReturn(true);
-        when(productServiceClient.getProductById(10L)).thenReturn(product);
-        when(productServiceClient.updateStock(10L, 2, "SUBTRACT")).thenReturn(true);
+        when(productServiceClient.getProductsByIds(Set.of(10L))).thenReturn(List.of(product));
         when(orderRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
         var result = orderService.createOrder(request);
 
         assertEquals(BigDecimal.valueOf(100), result.getTotalAmount());
+        verify(outboxService).record(EventType.ORDER_CREATED, OrderEventDTO.builder()
+                .status(OrderStatus.PENDING)
+                .stockLines(List.of(
+                        StockBatchItemDTO.builder().productId(10L).quantity(2).operation("SUBTRACT").build()
+                ))
+                .build());
+        verify(productServiceClient, never()).updateStockBatch(any());
+    }
+
+    @Test
+    void testCreateOrderMultipleItemsSingleStockEvent() {
+
+        OrderRequestDTO request = OrderRequestDTO.builder()
+                .userId(1L)
+                .shippingAddress("Adresse test")
+                .items(List.of(
+                        OrderItemRequestDTO.builder().productId(10L).quantity(2).build(),
+                        OrderItemRequestDTO.builder().productId(20L).quantity(1).build()
+                ))
+                .build();
+
+        ProductDTO productA = ProductDTO.builder()
+                .id(10L).name("Produit A").price(BigDecimal.valueOf(50)).stock(10).active(true).build();
+        ProductDTO productB = ProductDTO.builder()
+                .id(20L).name("Produit B").price(BigDecimal.valueOf(30)).stock(5).active(true).build();
+
+        when(userServiceClient.isUserActive(1L)).thenReturn(true);
+        when(productServiceClient.getProductsByIds(Set.of(10L, 20L))).thenReturn(List.of(productA, productB));
+        when(orderRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        var result = orderService.createOrder(request);
+
+        assertEquals(BigDecimal.valueOf(130), result.getTotalAmount());
+        verify(outboxService, times(1)).record(eq(EventType.ORDER_CREATED),
+                argThat(event -> event.getStockLines().size() == 2));
+        verify(productServiceClient, never()).updateStockBatch(any());
+        verify(productServiceClient, never()).updateStock(any(), any(), any());
+        verify(productServiceClient, times(1)).getProductsByIds(any());
+        verify(productServiceClient, never()).getProductById(any());
+    }
+
+    @Test
+    void testCreateOrderFetchesUserAndProductsInParallel() {
+
+        OrderRequestDTO request = OrderRequestDTO.builder()
+                .userId(1L)
+                .shippingAddress("Adresse test")
+                .items(List.of(OrderItemRequestDTO.builder().productId(10L).quantity(1).build()))
+                .build();
+
+        ProductDTO product = ProductDTO.builder()
+                .id(10L).name("Produit A").price(BigDecimal.valueOf(50)).stock(10).active(true).build();
+
+        // Chaque appel attend que l'autre ait démarré : en séquentiel, le délai expirerait
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        when(userServiceClient.isUserActive(1L)).thenAnswer(inv -> {
+            bothStarted.countDown();
+            return bothStarted.await(2, TimeUnit.SECONDS);
+        });
+        when(productServiceClient.getProductsByIds(Set.of(10L))).thenAnswer(inv -> {
+            bothStarted.countDown();
+            bothStarted.await(2, TimeUnit.SECONDS);
+            return List.of(product);
+        });
+        when(orderRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        var result = orderService.createOrder(request);
+
+        assertEquals(BigDecimal.valueOf(50), result.getTotalAmount());
+    }
+
+    @Test
+    void testCreateOrderRemoteDeadlineExceeded() {
+        OrderService shortDeadlineService = new OrderService(orderRepository, orderItemRepository, orderMapper,
+                userServiceClient, productServiceClient, outboxService, orderStatistics, meterRegistry, remoteCallExecutor, 100);
+
+        OrderRequestDTO request = OrderRequestDTO.builder()
+                .userId(1L)
+                .shippingAddress("Adresse test")
+                .items(List.of(OrderItemRequestDTO.builder().productId(10L).quantity(1).build()))
+                .build();
+
+        when(userServiceClient.isUserActive(1L)).thenAnswer(inv -> {
+            Thread.sleep(5000);
+            return true;
+        });
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> shortDeadlineService.createOrder(request));
+        verify(productServiceClient, never()).updateStockBatch(any());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void testCreateOrderUserInactiveWhenBothLookupsCompleteTogether() {
+        OrderRequestDTO request = OrderRequestDTO.builder()
+                .userId(1L)
+                .shippingAddress("Adresse test")
+                .items(List.of(OrderItemRequestDTO.builder().productId(10L).quantity(1).build()))
+                .build();
+
+        ProductDTO product = ProductDTO.builder()
+                .id(10L).name("Produit A").price(BigDecimal.valueOf(50)).stock(10).active(true).build();
+
+        // Produits d'abord, puis l'utilisateur (inactif) aussitôt après : les deux
+        // appels sont terminés quand le résultat de l'utilisateur est examiné
+        CountDownLatch productsDone = new CountDownLatch(1);
+        when(productServiceClient.getProductsByIds(Set.of(10L))).thenAnswer(inv -> {
+            productsDone.countDown();
+            return List.of(product);
+        });
+        when(userServiceClient.isUserActive(1L)).thenAnswer(inv -> {
+            productsDone.await(2, TimeUnit.SECONDS);
+            return false;
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> orderService.createOrder(request));
+        verify(orderRepository, never()).save(any());
+        verify(outboxService, never()).record(any(), any());
     }
 
     @Test
@@ -247,14 +412,86 @@ class OrderServiceTest {
                 .build();
 
         when(userServiceClient.isUserActive(1L)).thenReturn(true);
-        when(productServiceClient.getProductById(10L)).thenReturn(product);
+        when(productServiceClient.getProductsByIds(Set.of(10L))).thenReturn(List.of(product));
 
         assertThrows(RuntimeException.class,
                 () -> orderService.createOrder(request));
     }
 
     @Test
-    void testCreateOrderStockUpdateFails() {
+    void testCreateOrderStaleStockHintRefreshedBeforeRejecting() {
+
+        OrderRequestDTO request = OrderRequestDTO.builder()
+                .userId(1L)
+                .shippingAddress("Adresse test")
+                .items(List.of(OrderItemRequestDTO.builder().productId(10L).quantity(3).build()))
+                .build();
+
+        // Copie en cache : rupture ; service Product : réapprovisionné depuis
+        ProductDTO cached = ProductDTO.builder()
+                .id(10L).name("Produit A").price(BigDecimal.valueOf(50)).stock(0).active(true).build();
+        ProductDTO fresh = ProductDTO.builder()
+                .id(10L).name("Produit A").price(BigDecimal.valueOf(50)).stock(20).active(true).build();
+
+        when(userServiceClient.isUserActive(1L)).thenReturn(true);
+        when(productServiceClient.getProductsByIds(Set.of(10L))).thenReturn(List.of(cached));
+        when(productServiceClient.refreshProducts(Set.of(10L))).thenReturn(List.of(fresh));
+        when(orderRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        var result = orderService.createOrder(request);
+
+        assertEquals(BigDecimal.valueOf(150), result.getTotalAmount());
+        verify(outboxService).record(eq(EventType.ORDER_CREATED), any());
+    }
+
+    @Test
+    void testCreateOrderShortfallConfirmedByRefreshRejected() {
+
+        OrderRequestDTO request = OrderRequestDTO.builder()
+                .userId(1L)
+                .shippingAddress("Adresse test")
+                .items(List.of(OrderItemRequestDTO.builder().productId(10L).quantity(3).build()))
+                .build();
+
+        ProductDTO product = ProductDTO.builder()
+                .id(10L).name("Produit A").price(BigDecimal.valueOf(50)).stock(2).active(true).build();
+
+        when(userServiceClient.isUserActive(1L)).thenReturn(true);
+        when(productServiceClient.getProductsByIds(Set.of(10L))).thenReturn(List.of(product));
+        when(productServiceClient.refreshProducts(Set.of(10L))).thenReturn(List.of(product));
+
+        assertThrows(IllegalArgumentException.class, () -> orderService.createOrder(request));
+        verify(orderRepository, never()).save(any());
+        verify(outboxService, never()).record(any(), any());
+    }
+
+    @Test
+    void testCreateOrderStockUnverifiableLeftToReservation() {
+
+        OrderRequestDTO request = OrderRequestDTO.builder()
+                .userId(1L)
+                .shippingAddress("Adresse test")
+                .items(List.of(OrderItemRequestDTO.builder().productId(10L).quantity(3).build()))
+                .build();
+
+        ProductDTO cached = ProductDTO.builder()
+                .id(10L).name("Produit A").price(BigDecimal.valueOf(50)).stock(0).active(true).build();
+
+        when(userServiceClient.isUserActive(1L)).thenReturn(true);
+        when(productServiceClient.getProductsByIds(Set.of(10L))).thenReturn(List.of(cached));
+        when(productServiceClient.refreshProducts(Set.of(10L)))
+                .thenThrow(new ServiceUnavailableException("ProductService", new RuntimeException("timeout")));
+        when(orderRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        // Commande acceptée : la réservation publiée par l'outbox l'annulera si le stock manque
+        orderService.createOrder(request);
+
+        verify(outboxService).record(eq(EventType.ORDER_CREATED),
+                argThat(event -> event.getStockLines().size() == 1));
+    }
+
+    @Test
+    void testCreateOrderNotSavedWritesNoEvent() {
 
         OrderRequestDTO request = OrderRequestDTO.builder()
                 .userId(1L)
@@ -276,12 +513,13 @@ class OrderServiceTest {
                 .build();
 
         when(userServiceClient.isUserActive(1L)).thenReturn(true);
-        when(productServiceClient.getProductById(10L)).thenReturn(product);
-        when(productServiceClient.updateStock(any(), any(), any()))
-                .thenReturn(false);
+        when(productServiceClient.getProductsByIds(Set.of(10L))).thenReturn(List.of(product));
+        when(orderRepository.save(any())).thenThrow(new IllegalStateException("DB indisponible"));
 
-        assertThrows(ServiceUnavailableException.class,
+        assertThrows(IllegalStateException.class,
                 () -> orderService.createOrder(request));
+        verify(outboxService, never()).record(any(), any());
+        verify(productServiceClient, never()).updateStockBatch(any());
     }
 
     // ----------------------------------------------------
@@ -299,6 +537,40 @@ class OrderServiceTest {
         assertEquals(OrderStatus.CANCELLED, order.getStatus());
     }
 
+    @Test
+    void testCancelOrderReleasesReservedStock() {
+        Order order = createOrder(1L, 1L, OrderStatus.CONFIRMED);
+        OrderItem item = new OrderItem();
+        item.setProductId(10L);
+        item.setQuantity(3);
+        order.addItem(item);
+
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+
+        orderService.cancelOrder(1L);
+
+        verify(outboxService).record(EventType.ORDER_CANCELLED, OrderEventDTO.builder()
+                .orderId(1L)
+                .previousStatus(OrderStatus.CONFIRMED)
+                .status(OrderStatus.CANCELLED)
+                .stockLines(List.of(
+                        StockBatchItemDTO.builder().productId(10L).quantity(3).operation("ADD").build()
+                ))
+                .build());
+    }
+
+    @Test
+    void testCancelShippedOrderDoesNotReleaseStock() {
+        Order order = createOrder(1L, 1L, OrderStatus.SHIPPED);
+
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+
+        orderService.cancelOrder(1L);
+
+        verify(outboxService).record(eq(EventType.ORDER_CANCELLED),
+                argThat(event -> event.getStockLines().isEmpty()));
+    }
+
     @Test
     void testCancelOrderNotModifiable() {
         Order order = createOrder(1L, 1L, OrderStatus.DELIVERED);
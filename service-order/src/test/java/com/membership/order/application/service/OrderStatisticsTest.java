@@ -0,0 +1,163 @@
+package com.membership.order.application.service;
+
+import com.membership.order.domain.entity.Order;
+import com.membership.order.domain.entity.Order.OrderStatus;
+import com.membership.order.domain.repository.OrderRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OrderStatisticsTest {
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Clock clock = Clock.fixed(Instant.parse("2025-03-10T10:00:00Z"), ZoneOffset.UTC);
+
+    private OrderStatistics orderStatistics;
+
+    @BeforeEach
+    void setUp() {
+        when(orderRepository.countGroupByStatus()).thenReturn(List.of(
+                statusCount(OrderStatus.PENDING, 3),
+                statusCount(OrderStatus.SHIPPED, 2)));
+        when(orderRepository.sumTotalAmountCreatedBetween(any(), any())).thenReturn(new BigDecimal("120.00"));
+
+        orderStatistics = new OrderStatistics(orderRepository, meterRegistry, clock);
+        orderStatistics.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private OrderRepository.StatusCount statusCount(OrderStatus status, long count) {
+        return new OrderRepository.StatusCount() {
+            @Override
+            public OrderStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+
+    private Order order(BigDecimal amount) {
+        return Order.builder()
+                .id(1L)
+                .userId(1L)
+                .status(OrderStatus.PENDING)
+                .totalAmount(amount)
+                .shippingAddress("Adresse")
+                .build();
+    }
+
+    private double gauge(OrderStatus status) {
+        return meterRegistry.get("orders_by_status").tag("status", status.name()).gauge().value();
+    }
+
+    // ----------------------------------------------------
+    // INITIALISATION
+    // ----------------------------------------------------
+    @Test
+    void testSeededFromDatabase() {
+        assertEquals(3, gauge(OrderStatus.PENDING));
+        assertEquals(2, gauge(OrderStatus.SHIPPED));
+        assertEquals(0, gauge(OrderStatus.CANCELLED));
+        assertEquals(120.0, meterRegistry.get("orders_total_amount_today").gauge().value());
+
+        // Intervalle du jour : [minuit, minuit du lendemain)
+        verify(orderRepository).sumTotalAmountCreatedBetween(
+                LocalDateTime.of(2025, 3, 10, 0, 0), LocalDateTime.of(2025, 3, 11, 0, 0));
+    }
+
+    @Test
+    void testScrapeDoesNotQueryDatabase() {
+        clearInvocations(orderRepository);
+
+        gauge(OrderStatus.PENDING);
+        meterRegistry.get("orders_total_amount_today").gauge().value();
+
+        verifyNoInteractions(orderRepository);
+    }
+
+    // ----------------------------------------------------
+    // MISES À JOUR
+    // ----------------------------------------------------
+    @Test
+    void testUpdatesAppliedOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        orderStatistics.orderCreated(order(new BigDecimal("30.00")));
+        orderStatistics.statusChanged(OrderStatus.PENDING, OrderStatus.CANCELLED);
+        assertEquals(3, orderStatistics.getCount(OrderStatus.PENDING));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(3, orderStatistics.getCount(OrderStatus.PENDING));
+        assertEquals(1, orderStatistics.getCount(OrderStatus.CANCELLED));
+        assertEquals(0, new BigDecimal("150.00").compareTo(orderStatistics.getAmountToday()));
+    }
+
+    @Test
+    void testRolledBackUpdatesIgnored() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        orderStatistics.orderCreated(order(new BigDecimal("30.00")));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertEquals(3, orderStatistics.getCount(OrderStatus.PENDING));
+        assertEquals(0, new BigDecimal("120.00").compareTo(orderStatistics.getAmountToday()));
+    }
+
+    @Test
+    void testUpdatesAppliedImmediatelyWithoutTransaction() {
+        orderStatistics.statusChanged(OrderStatus.SHIPPED, OrderStatus.DELIVERED);
+
+        assertEquals(1, gauge(OrderStatus.SHIPPED));
+        assertEquals(1, gauge(OrderStatus.DELIVERED));
+    }
+
+    // ----------------------------------------------------
+    // RECALCUL
+    // ----------------------------------------------------
+    @Test
+    void testReconcileCorrectsDrift() {
+        orderStatistics.statusChanged(OrderStatus.PENDING, OrderStatus.CONFIRMED);
+        orderStatistics.reconcile();
+
+        assertEquals(3, orderStatistics.getCount(OrderStatus.PENDING));
+        assertEquals(0, orderStatistics.getCount(OrderStatus.CONFIRMED));
+        assertEquals(1.0, meterRegistry.get("orders_stats_corrections_total").counter().count());
+    }
+
+    @Test
+    void testReconcileFailureKeepsCurrentValues() {
+        when(orderRepository.countGroupByStatus()).thenThrow(new IllegalStateException("base indisponible"));
+
+        orderStatistics.reconcile();
+
+        assertEquals(3, orderStatistics.getCount(OrderStatus.PENDING));
+    }
+}
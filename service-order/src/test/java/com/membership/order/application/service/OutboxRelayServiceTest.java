@@ -0,0 +1,204 @@
+package com.membership.order.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.membership.order.application.dto.OrderEventDTO;
+import com.membership.order.application.dto.StockBatchItemDTO;
+import com.membership.order.domain.entity.Order;
+import com.membership.order.domain.entity.Order.OrderStatus;
+import com.membership.order.domain.entity.OutboxEvent;
+import com.membership.order.domain.entity.OutboxEvent.EventStatus;
+import com.membership.order.domain.entity.OutboxEvent.EventType;
+import com.membership.order.domain.repository.OrderRepository;
+import com.membership.order.domain.repository.OutboxEventRepository;
+import com.membership.order.infrastructure.client.ProductServiceClient;
+import com.membership.order.infrastructure.client.ProductServiceClient.StockBatchResult;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayServiceTest {
+
+    @Mock private OutboxEventRepository outboxEventRepository;
+    @Mock private OrderRepository orderRepository;
+    @Mock private ProductServiceClient productServiceClient;
+    @Mock private OrderStatistics orderStatistics;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxService outboxService;
+    private OutboxRelayService relayService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outboxService = new OutboxService(outboxEventRepository, new ObjectMapper());
+        relayService = new OutboxRelayService(
+                outboxEventRepository,
+                orderRepository,
+                productServiceClient,
+                outboxService,
+                orderStatistics,
+                transactionManager,
+                meterRegistry,
+                100,
+                500,
+                30000
+        );
+    }
+
+    // ----------------------------------------------------
+    // BATCH PUBLISH
+    // ----------------------------------------------------
+    @Test
+    void testRelayPublishesPendingEventsInOneBatch() {
+        OutboxEvent created1 = event(1L, 100L, EventType.ORDER_CREATED, line(10L, 2, "SUBTRACT"));
+        OutboxEvent created2 = event(2L, 101L, EventType.ORDER_CREATED, line(20L, 1, "SUBTRACT"));
+        OutboxEvent statusChanged = event(3L, 100L, EventType.STATUS_CHANGED);
+
+        when(outboxEventRepository.findByStatusOrderByIdAsc(eq(EventStatus.PENDING), any()))
+                .thenReturn(List.of(created1, created2, statusChanged));
+        when(productServiceClient.updateStockBatch(List.of(sent(1L, line(10L, 2, "SUBTRACT")), sent(2L, line(20L, 1, "SUBTRACT")))))
+                .thenReturn(StockBatchResult.APPLIED);
+
+        int processed = relayService.relay();
+
+        assertEquals(3, processed);
+        verify(productServiceClient, times(1)).updateStockBatch(any());
+        assertEquals(EventStatus.PUBLISHED, created1.getStatus());
+        assertEquals(EventStatus.PUBLISHED, statusChanged.getStatus());
+        assertEquals(3.0, meterRegistry.get("orders_outbox_events_total").tag("result", "published").counter().count());
+    }
+
+    @Test
+    void testRelayServiceUnavailableSchedulesRetry() {
+        OutboxEvent created = event(1L, 100L, EventType.ORDER_CREATED, line(10L, 2, "SUBTRACT"));
+
+        when(outboxEventRepository.findByStatusOrderByIdAsc(eq(EventStatus.PENDING), any()))
+                .thenReturn(List.of(created));
+        when(productServiceClient.updateStockBatch(any())).thenReturn(StockBatchResult.UNAVAILABLE);
+
+        int processed = relayService.relay();
+
+        assertEquals(0, processed);
+        assertEquals(EventStatus.PENDING, created.getStatus());
+        assertEquals(1, created.getAttempts());
+        assertTrue(created.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertEquals(1.0, meterRegistry.get("orders_outbox_retries_total").counter().count());
+
+        // Tant que le délai n'est pas écoulé, l'événement n'est pas retenté
+        relayService.relay();
+        verify(productServiceClient, times(1)).updateStockBatch(any());
+    }
+
+    @Test
+    void testRelayRetrySendsSameIdempotencyKey() {
+        OutboxEvent created = event(7L, 100L, EventType.ORDER_CREATED, line(10L, 2, "SUBTRACT"));
+
+        when(outboxEventRepository.findByStatusOrderByIdAsc(eq(EventStatus.PENDING), any()))
+                .thenReturn(List.of(created));
+        // Réponse perdue : le service Product a pu appliquer le lot
+        when(productServiceClient.updateStockBatch(any()))
+                .thenReturn(StockBatchResult.UNAVAILABLE)
+                .thenReturn(StockBatchResult.APPLIED);
+
+        relayService.relay();
+        created.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        relayService.relay();
+
+        // Les deux livraisons portent la clé de l'événement : la seconde est ignorée côté Product
+        verify(productServiceClient, times(2)).updateStockBatch(List.of(sent(7L, line(10L, 2, "SUBTRACT"))));
+        assertEquals(EventStatus.PUBLISHED, created.getStatus());
+    }
+
+    // ----------------------------------------------------
+    // REJECTION
+    // ----------------------------------------------------
+    @Test
+    void testRelayRejectedBatchIsolatesFailingOrder() {
+        OutboxEvent accepted = event(1L, 100L, EventType.ORDER_CREATED, line(10L, 2, "SUBTRACT"));
+        OutboxEvent rejected = event(2L, 101L, EventType.ORDER_CREATED, line(20L, 50, "SUBTRACT"));
+        OutboxEvent cancellation = event(3L, 101L, EventType.ORDER_CANCELLED, line(20L, 50, "ADD"));
+
+        Order order = Order.builder()
+                .id(101L)
+                .userId(1L)
+                .status(OrderStatus.PENDING)
+                .totalAmount(BigDecimal.TEN)
+                .shippingAddress("Adresse")
+                .build();
+
+        when(outboxEventRepository.findByStatusOrderByIdAsc(eq(EventStatus.PENDING), any()))
+                .thenReturn(List.of(accepted, rejected, cancellation));
+        when(productServiceClient.updateStockBatch(List.of(
+                sent(1L, line(10L, 2, "SUBTRACT")), sent(2L, line(20L, 50, "SUBTRACT")), sent(3L, line(20L, 50, "ADD")))))
+                .thenReturn(StockBatchResult.REJECTED);
+        when(productServiceClient.updateStockBatch(List.of(sent(1L, line(10L, 2, "SUBTRACT")))))
+                .thenReturn(StockBatchResult.APPLIED);
+        when(productServiceClient.updateStockBatch(List.of(sent(2L, line(20L, 50, "SUBTRACT")))))
+                .thenReturn(StockBatchResult.REJECTED);
+        when(orderRepository.findById(101L)).thenReturn(Optional.of(order));
+        when(outboxEventRepository.findByAggregateIdAndEventTypeAndStatus(101L, EventType.ORDER_CANCELLED, EventStatus.PENDING))
+                .thenReturn(List.of(cancellation));
+
+        int processed = relayService.relay();
+
+        assertEquals(3, processed);
+        assertEquals(EventStatus.PUBLISHED, accepted.getStatus());
+        assertEquals(EventStatus.FAILED, rejected.getStatus());
+        assertEquals(EventStatus.SKIPPED, cancellation.getStatus());
+        assertEquals(OrderStatus.CANCELLED, order.getStatus());
+        verify(orderStatistics).statusChanged(OrderStatus.PENDING, OrderStatus.CANCELLED);
+        verify(productServiceClient, never()).updateStockBatch(List.of(sent(3L, line(20L, 50, "ADD"))));
+    }
+
+    // ----------------------------------------------------
+    // HELPER
+    // ----------------------------------------------------
+    private OutboxEvent event(Long id, Long orderId, EventType type, StockBatchItemDTO... lines) {
+        OrderEventDTO payload = OrderEventDTO.builder()
+                .orderId(orderId)
+                .status(type == EventType.ORDER_CANCELLED ? OrderStatus.CANCELLED : OrderStatus.PENDING)
+                .stockLines(List.of(lines))
+                .build();
+        try {
+            return OutboxEvent.builder()
+                    .id(id)
+                    .aggregateId(orderId)
+                    .eventType(type)
+                    .payload(new ObjectMapper().writeValueAsString(payload))
+                    .createdAt(LocalDateTime.now())
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private StockBatchItemDTO line(Long productId, int quantity, String operation) {
+        return StockBatchItemDTO.builder().productId(productId).quantity(quantity).operation(operation).build();
+    }
+
+    /**
+     * Ligne telle qu'envoyée au service Product : clé d'idempotence de l'événement.
+     */
+    private StockBatchItemDTO sent(Long eventId, StockBatchItemDTO line) {
+        line.setIdempotencyKey("order-outbox-" + eventId);
+        return line;
+    }
+}
@@ -0,0 +1,119 @@
+package com.membership.order.domain.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Plans d'exécution (EXPLAIN H2) des requêtes fréquentes du service Order,
+ * sur le schéma créé par les migrations Flyway : chaque requête doit passer
+ * par l'index attendu et jamais par un parcours complet de table.
+ */
+@DataJpaTest
+class OrderQueryPlanTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    private String explain(String sql, Object... args) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+    }
+
+    private void assertUsesIndex(String index, String sql, Object... args) {
+        String plan = explain(sql, args);
+        assertFalse(plan.contains(".tableScan"), () -> "Parcours complet de table :\n" + plan);
+        assertTrue(plan.toUpperCase().contains(index.toUpperCase()), () -> "Index " + index + " non utilisé :\n" + plan);
+    }
+
+    @Test
+    void testDetectsTableScan() {
+        assertTrue(explain("SELECT * FROM orders WHERE shipping_address = ?", "Adresse").contains(".tableScan"));
+    }
+
+    // findByUserIdAndIdLessThanOrderByIdDesc
+    @Test
+    void testOrdersByUserPageUsesIndex() {
+        assertUsesIndex("idx_orders_user_id",
+                "SELECT * FROM orders WHERE user_id = ? AND id < ? ORDER BY id DESC FETCH FIRST 51 ROWS ONLY", 7L, 1000L);
+    }
+
+    // findByUserIdOrderByOrderDateDesc
+    @Test
+    void testOrdersByUserSortedByDateUsesIndex() {
+        assertUsesIndex("idx_orders_user_id", "SELECT * FROM orders WHERE user_id = ? ORDER BY order_date DESC", 7L);
+    }
+
+    // countByUserIdAndStatus
+    @Test
+    void testCountByUserAndStatusUsesIndex() {
+        assertUsesIndex("idx_orders_user_id",
+                "SELECT COUNT(*) FROM orders WHERE user_id = ? AND status = ?", 7L, "PENDING");
+    }
+
+    // findByStatusAndIdLessThanOrderByIdDesc
+    @Test
+    void testOrdersByStatusPageUsesIndex() {
+        assertUsesIndex("idx_orders_status_id",
+                "SELECT * FROM orders WHERE status = ? AND id < ? ORDER BY id DESC FETCH FIRST 51 ROWS ONLY",
+                "SHIPPED", 1000L);
+    }
+
+    // countGroupByStatus
+    @Test
+    void testCountGroupByStatusUsesIndex() {
+        assertUsesIndex("idx_orders_status_id", "SELECT status, COUNT(*) FROM orders GROUP BY status");
+    }
+
+    // sumTotalAmountCreatedBetween
+    @Test
+    void testAmountOfDayUsesIndex() {
+        LocalDateTime today = LocalDateTime.of(2025, 3, 10, 0, 0);
+        assertUsesIndex("idx_orders_created_at",
+                "SELECT COALESCE(SUM(total_amount), 0) FROM orders WHERE created_at >= ? AND created_at < ?",
+                Timestamp.valueOf(today), Timestamp.valueOf(today.plusDays(1)));
+    }
+
+    // existsByProductId
+    @Test
+    void testProductUsedInOrderUsesIndex() {
+        assertUsesIndex("idx_order_items_product_id",
+                "SELECT 1 FROM order_items WHERE product_id = ? FETCH FIRST 1 ROWS ONLY", 10L);
+    }
+
+    // findByOrderIdInOrderByIdAsc (index de la clé étrangère)
+    @Test
+    void testItemsOfPageUseForeignKeyIndex() {
+        assertUsesIndex("fk_order_items_order",
+                "SELECT * FROM order_items WHERE order_id IN (?, ?, ?) ORDER BY id", 1L, 2L, 3L);
+    }
+
+    // findByStatusOrderByIdAsc (relais outbox)
+    @Test
+    void testPendingOutboxEventsUseIndex() {
+        assertUsesIndex("idx_outbox_status_id",
+                "SELECT * FROM outbox_events WHERE status = ? ORDER BY id FETCH FIRST 100 ROWS ONLY", "PENDING");
+    }
+
+    // findByAggregateIdAndEventTypeAndStatus
+    @Test
+    void testOutboxEventsOfOrderUseIndex() {
+        assertUsesIndex("idx_outbox_aggregate",
+                "SELECT * FROM outbox_events WHERE aggregate_id = ? AND event_type = ? AND status = ?",
+                101L, "ORDER_CANCELLED", "PENDING");
+    }
+}
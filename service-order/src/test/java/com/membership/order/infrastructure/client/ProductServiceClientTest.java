@@ -0,0 +1,142 @@
+package com.membership.order.infrastructure.client;
+
+import com.membership.order.application.dto.ProductDTO;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ProductServiceClientTest {
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final ExecutorService executor = mock(ExecutorService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ProductSnapshotCache productSnapshotCache;
+    private ProductServiceClient productServiceClient;
+
+    private void createClient(long stockTtlSeconds) {
+        productSnapshotCache = new ProductSnapshotCache(meterRegistry, 100, 300, stockTtlSeconds);
+        productServiceClient = new ProductServiceClient(
+                restTemplate,
+                CircuitBreakerRegistry.ofDefaults(),
+                BulkheadRegistry.ofDefaults(),
+                RetryRegistry.ofDefaults(),
+                productSnapshotCache,
+                executor
+        );
+
+        // Rafraîchissements en arrière-plan exécutés immédiatement
+        doAnswer(inv -> {
+            ((Runnable) inv.getArgument(0)).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+    }
+
+    private ProductDTO product(long version, int stock) {
+        return ProductDTO.builder()
+                .id(10L)
+                .name("Clavier")
+                .price(new BigDecimal("49.90"))
+                .stock(stock)
+                .active(true)
+                .catalogVersion(version)
+                .build();
+    }
+
+    private void productServiceReturns(ProductDTO... products) {
+        when(restTemplate.getForObject(anyString(), eq(ProductDTO[].class))).thenReturn(products);
+    }
+
+    // ----------------------------------------------------
+    // CACHE PRODUITS
+    // ----------------------------------------------------
+    @Test
+    void testProductsServedFromCache() {
+        createClient(60);
+        productServiceReturns(product(0, 5));
+
+        productServiceClient.getProductsByIds(Set.of(10L));
+        List<ProductDTO> products = productServiceClient.getProductsByIds(Set.of(10L));
+
+        assertEquals(1, products.size());
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(ProductDTO[].class));
+        verify(executor, never()).execute(any(Runnable.class));
+        assertEquals(0.5, meterRegistry.get("orders_product_cache_hit_ratio").gauge().value());
+    }
+
+    @Test
+    void testStaleStockServedThenRefreshedInBackground() {
+        createClient(0);
+        productServiceReturns(product(0, 5));
+        productServiceClient.getProductsByIds(Set.of(10L));
+
+        productServiceReturns(product(0, 2));
+        List<ProductDTO> products = productServiceClient.getProductsByIds(Set.of(10L));
+
+        // La copie en cache est servie, le stock relu ensuite
+        assertEquals(5, products.get(0).getStock());
+        verify(executor).execute(any(Runnable.class));
+        assertEquals(2, productSnapshotCache.get(10L).product().getStock());
+    }
+
+    @Test
+    void testInvalidationRejectsOlderVersion() {
+        createClient(60);
+        productServiceReturns(product(0, 5));
+        productServiceClient.getProductsByIds(Set.of(10L));
+
+        productSnapshotCache.invalidate(10L, 1);
+        assertNull(productSnapshotCache.get(10L));
+
+        // Lecture encore en version 0 (antérieure à la modification) : non mise en cache
+        productServiceClient.getProductsByIds(Set.of(10L));
+        assertNull(productSnapshotCache.get(10L));
+
+        productServiceReturns(product(1, 5));
+        productServiceClient.getProductsByIds(Set.of(10L));
+        assertEquals(1L, productSnapshotCache.get(10L).product().getCatalogVersion());
+    }
+
+    @Test
+    void testInvalidationWithImplausibleVersionRejected() {
+        createClient(60);
+        productServiceReturns(product(0, 5));
+        productServiceClient.getProductsByIds(Set.of(10L));
+
+        // Version que le service Product n'a jamais pu émettre : copie conservée
+        assertFalse(productSnapshotCache.invalidate(10L, Long.MAX_VALUE));
+        assertFalse(productSnapshotCache.invalidate(10L, -1));
+        assertNotNull(productSnapshotCache.get(10L));
+        assertEquals(2.0, meterRegistry.get("orders_product_cache_invalid_versions_total").counter().count());
+    }
+
+    @Test
+    void testImplausibleMinimumVersionDiscardedByRead() {
+        createClient(60);
+
+        // Produit pas encore en cache : rien pour juger la version reçue
+        assertTrue(productSnapshotCache.invalidate(10L, Long.MAX_VALUE));
+
+        // La première lecture la contredit : elle est écartée et le cache reste utilisable
+        productServiceReturns(product(3, 5));
+        productServiceClient.getProductsByIds(Set.of(10L));
+        assertEquals(3L, productSnapshotCache.get(10L).product().getCatalogVersion());
+        assertEquals(1.0, meterRegistry.get("orders_product_cache_invalid_versions_total").counter().count());
+    }
+}
@@ -0,0 +1,130 @@
+package com.membership.order.infrastructure.client;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RemoteServiceGuardTest {
+
+    private RemoteServiceGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .ignoreExceptions(HttpClientErrorException.class)
+                .build());
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        RetryRegistry retryRegistry = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(1))
+                .retryExceptions(ResourceAccessException.class)
+                .build());
+
+        guard = new RemoteServiceGuard("test", circuitBreakerRegistry, bulkheadRegistry, retryRegistry);
+    }
+
+    // ----------------------------------------------------
+    // RETRY
+    // ----------------------------------------------------
+    @Test
+    void testReadRetriesTransientFailures() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = guard.read(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new ResourceAccessException("timeout");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void testWriteIsNotRetried() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(ResourceAccessException.class, () -> guard.write(() -> {
+            calls.incrementAndGet();
+            throw new ResourceAccessException("timeout");
+        }));
+        assertEquals(1, calls.get());
+    }
+
+    // ----------------------------------------------------
+    // CIRCUIT BREAKER
+    // ----------------------------------------------------
+    @Test
+    void testCircuitOpensAfterFailuresAndFailsFast() {
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ResourceAccessException.class,
+                    () -> guard.write(() -> { throw new ResourceAccessException("down"); }));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, guard.getCircuitState());
+        assertThrows(CallNotPermittedException.class, () -> guard.read(() -> "jamais appelé"));
+    }
+
+    @Test
+    void testClientErrorsDoNotOpenCircuit() {
+        for (int i = 0; i < 6; i++) {
+            assertThrows(HttpClientErrorException.class, () -> guard.read(() -> {
+                throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
+            }));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getCircuitState());
+    }
+
+    // ----------------------------------------------------
+    // BULKHEAD
+    // ----------------------------------------------------
+    @Test
+    void testBulkheadRejectsConcurrentCallsBeyondLimit() throws Exception {
+        CountDownLatch inCall = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread slowCall = Thread.ofVirtual().start(() -> guard.read(() -> {
+            inCall.countDown();
+            try {
+                release.await(2, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "lent";
+        }));
+
+        assertTrue(inCall.await(2, TimeUnit.SECONDS));
+        assertThrows(BulkheadFullException.class, () -> guard.read(() -> "refusé"));
+
+        release.countDown();
+        slowCall.join();
+    }
+}
@@ -0,0 +1,97 @@
+package com.membership.order.infrastructure.client;
+
+import com.membership.order.application.dto.UserDTO;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserServiceClientTest {
+
+    private RestTemplate restTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private UserServiceClient userServiceClient;
+    private UserStatusCache userStatusCache;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = mock(RestTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        userStatusCache = new UserStatusCache(meterRegistry, 100, 60);
+
+        userServiceClient = new UserServiceClient(
+                restTemplate,
+                CircuitBreakerRegistry.ofDefaults(),
+                BulkheadRegistry.ofDefaults(),
+                RetryRegistry.ofDefaults(),
+                userStatusCache
+        );
+    }
+
+    private void userIs(boolean active) {
+        when(restTemplate.getForObject(anyString(), eq(UserDTO.class)))
+                .thenReturn(UserDTO.builder().id(1L).active(active).build());
+    }
+
+    // ----------------------------------------------------
+    // CACHE DU STATUT UTILISATEUR
+    // ----------------------------------------------------
+    @Test
+    void testActiveUserServedFromCache() {
+        userIs(true);
+
+        assertTrue(userServiceClient.isUserActive(1L));
+        assertTrue(userServiceClient.isUserActive(1L));
+
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(UserDTO.class));
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", "userActiveStatus").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void testInactiveUserNotCached() {
+        userIs(false);
+
+        assertFalse(userServiceClient.isUserActive(1L));
+        assertFalse(userServiceClient.isUserActive(1L));
+
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(UserDTO.class));
+    }
+
+    @Test
+    void testInvalidationForcesRemoteCheck() {
+        userIs(true);
+        assertTrue(userServiceClient.isUserActive(1L));
+
+        userStatusCache.invalidate(1L);
+        userIs(false);
+
+        assertFalse(userServiceClient.isUserActive(1L));
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(UserDTO.class));
+    }
+
+    @Test
+    void testInvalidationDuringLookupNotOverwritten() {
+        // Désactivation notifiée pendant que la réponse (encore "actif") est en vol
+        when(restTemplate.getForObject(anyString(), eq(UserDTO.class))).thenAnswer(inv -> {
+            userStatusCache.invalidate(1L);
+            return UserDTO.builder().id(1L).active(true).build();
+        });
+
+        assertTrue(userServiceClient.isUserActive(1L));
+
+        // Le statut lu avant l'invalidation n'a pas été mis en cache
+        assertFalse(userStatusCache.isKnownActive(1L));
+    }
+}
@@ -0,0 +1,138 @@
+package com.membership.order.infrastructure.security.jwt;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests de la vérification des JWT :
+ * - Un token est parsé une seule fois en JwtPrincipal
+ * - Une seule vérification de signature par token (cache)
+ * - Les tokens invalides ne sont pas mémorisés
+ */
+class JwtTokenProviderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private KeyPair keyPair;
+    private SimpleMeterRegistry meterRegistry;
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+
+        Path publicKeyFile = tempDir.resolve("public_key.pem");
+        Files.writeString(publicKeyFile, "-----BEGIN PUBLIC KEY-----\n"
+                + Base64.getMimeEncoder().encodeToString(keyPair.getPublic().getEncoded())
+                + "\n-----END PUBLIC KEY-----\n");
+
+        meterRegistry = new SimpleMeterRegistry();
+        JwksKeyLocator keyLocator = new JwksKeyLocator(mock(RestTemplate.class), new DefaultResourceLoader(),
+                meterRegistry, "", publicKeyFile.toUri().toString(), 10_000, 100);
+        keyLocator.init();
+
+        jwtTokenProvider = new JwtTokenProvider(keyLocator, meterRegistry, 100);
+        jwtTokenProvider.init();
+    }
+
+    private String token(String subject, long validityMs) {
+        return Jwts.builder()
+                .subject(subject)
+                .claim("roles", "USER")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + validityMs))
+                .signWith(keyPair.getPrivate())
+                .compact();
+    }
+
+    private double verifications(String result) {
+        return meterRegistry.get("jwt_verifications_total").tag("result", result).counter().count();
+    }
+
+    @Test
+    void testSameTokenVerifiedOnce() {
+        // Given
+        String token = token("aya@test.com", 60_000);
+
+        // When : trois requêtes avec le même token
+        for (int i = 0; i < 3; i++) {
+            assertEquals("aya@test.com", jwtTokenProvider.authenticate(token).userId());
+        }
+
+        // Then
+        assertEquals(1.0, verifications("valid"));
+        assertEquals(2.0 / 3.0, meterRegistry.get("jwt_claims_cache_hit_ratio").gauge().value(), 1e-9);
+    }
+
+    @Test
+    void testAuthenticateExtractsPrincipal() {
+        // When
+        JwtPrincipal principal = jwtTokenProvider.authenticate(token("aya@test.com", 60_000));
+
+        // Then
+        assertEquals("aya@test.com", principal.getName());
+        assertEquals("USER", principal.role());
+        assertFalse(principal.isExpired());
+        assertEquals("ROLE_USER", principal.authorities().get(0).getAuthority());
+    }
+
+    @Test
+    void testTokenWithoutExpirationRejected() {
+        String token = Jwts.builder()
+                .subject("aya@test.com")
+                .claim("roles", "USER")
+                .signWith(keyPair.getPrivate())
+                .compact();
+
+        assertThrows(JwtException.class, () -> jwtTokenProvider.authenticate(token));
+        assertEquals(1.0, verifications("invalid"));
+    }
+
+    @Test
+    void testDistinctTokensVerifiedSeparately() {
+        jwtTokenProvider.authenticate(token("aya@test.com", 60_000));
+        jwtTokenProvider.authenticate(token("sami@test.com", 60_000));
+
+        assertEquals(2.0, verifications("valid"));
+    }
+
+    @Test
+    void testInvalidTokenNotCached() {
+        // Given : signature altérée
+        String token = token("aya@test.com", 60_000);
+        String tampered = token.substring(0, token.length() - 4) + "AAAA";
+
+        // When / Then
+        assertThrows(JwtException.class, () -> jwtTokenProvider.authenticate(tampered));
+        assertThrows(JwtException.class, () -> jwtTokenProvider.authenticate(tampered));
+        assertEquals(2.0, verifications("invalid"));
+        assertEquals(0.0, verifications("valid"));
+    }
+
+    @Test
+    void testExpiredTokenRejected() {
+        String token = token("aya@test.com", -1_000);
+
+        assertThrows(JwtException.class, () -> jwtTokenProvider.authenticate(token));
+        assertEquals(1.0, verifications("invalid"));
+    }
+}
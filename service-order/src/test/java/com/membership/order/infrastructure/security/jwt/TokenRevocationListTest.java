@@ -0,0 +1,202 @@
+package com.membership.order.infrastructure.security.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests des révocations de tokens lues depuis Membership :
+ * - Token émis avant la révocation refusé, token émis après accepté
+ * - Lecture incrémentale par curseur, relecture complète si la base Membership repart de zéro
+ * - Révocations conservées si Membership est indisponible, purgées à expiration
+ * - Secret inter-services présenté à chaque lecture du flux
+ */
+class TokenRevocationListTest {
+
+    private static final String URI = "http://membership/api/v1/auth/revocations";
+    private static final String TOKEN = "secret-inter-services";
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+
+    private RestTemplate restTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = mock(RestTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(NOW);
+        revocationList = new TokenRevocationList(restTemplate, meterRegistry, URI, TOKEN, clock);
+    }
+
+    private void feed(long since, long latestId, long nextCursor, TokenRevocationList.RevocationFeed.Entry... entries) {
+        when(readFeed(since)).thenReturn(ResponseEntity.ok(
+                new TokenRevocationList.RevocationFeed(latestId, nextCursor, false, List.of(entries))));
+    }
+
+    private ResponseEntity<TokenRevocationList.RevocationFeed> readFeed(long since) {
+        return restTemplate.exchange(any(String.class), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(TokenRevocationList.RevocationFeed.class), eq(since));
+    }
+
+    private static TokenRevocationList.RevocationFeed.Entry entry(long id, String userId, Instant revokedAt) {
+        return new TokenRevocationList.RevocationFeed.Entry(id, userId, revokedAt.toEpochMilli(),
+                revokedAt.plusSeconds(960).toEpochMilli());
+    }
+
+    private static JwtPrincipal principal(String userId, Instant issuedAt) {
+        return new JwtPrincipal(userId, null, "USER", issuedAt, issuedAt.plusSeconds(900));
+    }
+
+    @Test
+    void testTokenIssuedBeforeRevocationIsRevoked() {
+        // Given
+        feed(0, 1, 1, entry(1, "42", NOW));
+
+        // When
+        revocationList.refresh();
+
+        // Then
+        assertTrue(revocationList.isRevoked(principal("42", NOW.minusSeconds(60))));
+        assertTrue(revocationList.isRevoked(principal("42", NOW)));
+        assertFalse(revocationList.isRevoked(principal("42", NOW.plusSeconds(1))));
+        assertFalse(revocationList.isRevoked(principal("7", NOW.minusSeconds(60))));
+        assertEquals(2.0, meterRegistry.get("jwt_revoked_tokens_rejected_total").counter().count());
+        assertEquals(1.0, meterRegistry.get("jwt_revocations_entries").gauge().value());
+    }
+
+    @Test
+    void testIncrementalReadFromCursor() {
+        // Given
+        feed(0, 1, 1, entry(1, "42", NOW));
+        revocationList.refresh();
+
+        // When : seules les révocations après le curseur 1 sont demandées
+        feed(1, 2, 2, entry(2, "43", NOW));
+        revocationList.refresh();
+
+        // Then
+        assertTrue(revocationList.isRevoked(principal("42", NOW.minusSeconds(1))));
+        assertTrue(revocationList.isRevoked(principal("43", NOW.minusSeconds(1))));
+        verify(restTemplate, times(1)).exchange(any(String.class), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(TokenRevocationList.RevocationFeed.class), eq(0L));
+        verify(restTemplate, times(1)).exchange(any(String.class), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(TokenRevocationList.RevocationFeed.class), eq(1L));
+    }
+
+    @Test
+    void testFeedReadWithInternalToken() {
+        feed(0, 0, 0);
+
+        revocationList.refresh();
+
+        verify(restTemplate).exchange(eq(URI + "?since={since}"), eq(HttpMethod.GET),
+                argThat((HttpEntity<?> request) -> TOKEN.equals(request.getHeaders().getFirst("X-Internal-Token"))),
+                eq(TokenRevocationList.RevocationFeed.class), eq(0L));
+    }
+
+    @Test
+    void testMembershipResetTriggersFullReread() {
+        // Given
+        feed(0, 5, 5, entry(5, "42", NOW));
+        revocationList.refresh();
+
+        // When : base Membership réinitialisée, dernier id inférieur au curseur
+        feed(5, 1, 5);
+        feed(0, 1, 1, entry(1, "43", NOW));
+        revocationList.refresh();
+
+        // Then : l'ancien état est remplacé par le flux relu depuis 0
+        assertFalse(revocationList.isRevoked(principal("42", NOW.minusSeconds(1))));
+        assertTrue(revocationList.isRevoked(principal("43", NOW.minusSeconds(1))));
+    }
+
+    @Test
+    void testFailureKeepsKnownRevocationsAndExpiredEntriesArePurged() {
+        // Given
+        feed(0, 1, 1, entry(1, "42", NOW));
+        revocationList.refresh();
+
+        // When : Membership indisponible
+        when(readFeed(1L))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+        revocationList.refresh();
+
+        // Then
+        assertTrue(revocationList.isRevoked(principal("42", NOW.minusSeconds(1))));
+        assertEquals(1.0, meterRegistry.get("jwt_revocations_refresh_total").tag("result", "failure").counter().count());
+
+        // When : durée de vie des tokens visés écoulée
+        feed(1, 1, 1);
+        clock.advanceSeconds(961);
+        revocationList.refresh();
+
+        // Then
+        assertFalse(revocationList.isRevoked(principal("42", NOW.minusSeconds(1))));
+        assertEquals(0.0, meterRegistry.get("jwt_revocations_entries").gauge().value());
+    }
+
+    @Test
+    void testBloomFilterHasNoFalseNegativesAndFewFalsePositives() {
+        List<String> revoked = IntStream.range(0, 10_000).mapToObj(String::valueOf).toList();
+        BloomFilter filter = BloomFilter.of(revoked);
+
+        assertTrue(revoked.stream().allMatch(filter::mightContain));
+
+        long falsePositives = IntStream.range(10_000, 110_000)
+                .mapToObj(String::valueOf)
+                .filter(filter::mightContain)
+                .count();
+        assertTrue(falsePositives < 2_000, () -> "Faux positifs : " + falsePositives + " / 100000");
+        assertFalse(BloomFilter.EMPTY.mightContain("42"));
+    }
+
+    /**
+     * Horloge réglable pour simuler l'expiration des révocations.
+     */
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advanceSeconds(long seconds) {
+            now = now.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
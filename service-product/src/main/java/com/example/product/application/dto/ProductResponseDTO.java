@@ -28,6 +28,7 @@ public class ProductResponseDTO {
     private ProductCategory category;
     private String imageUrl;
     private Boolean active;
+    private Long catalogVersion;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -0,0 +1,37 @@
+package com.example.product.application.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ligne d'une mise à jour de stock groupée.
+ *
+ * Utilisé par l'endpoint POST /api/v1/products/stock/batch
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockBatchItemDTO {
+
+    @NotNull(message = "L'ID du produit ne peut pas être nul")
+    private Long productId;
+
+    @NotNull(message = "La quantité ne peut pas être nulle")
+    private Integer quantity;
+
+    /**
+     * Type d'opération sur le stock (SET par défaut).
+     */
+    private StockUpdateDTO.StockOperation operation;
+
+    /**
+     * Clé d'idempotence (optionnelle) : les lignes d'une clé déjà appliquée sont ignorées.
+     */
+    @Size(max = 100, message = "La clé d'idempotence ne peut pas dépasser 100 caractères")
+    private String idempotencyKey;
+}
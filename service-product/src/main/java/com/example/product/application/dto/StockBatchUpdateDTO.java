@@ -0,0 +1,27 @@
+package com.example.product.application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO pour la mise à jour groupée du stock de plusieurs produits.
+ *
+ * Toutes les lignes sont appliquées dans une seule transaction :
+ * si une ligne échoue (produit absent, stock insuffisant), aucune n'est appliquée.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockBatchUpdateDTO {
+
+    @NotEmpty(message = "La mise à jour doit contenir au moins une ligne")
+    @Valid
+    private List<StockBatchItemDTO> items;
+}
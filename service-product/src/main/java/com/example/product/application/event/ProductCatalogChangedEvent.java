@@ -0,0 +1,23 @@
+package com.example.product.application.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Événement publié lorsque les informations de catalogue d'un produit
+ * (nom, prix, activation) changent ou que le produit est supprimé.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductCatalogChangedEvent {
+
+    private Long productId;
+
+    /**
+     * Version de catalogue après le changement : les copies de version
+     * inférieure sont périmées ({@link Long#MAX_VALUE} pour une suppression).
+     */
+    private Long catalogVersion;
+}
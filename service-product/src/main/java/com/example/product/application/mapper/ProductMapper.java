@@ -56,6 +56,7 @@ public class ProductMapper {
                 .category(product.getCategory())
                 .imageUrl(product.getImageUrl())
                 .active(product.getActive())
+                .catalogVersion(product.getCatalogVersion())
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
                 .build();
@@ -0,0 +1,109 @@
+package com.example.product.application.service;
+
+import com.example.product.domain.entity.Product.ProductCategory;
+import com.example.product.domain.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Statistiques du catalogue (produits par catégorie, ruptures, stocks bas)
+ * lues par les gauges Prometheus et le health check.
+ *
+ * Calculées par une seule requête GROUP BY, en tâche de fond à intervalle
+ * fixe : un scrape ou une sonde de santé ne lit que le dernier instantané,
+ * sans requête SQL. Les valeurs ont au plus un intervalle de retard.
+ */
+@Slf4j
+@Component
+public class CatalogStatistics {
+
+    /**
+     * Seuil de stock bas (stock strictement inférieur).
+     */
+    public static final int LOW_STOCK_THRESHOLD = 5;
+
+    private final ProductRepository productRepository;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * Instantané immuable des statistiques du catalogue.
+     *
+     * @param productsByCategory nombre de produits par catégorie
+     * @param outOfStock         produits actifs en rupture (stock = 0)
+     * @param lowStock           produits avec un stock bas
+     * @param computedAt         date du calcul (null si jamais calculé)
+     */
+    public record Snapshot(Map<ProductCategory, Long> productsByCategory,
+                           long outOfStock,
+                           long lowStock,
+                           Instant computedAt) {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), 0, 0, null);
+
+        public long countByCategory(ProductCategory category) {
+            return productsByCategory.getOrDefault(category, 0L);
+        }
+    }
+
+    public CatalogStatistics(ProductRepository productRepository, MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+
+        // produits actifs en rupture
+        Gauge.builder("products_out_of_stock", this, stats -> stats.snapshot().outOfStock())
+                .description("Nombre de produits actifs en rupture (stock=0)")
+                .register(meterRegistry);
+
+        // total de produits existants en base par catégorie
+        for (ProductCategory category : ProductCategory.values()) {
+            Gauge.builder("products_existing_total", this, stats -> stats.snapshot().countByCategory(category))
+                    .tag("category", category.name())
+                    .description("Nombre total de produits existants en base par catégorie")
+                    .register(meterRegistry);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    /**
+     * Dernier instantané calculé.
+     */
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Recalcule l'instantané en une requête. En cas d'échec, le précédent est conservé.
+     */
+    @Scheduled(fixedDelayString = "${app.catalog.stats.refresh-interval-ms:15000}",
+            initialDelayString = "${app.catalog.stats.refresh-interval-ms:15000}")
+    public void refresh() {
+        try {
+            Map<ProductCategory, Long> byCategory = new EnumMap<>(ProductCategory.class);
+            long outOfStock = 0;
+            long lowStock = 0;
+
+            for (ProductRepository.CategoryStockStats row : productRepository.aggregateStockByCategory(LOW_STOCK_THRESHOLD)) {
+                byCategory.put(row.getCategory(), row.getTotal());
+                outOfStock += row.getOutOfStock();
+                lowStock += row.getLowStock();
+            }
+
+            snapshot = new Snapshot(Collections.unmodifiableMap(byCategory), outOfStock, lowStock, Instant.now());
+        } catch (RuntimeException e) {
+            log.error("Calcul des statistiques du catalogue impossible: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -2,7 +2,10 @@ package com.example.product.application.service;
 
 import com.example.product.application.dto.ProductRequestDTO;
 import com.example.product.application.dto.ProductResponseDTO;
+import com.example.product.application.dto.StockBatchItemDTO;
+import com.example.product.application.dto.StockBatchUpdateDTO;
 import com.example.product.application.dto.StockUpdateDTO;
+import com.example.product.application.event.ProductCatalogChangedEvent;
 import com.example.product.application.mapper.ProductMapper;
 import com.example.product.domain.entity.Product;
 import com.example.product.domain.entity.Product.ProductCategory;
@@ -10,17 +13,29 @@ import com.example.product.domain.repository.ProductRepository;
 import com.example.product.infrastructure.exception.InsufficientStockException;
 import com.example.product.infrastructure.exception.ResourceAlreadyExistsException;
 import com.example.product.infrastructure.exception.ResourceNotFoundException;
+import com.example.product.infrastructure.stock.StockLedger;
 import io.micrometer.core.instrument.Counter;
-import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import com.example.product.infrastructure.client.OrderServiceClient;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -40,6 +55,14 @@ public class ProductService {
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
     private final OrderServiceClient orderServiceClient;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockRequestRegistry stockRequestRegistry;
+
+    // Écritures absolues du stock : transaction ouverte après la sortie du ledger
+    private final TransactionTemplate transactionTemplate;
+
+    // Ledger de stock en mémoire (null si app.stock.ledger.enabled=false)
+    private final StockLedger stockLedger;
 
     // Compteurs Prometheus par catégorie
     private final Counter electronicsCounter;
@@ -50,10 +73,18 @@ public class ProductService {
     public ProductService(ProductRepository productRepository,
                           ProductMapper productMapper,
                           MeterRegistry meterRegistry,
-                          OrderServiceClient orderServiceClient) {
+                          OrderServiceClient orderServiceClient,
+                          Optional<StockLedger> stockLedger,
+                          ApplicationEventPublisher eventPublisher,
+                          StockRequestRegistry stockRequestRegistry,
+                          PlatformTransactionManager transactionManager) {
         this.productRepository = productRepository;
         this.productMapper = productMapper;
         this.orderServiceClient = orderServiceClient;
+        this.eventPublisher = eventPublisher;
+        this.stockRequestRegistry = stockRequestRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stockLedger = stockLedger.orElse(null);
 
         // Initialisation des compteurs de produits créés par catégorie
         this.electronicsCounter = Counter.builder("products.created.total")
@@ -76,22 +107,7 @@ public class ProductService {
                 .description("Nombre d'autres produits créés")
                 .register(meterRegistry);
 
-        // produits out-of-stock (état DB)
-        Gauge.builder("products_out_of_stock", productRepository,
-                        repo -> repo.countByStockAndActiveTrue(0))
-                .description("Nombre de produits actifs en rupture (stock=0)")
-                .register(meterRegistry);
-
-        // total de produits existants en base par catégorie (état DB)
-        for (ProductCategory category : ProductCategory.values()) {
-            final ProductCategory cat = category;
-
-            Gauge.builder("products_existing_total", productRepository,
-                            repo -> repo.countByCategory(cat))
-                    .tag("category", cat.name())
-                    .description("Nombre total de produits existants en base par catégorie")
-                    .register(meterRegistry);
-        }
+        // Gauges products_out_of_stock / products_existing_total : voir CatalogStatistics
     }
 
     /**
@@ -114,7 +130,21 @@ public class ProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Produit", id));
 
-        return productMapper.toResponseDTO(product);
+        return withLedgerStock(productMapper.toResponseDTO(product));
+    }
+
+    /**
+     * Récupère plusieurs produits par leurs IDs en une seule requête (IN).
+     * Les IDs inexistants sont ignorés.
+     */
+    public List<ProductResponseDTO> getProductsByIds(Collection<Long> ids) {
+        log.info("Récupération de {} produit(s) par IDs", ids.size());
+
+        return productRepository.findAllById(ids)
+                .stream()
+                .map(productMapper::toResponseDTO)
+                .map(this::withLedgerStock)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -144,11 +174,19 @@ public class ProductService {
 
     /**
      * Met à jour un produit existant.
+     *
+     * Le stock est réécrit en absolu : le produit sort du ledger en mémoire
+     * avant l'ouverture de la transaction (voir {@link StockLedger#evict}).
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ProductResponseDTO updateProduct(Long id, ProductRequestDTO requestDTO) {
         log.info("Mise à jour du produit avec l'ID: {}", id);
 
+        evictFromLedger(id);
+        return transactionTemplate.execute(status -> applyProductUpdate(id, requestDTO));
+    }
+
+    private ProductResponseDTO applyProductUpdate(Long id, ProductRequestDTO requestDTO) {
         // Vérifier que le produit existe
         Product existingProduct = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Produit", id));
@@ -158,12 +196,29 @@ public class ProductService {
             throw new ResourceAlreadyExistsException("Produit", "nom", requestDTO.getName());
         }
 
+        String previousName = existingProduct.getName();
+        BigDecimal previousPrice = existingProduct.getPrice();
+        Boolean previousActive = existingProduct.getActive();
+
         // Mettre à jour l'entité
         productMapper.updateEntityFromDTO(existingProduct, requestDTO);
 
+        // Nouvelle version de catalogue si nom, prix ou activation changent
+        boolean catalogChanged = !Objects.equals(previousName, existingProduct.getName())
+                || previousPrice == null || previousPrice.compareTo(existingProduct.getPrice()) != 0
+                || !Objects.equals(previousActive, existingProduct.getActive());
+        if (catalogChanged) {
+            existingProduct.setCatalogVersion(existingProduct.getCatalogVersion() + 1);
+        }
+
         // Sauvegarder
         Product updatedProduct = productRepository.save(existingProduct);
 
+        if (catalogChanged) {
+            eventPublisher.publishEvent(
+                    new ProductCatalogChangedEvent(id, updatedProduct.getCatalogVersion()));
+        }
+
         log.info("Produit mis à jour avec succès, ID: {}", id);
         return productMapper.toResponseDTO(updatedProduct);
     }
@@ -172,8 +227,11 @@ public class ProductService {
      * Supprime un produit.
      *
      * Note: Dans un contexte réel, vérifier si le produit est dans des commandes.
+     *
+     * Les vérifications (dont l'appel au service Order) et la sortie du ledger
+     * se font hors transaction ; seule la suppression est transactionnelle.
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void deleteProduct(Long id) {
         log.info("Suppression du produit avec l'ID: {}", id);
 
@@ -194,7 +252,11 @@ public class ProductService {
                     "Suppression impossible : le produit est déjà utilisé dans au moins une commande.");
         }
 
-        productRepository.deleteById(id);
+        evictFromLedger(id);
+        transactionTemplate.executeWithoutResult(status -> {
+            productRepository.deleteById(id);
+            eventPublisher.publishEvent(new ProductCatalogChangedEvent(id, Long.MAX_VALUE));
+        });
         log.info("Produit supprimé avec succès, ID: {}", id);
     }
 
@@ -243,47 +305,152 @@ public class ProductService {
 
     /**
      * Met à jour le stock d'un produit.
+     *
+     * La mise à jour est une requête UPDATE conditionnelle unique : le nombre
+     * de lignes modifiées décide du succès, sans charger l'entité au préalable.
+     * Un SET sort d'abord le produit du ledger, avant l'ouverture de la transaction.
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ProductResponseDTO updateStock(Long id, StockUpdateDTO stockUpdateDTO) {
         log.info("Mise à jour du stock du produit ID: {}, opération: {}, quantité: {}",
                 id, stockUpdateDTO.getOperation(), stockUpdateDTO.getQuantity());
 
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Produit", id));
+        if (isSet(stockUpdateDTO.getOperation())) {
+            evictFromLedger(id);
+        }
+
+        ProductResponseDTO response = transactionTemplate.execute(status -> {
+            applyStockOperation(id, stockUpdateDTO.getQuantity(), stockUpdateDTO.getOperation());
+
+            Product updatedProduct = productRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Produit", id));
+            return withLedgerStock(productMapper.toResponseDTO(updatedProduct));
+        });
+        log.info("Stock mis à jour avec succès. Nouveau stock: {}", response.getStock());
+        return response;
+    }
+
+    /**
+     * Met à jour le stock de plusieurs produits en une seule transaction.
+     *
+     * Chaque ligne est une requête UPDATE conditionnelle, appliquée par ID
+     * croissant pour que deux lots concurrents verrouillent les lignes dans le
+     * même ordre. Si une ligne échoue (produit absent, stock insuffisant),
+     * l'exception annule tout le lot ; les lignes servies par le ledger en
+     * mémoire ne sont journalisées qu'au commit, avec la clé d'idempotence.
+     * Les produits des lignes SET sortent du ledger avant la transaction.
+     *
+     * Les lignes portant une clé d'idempotence déjà appliquée sont ignorées
+     * (lot rejoué par le relais d'outbox) ; la réponse donne alors l'état
+     * courant des produits, comme pour la livraison d'origine.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ProductResponseDTO> updateStockBatch(StockBatchUpdateDTO batchDTO) {
+        List<StockBatchItemDTO> items = batchDTO.getItems();
+        log.info("Mise à jour groupée du stock: {} ligne(s)", items.size());
+
+        items.stream()
+                .filter(item -> isSet(item.getOperation()))
+                .map(StockBatchItemDTO::getProductId)
+                .distinct()
+                .forEach(this::evictFromLedger);
+
+        return transactionTemplate.execute(status -> applyStockBatch(items));
+    }
+
+    private List<ProductResponseDTO> applyStockBatch(List<StockBatchItemDTO> items) {
+        Set<String> keys = items.stream()
+                .map(StockBatchItemDTO::getIdempotencyKey)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<String> processed = stockRequestRegistry.register(keys);
 
-        int newStock;
-        StockUpdateDTO.StockOperation operation = stockUpdateDTO.getOperation();
+        Set<Long> ids = new LinkedHashSet<>();
+        items.forEach(item -> ids.add(item.getProductId()));
+        items.stream()
+                .filter(item -> item.getIdempotencyKey() == null || !processed.contains(item.getIdempotencyKey()))
+                .sorted(Comparator.comparing(StockBatchItemDTO::getProductId))
+                .forEach(item -> applyStockOperation(item.getProductId(), item.getQuantity(), item.getOperation()));
+
+        List<Product> updatedProducts = productRepository.findAllById(ids);
+
+        log.info("Stock mis à jour avec succès pour {} produit(s)", updatedProducts.size());
+        return updatedProducts.stream()
+                .map(productMapper::toResponseDTO)
+                .map(this::withLedgerStock)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Applique une opération de stock via une requête UPDATE atomique.
+     *
+     * Si aucune ligne n'est modifiée, on relit le produit uniquement pour
+     * distinguer "produit absent" de "stock insuffisant".
+     *
+     * Lorsque le ledger est actif, ADD/SUBTRACT sur un produit chaud sont servis
+     * en mémoire (journalisés au commit, libérés si la transaction est annulée) ;
+     * un SET suppose le produit déjà sorti du ledger.
+     */
+    private void applyStockOperation(Long id, Integer quantity, StockUpdateDTO.StockOperation operation) {
         if (operation == null) {
             operation = StockUpdateDTO.StockOperation.SET; // Par défaut
         }
 
+        if (stockLedger != null && operation != StockUpdateDTO.StockOperation.SET) {
+            long delta = operation == StockUpdateDTO.StockOperation.ADD ? quantity : -quantity;
+            if (stockLedger.apply(id, delta).isPresent()) {
+                return;
+            }
+            stockLedger.recordAccess(id);
+        }
+
+        int updatedRows;
         switch (operation) {
             case ADD:
-                newStock = product.getStock() + stockUpdateDTO.getQuantity();
+                updatedRows = productRepository.incrementStock(id, quantity);
                 break;
             case SUBTRACT:
-                newStock = product.getStock() - stockUpdateDTO.getQuantity();
-                if (newStock < 0) {
-                    throw new InsufficientStockException(id,
-                            stockUpdateDTO.getQuantity(), product.getStock());
-                }
+                updatedRows = productRepository.decrementStock(id, quantity);
                 break;
             case SET:
-                newStock = stockUpdateDTO.getQuantity();
-                if (newStock < 0) {
+                if (quantity < 0) {
                     throw new IllegalArgumentException("Le stock ne peut pas être négatif");
                 }
+                updatedRows = productRepository.setStock(id, quantity);
                 break;
             default:
                 throw new IllegalArgumentException("Opération de stock invalide");
         }
 
-        product.setStock(newStock);
-        Product updatedProduct = productRepository.save(product);
+        if (updatedRows == 0) {
+            Product product = productRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Produit", id));
+            throw new InsufficientStockException(id, quantity, product.getStock());
+        }
+    }
 
-        log.info("Stock mis à jour avec succès. Nouveau stock: {}", newStock);
-        return productMapper.toResponseDTO(updatedProduct);
+    private static boolean isSet(StockUpdateDTO.StockOperation operation) {
+        return operation == null || operation == StockUpdateDTO.StockOperation.SET;
+    }
+
+    /**
+     * Remplace le stock lu en base par le stock en mémoire pour un produit chaud
+     * (la base n'est à jour qu'au prochain flush du ledger).
+     */
+    private ProductResponseDTO withLedgerStock(ProductResponseDTO dto) {
+        if (stockLedger != null) {
+            OptionalLong stock = stockLedger.currentStock(dto.getId());
+            if (stock.isPresent()) {
+                dto.setStock((int) stock.getAsLong());
+            }
+        }
+        return dto;
+    }
+
+    private void evictFromLedger(Long id) {
+        if (stockLedger != null) {
+            stockLedger.evict(id);
+        }
     }
 
     /**
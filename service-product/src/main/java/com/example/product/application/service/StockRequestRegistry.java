@@ -0,0 +1,95 @@
+package com.example.product.application.service;
+
+import com.example.product.domain.repository.ProcessedStockRequestRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Clés d'idempotence des mises à jour de stock groupées.
+ *
+ * Le relais d'outbox du service Order livre "au moins une fois" : un lot
+ * appliqué dont la réponse s'est perdue est renvoyé avec les mêmes clés
+ * (une par événement). Les clés sont enregistrées dans la transaction des
+ * mouvements de stock ; les lignes d'une clé déjà enregistrée sont ignorées.
+ * Une clé est conservée {@code app.stock.idempotency.retention-hours}, bien
+ * au-delà du délai maximal de nouvel essai du relais.
+ *
+ * Métrique : stock_batch_replayed_keys_total.
+ */
+@Slf4j
+@Component
+public class StockRequestRegistry {
+
+    private final ProcessedStockRequestRepository processedStockRequestRepository;
+    private final Duration retention;
+    private final Clock clock;
+
+    private final Counter replayedCounter;
+
+    @Autowired
+    public StockRequestRegistry(
+            ProcessedStockRequestRepository processedStockRequestRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.stock.idempotency.retention-hours:168}") long retentionHours
+    ) {
+        this(processedStockRequestRepository, meterRegistry, retentionHours, Clock.systemDefaultZone());
+    }
+
+    StockRequestRegistry(ProcessedStockRequestRepository processedStockRequestRepository, MeterRegistry meterRegistry,
+                         long retentionHours, Clock clock) {
+        this.processedStockRequestRepository = processedStockRequestRepository;
+        this.retention = Duration.ofHours(retentionHours);
+        this.clock = clock;
+
+        this.replayedCounter = Counter.builder("stock_batch_replayed_keys_total")
+                .description("Clés d'idempotence déjà appliquées reçues à nouveau (lignes ignorées)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Enregistre les clés pas encore vues, dans la transaction courante.
+     *
+     * @return les clés déjà appliquées, dont les lignes ne doivent pas être rejouées
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Set<String> register(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> processed = processedStockRequestRepository.findProcessedKeys(keys);
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (String key : keys) {
+            if (!processed.contains(key)) {
+                processedStockRequestRepository.insert(key, now);
+            }
+        }
+        if (!processed.isEmpty()) {
+            replayedCounter.increment(processed.size());
+            log.warn("Mise à jour de stock déjà appliquée, lignes ignorées pour: {}", processed);
+        }
+        return processed;
+    }
+
+    @Scheduled(fixedDelayString = "${app.stock.idempotency.purge-interval-ms:3600000}",
+            initialDelayString = "${app.stock.idempotency.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = processedStockRequestRepository.deleteProcessedBefore(LocalDateTime.now(clock).minus(retention));
+        if (deleted > 0) {
+            log.info("Clés d'idempotence de stock expirées supprimées: {}", deleted);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.product.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Clé d'idempotence d'une mise à jour de stock déjà appliquée.
+ *
+ * Enregistrée dans la même transaction que les mouvements de stock : une
+ * requête rejouée avec la même clé n'est pas appliquée une seconde fois.
+ */
+@Entity
+@Table(name = "processed_stock_requests")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProcessedStockRequest {
+
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+}
@@ -23,7 +23,11 @@ import java.time.LocalDateTime;
  * - Enum pour les catégories (type-safe)
  */
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_category", columnList = "category"),
+        @Index(name = "idx_products_stock_active", columnList = "stock, active"),
+        @Index(name = "idx_products_name", columnList = "name")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -68,6 +72,15 @@ public class Product {
     @Builder.Default
     private Boolean active = true;
 
+    /**
+     * Version des informations de catalogue (nom, prix, activation), incrémentée
+     * à chaque changement. Permet aux caches des autres services d'ignorer une
+     * copie plus ancienne qu'une invalidation reçue. Le stock n'en fait pas partie.
+     */
+    @Column(name = "catalog_version", nullable = false)
+    @Builder.Default
+    private Long catalogVersion = 0L;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,33 @@
+package com.example.product.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Point de reprise du ledger de stock en mémoire.
+ *
+ * Mémorise la dernière séquence du journal dont les mouvements ont été
+ * appliqués à la table products. Mis à jour dans la même transaction que
+ * le flush, il permet de rejouer au démarrage uniquement les mouvements
+ * non encore appliqués (exactement une fois).
+ */
+@Entity
+@Table(name = "stock_ledger_checkpoint")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockLedgerCheckpoint {
+
+    @Id
+    private Long id;
+
+    @Column(name = "last_sequence", nullable = false)
+    private Long lastSequence;
+}
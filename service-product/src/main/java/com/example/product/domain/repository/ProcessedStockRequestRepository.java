@@ -0,0 +1,37 @@
+package com.example.product.domain.repository;
+
+import com.example.product.domain.entity.ProcessedStockRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Repository des clés d'idempotence des mises à jour de stock.
+ */
+@Repository
+public interface ProcessedStockRequestRepository extends JpaRepository<ProcessedStockRequest, String> {
+
+    /**
+     * Clés déjà appliquées parmi celles fournies.
+     */
+    @Query("SELECT r.idempotencyKey FROM ProcessedStockRequest r WHERE r.idempotencyKey IN :keys")
+    Set<String> findProcessedKeys(Collection<String> keys);
+
+    /**
+     * Insertion directe (pas de merge) : une livraison concurrente de la même
+     * clé attend le verrou de la clé primaire puis échoue.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO processed_stock_requests (idempotency_key, processed_at) VALUES (:key, :processedAt)",
+            nativeQuery = true)
+    int insert(String key, LocalDateTime processedAt);
+
+    @Modifying
+    @Query("DELETE FROM ProcessedStockRequest r WHERE r.processedAt < :before")
+    int deleteProcessedBefore(LocalDateTime before);
+}
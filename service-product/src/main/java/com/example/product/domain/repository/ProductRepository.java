@@ -3,6 +3,8 @@ package com.example.product.domain.repository;
 import com.example.product.domain.entity.Product;
 import com.example.product.domain.entity.Product.ProductCategory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -75,6 +77,24 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      */
     long countByStockAndActiveTrue(Integer stock);
 
+    /**
+     * Statistiques de stock par catégorie, en une seule requête :
+     * nombre de produits, produits actifs en rupture, produits en stock bas.
+     * Utilisé pour les métriques et le health check.
+     *
+     * @param threshold Le seuil de stock bas
+     * @return Une ligne par catégorie présente en base
+     */
+    @Query("""
+            SELECT p.category AS category,
+                   COUNT(p) AS total,
+                   SUM(CASE WHEN p.stock = 0 AND p.active = true THEN 1 ELSE 0 END) AS outOfStock,
+                   SUM(CASE WHEN p.stock < :threshold THEN 1 ELSE 0 END) AS lowStock
+            FROM Product p
+            GROUP BY p.category
+            """)
+    List<CategoryStockStats> aggregateStockByCategory(int threshold);
+
     /**
      * Vérifie si un produit avec ce nom existe déjà.
      *
@@ -92,4 +112,53 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * @return true si le produit existe
      */
     boolean existsByNameAndIdNot(String name, Long id);
-}
\ No newline at end of file
+
+    /**
+     * Décrémente le stock en une seule requête, uniquement si le stock est suffisant.
+     * Évite la lecture-modification-écriture (pas de perte de mise à jour ni de survente).
+     *
+     * @param id       L'ID du produit
+     * @param quantity La quantité à retirer
+     * @return 1 si le stock a été décrémenté, 0 si produit absent ou stock insuffisant
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stock = p.stock - :quantity, p.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE p.id = :id AND p.stock >= :quantity")
+    int decrementStock(Long id, Integer quantity);
+
+    /**
+     * Incrémente le stock en une seule requête.
+     *
+     * @param id       L'ID du produit
+     * @param quantity La quantité à ajouter
+     * @return 1 si le stock a été incrémenté, 0 si produit absent
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stock = p.stock + :quantity, p.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE p.id = :id")
+    int incrementStock(Long id, Integer quantity);
+
+    /**
+     * Définit le stock en une seule requête.
+     *
+     * @param id    L'ID du produit
+     * @param stock La nouvelle valeur absolue du stock
+     * @return 1 si le stock a été modifié, 0 si produit absent
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stock = :stock, p.updatedAt = CURRENT_TIMESTAMP WHERE p.id = :id")
+    int setStock(Long id, Integer stock);
+
+    /**
+     * Projection de {@link #aggregateStockByCategory(int)}.
+     */
+    interface CategoryStockStats {
+        ProductCategory getCategory();
+
+        long getTotal();
+
+        long getOutOfStock();
+
+        long getLowStock();
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.product.domain.repository;
+
+import com.example.product.domain.entity.StockLedgerCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository pour le point de reprise du ledger de stock.
+ */
+@Repository
+public interface StockLedgerCheckpointRepository extends JpaRepository<StockLedgerCheckpoint, Long> {
+}
@@ -0,0 +1,96 @@
+package com.example.product.infrastructure.client;
+
+import com.example.product.application.event.ProductCatalogChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Notifie le service Order qu'un produit a changé (prix, nom, activation),
+ * pour qu'il retire sa copie en cache.
+ *
+ * L'appel est fait après le commit et hors du thread de la requête. Un échec
+ * est seulement journalisé : la durée de vie des copies côté Order borne
+ * alors le délai de prise en compte.
+ *
+ * L'endpoint interne d'Order exige le secret inter-services ({@code app.internal.token}).
+ */
+@Slf4j
+@Component
+public class ProductSnapshotNotifier {
+
+    private final RestTemplate restTemplate;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final boolean enabled;
+    private final HttpEntity<Void> authenticated;
+
+    @Value("${services.order.url:http://localhost:8083}")
+    private String orderServiceUrl;
+
+    // --- MÉTRIQUES ---
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+
+    public ProductSnapshotNotifier(
+            RestTemplate restTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.catalog.notify-enabled:true}") boolean enabled,
+            @Value("${app.internal.token:}") String internalToken
+    ) {
+        this.restTemplate = restTemplate;
+        this.enabled = enabled;
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Internal-Token", internalToken);
+        this.authenticated = new HttpEntity<>(headers);
+
+        this.sentCounter = Counter.builder("products_snapshot_invalidations_total")
+                .tag("result", "sent")
+                .description("Invalidations de produit envoyées au service Order")
+                .register(meterRegistry);
+
+        this.failedCounter = Counter.builder("products_snapshot_invalidations_total")
+                .tag("result", "failed")
+                .description("Invalidations de produit en échec")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCatalogChanged(ProductCatalogChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        executor.execute(() -> notifyOrderService(event));
+    }
+
+    void notifyOrderService(ProductCatalogChangedEvent event) {
+        try {
+            restTemplate.exchange(orderServiceUrl + "/api/v1/internal/products/{id}/snapshot?version={version}",
+                    HttpMethod.DELETE, authenticated, Void.class, event.getProductId(), event.getCatalogVersion());
+            sentCounter.increment();
+            log.debug("Service Order notifié : produit ID={} version {}",
+                    event.getProductId(), event.getCatalogVersion());
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.warn("Notification du service Order impossible pour le produit ID={}: {}",
+                    event.getProductId(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
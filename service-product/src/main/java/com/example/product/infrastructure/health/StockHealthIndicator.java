@@ -1,6 +1,6 @@
 package com.example.product.infrastructure.health;
 
-import com.example.product.application.service.ProductService;
+import com.example.product.application.service.CatalogStatistics;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
@@ -12,6 +12,9 @@ import org.springframework.stereotype.Component;
  * Vérifie le nombre de produits avec un stock bas (< 5).
  * - UP : Si moins de 10 produits ont un stock bas
  * - DOWN : Si 10 produits ou plus ont un stock bas (alerte critique)
+ * - UNKNOWN : Si les statistiques du catalogue n'ont pas encore pu être calculées
+ *
+ * Lit le dernier instantané de {@link CatalogStatistics} (aucune requête SQL par sonde).
  *
  * Accessible via : GET /actuator/health
  */
@@ -19,32 +22,42 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class StockHealthIndicator implements HealthIndicator {
 
-    private final ProductService productService;
+    private final CatalogStatistics catalogStatistics;
 
-    private static final int LOW_STOCK_THRESHOLD = 5;
+    private static final int LOW_STOCK_THRESHOLD = CatalogStatistics.LOW_STOCK_THRESHOLD;
     private static final int CRITICAL_LOW_STOCK_COUNT = 10;
 
     @Override
     public Health health() {
         try {
-            long lowStockCount = productService.countLowStockProducts();
+            CatalogStatistics.Snapshot snapshot = catalogStatistics.snapshot();
+            if (snapshot.computedAt() == null) {
+                return Health.unknown()
+                        .withDetail("status", "Statistiques du catalogue pas encore calculées")
+                        .build();
+            }
+
+            long lowStockCount = snapshot.lowStock();
 
             if (lowStockCount >= CRITICAL_LOW_STOCK_COUNT) {
                 return Health.down()
                         .withDetail("lowStockProducts", lowStockCount)
                         .withDetail("threshold", LOW_STOCK_THRESHOLD)
                         .withDetail("status", "CRITICAL - Réapprovisionnement urgent nécessaire")
+                        .withDetail("computedAt", snapshot.computedAt())
                         .build();
             } else if (lowStockCount > 0) {
                 return Health.up()
                         .withDetail("lowStockProducts", lowStockCount)
                         .withDetail("threshold", LOW_STOCK_THRESHOLD)
                         .withDetail("status", "WARNING - Certains produits ont un stock bas")
+                        .withDetail("computedAt", snapshot.computedAt())
                         .build();
             } else {
                 return Health.up()
                         .withDetail("lowStockProducts", 0)
                         .withDetail("status", "OK - Tous les stocks sont suffisants")
+                        .withDetail("computedAt", snapshot.computedAt())
                         .build();
             }
         } catch (Exception e) {
@@ -0,0 +1,75 @@
+package com.example.product.infrastructure.security.jwt;
+
+import java.util.Collection;
+
+/**
+ * Filtre de Bloom immuable sur des chaînes : « absent » est certain, « présent »
+ * est à confirmer (environ 1 % de faux positifs).
+ *
+ * Sert de chemin rapide à {@link TokenRevocationList} : le cas courant (utilisateur
+ * non révoqué) coûte quelques lectures de bits, sans allocation ni accès à la table.
+ */
+final class BloomFilter {
+
+    private static final int BITS_PER_ENTRY = 10;
+    private static final int HASHES = 7;
+
+    static final BloomFilter EMPTY = new BloomFilter(new long[1]);
+
+    private final long[] bits;
+    private final int mask;
+
+    private BloomFilter(long[] bits) {
+        this.bits = bits;
+        this.mask = bits.length * Long.SIZE - 1;
+    }
+
+    static BloomFilter of(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return EMPTY;
+        }
+        // Taille en puissance de deux : l'index d'un bit est un simple masque
+        int bitCount = Math.max(Long.SIZE, Integer.highestOneBit(keys.size() * BITS_PER_ENTRY - 1) << 1);
+        BloomFilter filter = new BloomFilter(new long[bitCount / Long.SIZE]);
+        keys.forEach(filter::add);
+        return filter;
+    }
+
+    boolean mightContain(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;   // impair : sondes distinctes modulo une puissance de deux
+        for (int i = 0; i < HASHES; i++) {
+            int index = (h1 + i * h2) & mask;
+            if ((bits[index >>> 6] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            int index = (h1 + i * h2) & mask;
+            bits[index >>> 6] |= 1L << index;
+        }
+    }
+
+    /**
+     * FNV-1a 64 bits suivi du mélange final de SplitMix64 (bits bien répartis
+     * même pour des identifiants numériques courts).
+     */
+    private static long hash64(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -0,0 +1,265 @@
+package com.example.product.infrastructure.security.jwt;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.UnsupportedKeyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Clés de vérification des JWT, choisies par le {@code kid} de l'en-tête.
+ *
+ * Les clés publiques sont récupérées depuis le JWKS du service Membership
+ * ({@code app.jwt.jwks-uri}) et tenues en mémoire : la vérification d'un token
+ * ne fait aucun appel réseau. Le JWKS est relu en tâche de fond à intervalle
+ * fixe, et dès qu'un token présente un {@code kid} inconnu (rotation de clé) :
+ * un seul rafraîchissement à la fois, au plus un par intervalle minimal, la
+ * requête concernée l'attendant au plus {@code unknown-kid-wait-ms}.
+ *
+ * Les tokens sans {@code kid} (émis avant la rotation par JWKS) sont vérifiés
+ * avec la clé publique statique {@code app.jwt.public-key-path}, si elle est configurée.
+ *
+ * Métriques : jwt_jwks_refresh_total{result=success|failure}, jwt_jwks_keys.
+ */
+@Slf4j
+@Component
+public class JwksKeyLocator extends LocatorAdapter<Key> {
+
+    private static final String[] KEY_ALGORITHMS = {"RSA", "EC", "EdDSA"};
+
+    private final RestTemplate restTemplate;
+    private final ResourceLoader resourceLoader;
+    private final String jwksUri;
+    private final String publicKeyPath;
+    private final long minRefreshIntervalNanos;
+    private final long unknownKidWaitMs;
+
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "jwks-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicReference<CompletableFuture<Map<String, Key>>> inFlight = new AtomicReference<>();
+    private volatile long lastRefreshStartedAt;
+
+    private volatile Map<String, Key> keysById = Map.of();
+    private PublicKey staticKey;
+
+    private final Counter refreshSuccessCounter;
+    private final Counter refreshFailureCounter;
+
+    public JwksKeyLocator(
+            RestTemplate restTemplate,
+            ResourceLoader resourceLoader,
+            MeterRegistry meterRegistry,
+            @Value("${app.jwt.jwks-uri:}") String jwksUri,
+            @Value("${app.jwt.public-key-path:}") String publicKeyPath,
+            @Value("${app.jwt.jwks.min-refresh-interval-ms:10000}") long minRefreshIntervalMs,
+            @Value("${app.jwt.jwks.unknown-kid-wait-ms:2000}") long unknownKidWaitMs
+    ) {
+        this.restTemplate = restTemplate;
+        this.resourceLoader = resourceLoader;
+        this.jwksUri = jwksUri;
+        this.publicKeyPath = publicKeyPath;
+        this.minRefreshIntervalNanos = TimeUnit.MILLISECONDS.toNanos(minRefreshIntervalMs);
+        this.unknownKidWaitMs = unknownKidWaitMs;
+        this.lastRefreshStartedAt = System.nanoTime() - minRefreshIntervalNanos;
+
+        this.refreshSuccessCounter = Counter.builder("jwt_jwks_refresh_total")
+                .tag("result", "success")
+                .description("Récupérations du JWKS du service Membership réussies")
+                .register(meterRegistry);
+
+        this.refreshFailureCounter = Counter.builder("jwt_jwks_refresh_total")
+                .tag("result", "failure")
+                .description("Récupérations du JWKS du service Membership en échec")
+                .register(meterRegistry);
+
+        Gauge.builder("jwt_jwks_keys", this, locator -> locator.keysById.size())
+                .description("Clés publiques JWT connues (JWKS)")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!publicKeyPath.isBlank()) {
+            staticKey = loadStaticKey();
+            log.info("Clé publique statique chargée ({}) pour les tokens sans kid", staticKey.getAlgorithm());
+        }
+        if (!jwksUri.isBlank()) {
+            // Membership indisponible au démarrage : le JWKS sera récupéré au premier kid inconnu
+            refresh();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            if (staticKey == null) {
+                throw new UnsupportedKeyException("Token sans kid et aucune clé publique statique configurée");
+            }
+            return staticKey;
+        }
+
+        Key key = keysById.get(kid);
+        if (key == null) {
+            key = awaitRefreshFor(kid);
+        }
+        if (key == null) {
+            throw new UnsupportedKeyException("Clé de signature inconnue (kid=" + kid + ")");
+        }
+        return key;
+    }
+
+    /**
+     * Relit le JWKS ; en cas d'échec, les clés connues sont conservées.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.jwks.refresh-interval-ms:300000}",
+            initialDelayString = "${app.jwt.jwks.refresh-interval-ms:300000}")
+    public void refresh() {
+        if (jwksUri.isBlank()) {
+            return;
+        }
+        try {
+            fetchKeys();
+        } catch (RuntimeException e) {
+            log.warn("Récupération du JWKS impossible ({}), clés connues conservées: {}", jwksUri, e.getMessage());
+        }
+    }
+
+    /**
+     * Attend le rafraîchissement en cours (ou en lance un) pour un kid inconnu.
+     *
+     * @return la clé, ou null si toujours inconnue, si le JWKS vient d'être relu ou en cas d'échec
+     */
+    private Key awaitRefreshFor(String kid) {
+        CompletableFuture<Map<String, Key>> refresh = refreshAsync();
+        if (refresh == null) {
+            return null;
+        }
+        try {
+            return refresh.get(unknownKidWaitMs, TimeUnit.MILLISECONDS).get(kid);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    private CompletableFuture<Map<String, Key>> refreshAsync() {
+        if (jwksUri.isBlank()) {
+            return null;
+        }
+        CompletableFuture<Map<String, Key>> running = inFlight.get();
+        if (running != null) {
+            return running;
+        }
+        long now = System.nanoTime();
+        if (now - lastRefreshStartedAt < minRefreshIntervalNanos) {
+            return null;
+        }
+
+        CompletableFuture<Map<String, Key>> created = new CompletableFuture<>();
+        if (!inFlight.compareAndSet(null, created)) {
+            return inFlight.get();
+        }
+        lastRefreshStartedAt = now;
+        log.info("kid JWT inconnu : rafraîchissement du JWKS");
+        refreshExecutor.execute(() -> {
+            try {
+                Map<String, Key> keys = fetchKeys();
+                inFlight.set(null);
+                created.complete(keys);
+            } catch (RuntimeException e) {
+                log.warn("Récupération du JWKS impossible ({}): {}", jwksUri, e.getMessage());
+                inFlight.set(null);
+                created.completeExceptionally(e);
+            }
+        });
+        return created;
+    }
+
+    private Map<String, Key> fetchKeys() {
+        try {
+            String json = restTemplate.getForObject(jwksUri, String.class);
+            JwkSet jwkSet = Jwks.setParser().build().parse(json);
+
+            Map<String, Key> keys = new HashMap<>();
+            for (Jwk<?> jwk : jwkSet) {
+                if (jwk instanceof PublicJwk<?> publicJwk && publicJwk.getId() != null) {
+                    keys.put(publicJwk.getId(), publicJwk.toKey());
+                }
+            }
+
+            lastRefreshStartedAt = System.nanoTime();
+            keysById = Map.copyOf(keys);
+            refreshSuccessCounter.increment();
+            log.debug("JWKS récupéré: kids={}", keys.keySet());
+            return keysById;
+        } catch (RuntimeException e) {
+            refreshFailureCounter.increment();
+            throw e;
+        }
+    }
+
+    private PublicKey loadStaticKey() {
+        try {
+            Resource resource = resourceLoader.getResource(publicKeyPath);
+
+            String key = new String(resource.getInputStream().readAllBytes())
+                    .replace("-----BEGIN PUBLIC KEY-----", "")
+                    .replace("-----END PUBLIC KEY-----", "")
+                    .replaceAll("\\s+", "");
+
+            X509EncodedKeySpec spec = new X509EncodedKeySpec(Base64.getDecoder().decode(key));
+            for (String algorithm : KEY_ALGORITHMS) {
+                try {
+                    return KeyFactory.getInstance(algorithm).generatePublic(spec);
+                } catch (InvalidKeySpecException ignored) {
+                    // type de clé suivant
+                }
+            }
+            throw new IllegalStateException("Type de clé publique non supporté (RSA, EC ou EdDSA)");
+
+        } catch (Exception e) {
+            throw new RuntimeException("Erreur chargement clé publique", e);
+        }
+    }
+}
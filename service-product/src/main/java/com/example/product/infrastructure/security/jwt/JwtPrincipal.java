@@ -0,0 +1,36 @@
+package com.example.product.infrastructure.security.jwt;
+
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Utilisateur authentifié, extrait une seule fois d'un JWT dont la signature a été vérifiée.
+ *
+ * Posé comme principal de l'Authentication par {@link JwtAuthenticationFilter} :
+ * {@code authentication.getName()} reste l'identifiant de l'utilisateur.
+ *
+ * @param userId    sujet du token
+ * @param email     email de l'utilisateur (claim "email", peut être null)
+ * @param role      rôle (claim "roles")
+ * @param issuedAt  date d'émission (claim "iat", peut être null), comparée aux révocations
+ * @param expiresAt expiration du token
+ */
+public record JwtPrincipal(String userId, String email, String role, Instant issuedAt, Instant expiresAt)
+        implements Principal {
+
+    @Override
+    public String getName() {
+        return userId;
+    }
+
+    public boolean isExpired() {
+        return expiresAt.isBefore(Instant.now());
+    }
+
+    public List<SimpleGrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+}
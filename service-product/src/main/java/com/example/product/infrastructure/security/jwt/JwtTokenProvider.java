@@ -1,79 +1,157 @@
 package com.example.product.infrastructure.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Component;
 
-import java.security.KeyFactory;
-import java.security.PublicKey;
-import java.security.spec.X509EncodedKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
-import java.util.Date;
-
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vérification des JWT émis par le service Membership.
+ *
+ * Le parser est construit une seule fois au démarrage et partagé : il est
+ * immuable et thread-safe. La clé de vérification est choisie par le kid du
+ * token ({@link JwksKeyLocator}). Chaque token est parsé une seule
+ * fois en un {@link JwtPrincipal}.
+ *
+ * Les principals des tokens dont la signature a été vérifiée sont mémorisés,
+ * indexés par l'empreinte SHA-256 du token (le token lui-même n'est pas
+ * conservé) et jusqu'à son expiration : un client qui réutilise son token
+ * ne paie qu'une vérification de signature par durée de vie du token. Un token
+ * invalide n'est jamais mémorisé.
+ *
+ * Métriques Prometheus : jwt_verifications_total{result=valid|invalid},
+ * jwt_claims_cache_hit_ratio, cache_gets_total{cache="jwtVerifiedClaims",result=hit|miss}.
+ */
 @Component
 @Slf4j
 public class JwtTokenProvider {
 
-    @Value("${app.jwt.public-key-path}")
-    private String publicKeyPath;
-
-    private final ResourceLoader resourceLoader;
-    private PublicKey publicKey;
-
-    public JwtTokenProvider(ResourceLoader resourceLoader) {
-        this.resourceLoader = resourceLoader;
+    static final String CACHE_NAME = "jwtVerifiedClaims";
+
+    private final JwksKeyLocator keyLocator;
+    private JwtParser jwtParser;
+
+    private final Cache<String, JwtPrincipal> verifiedClaims;
+    private final Counter validCounter;
+    private final Counter invalidCounter;
+
+    public JwtTokenProvider(
+            JwksKeyLocator keyLocator,
+            MeterRegistry meterRegistry,
+            @Value("${app.jwt.claims-cache.max-size:10000}") long claimsCacheMaxSize
+    ) {
+        this.keyLocator = keyLocator;
+
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedClaims, CACHE_NAME);
+
+        Gauge.builder("jwt_claims_cache_hit_ratio", verifiedClaims, cache -> cache.stats().hitRate())
+                .description("Part des requêtes authentifiées servies sans vérification de signature")
+                .register(meterRegistry);
+
+        this.validCounter = Counter.builder("jwt_verifications_total")
+                .tag("result", "valid")
+                .description("Vérifications de signature JWT réussies")
+                .register(meterRegistry);
+
+        this.invalidCounter = Counter.builder("jwt_verifications_total")
+                .tag("result", "invalid")
+                .description("Tokens JWT rejetés (signature, format ou expiration)")
+                .register(meterRegistry);
     }
 
     @PostConstruct
     public void init() {
-        try {
-            Resource resource = resourceLoader.getResource(publicKeyPath);
-
-            String key = new String(resource.getInputStream().readAllBytes())
-                    .replace("-----BEGIN PUBLIC KEY-----", "")
-                    .replace("-----END PUBLIC KEY-----", "")
-                    .replaceAll("\\s+", "");
+        this.jwtParser = Jwts.parser()
+                .keyLocator(keyLocator)
+                .build();
 
-            byte[] decoded = Base64.getDecoder().decode(key);
-            X509EncodedKeySpec spec = new X509EncodedKeySpec(decoded);
-            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
-
-            this.publicKey = keyFactory.generatePublic(spec);
+        log.info("Parser JWT initialisé, clés de vérification par kid");
+    }
 
-            log.info("Clé publique RSA chargée (PRODUCT)");
+    /**
+     * Utilisateur porté par le token, vérifié au premier passage puis servi depuis le cache.
+     *
+     * @throws JwtException si la signature est invalide, le token expiré ou sans expiration
+     */
+    public JwtPrincipal authenticate(String token) {
+        return verifiedClaims.get(fingerprint(token), key -> parse(token));
+    }
 
-        } catch (Exception e) {
-            throw new RuntimeException("Erreur chargement clé publique", e);
+    /**
+     * Vérifie la signature et extrait le principal, sans passer par le cache.
+     */
+    JwtPrincipal parse(String token) {
+        try {
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            if (claims.getExpiration() == null) {
+                throw new MalformedJwtException("Token sans expiration");
+            }
+            JwtPrincipal principal = new JwtPrincipal(
+                    claims.getSubject(),
+                    claims.get("email", String.class),
+                    claims.get("roles", String.class),
+                    claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                    claims.getExpiration().toInstant()
+            );
+            validCounter.increment();
+            return principal;
+        } catch (JwtException | IllegalArgumentException e) {
+            invalidCounter.increment();
+            throw e;
         }
     }
 
-    public Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(publicKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private static String fingerprint(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
     }
 
-    public boolean isExpired(String token) {
-        return getClaims(token).getExpiration().before(new Date());
-    }
+    /**
+     * Une entrée expire avec son token.
+     */
+    private static final class UntilTokenExpiry implements Expiry<String, JwtPrincipal> {
 
-    public String getUserId(String token) {
-        return getClaims(token).getSubject();
-    }
-    public String getRole(String token) {
-        return Jwts.parser()
-                .verifyWith(publicKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .get("roles", String.class);
-    }
+        @Override
+        public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+            long remainingMs = principal.expiresAt().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+        }
 
+        @Override
+        public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
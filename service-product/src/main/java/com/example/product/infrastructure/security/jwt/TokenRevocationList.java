@@ -0,0 +1,191 @@
+package com.example.product.infrastructure.security.jwt;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Révocations d'access tokens publiées par le service Membership (utilisateurs
+ * désactivés ou supprimés) : un token de l'utilisateur émis avant la révocation
+ * est refusé.
+ *
+ * Le flux ({@code app.jwt.revocations-uri}) est relu en tâche de fond à partir
+ * du dernier curseur : seules les nouvelles révocations transitent. La
+ * vérification par requête se fait en mémoire : filtre de Bloom d'abord (cas
+ * courant, utilisateur non révoqué, sans allocation), puis table exacte pour
+ * confirmer. Les deux sont remplacés ensemble à chaque relecture.
+ *
+ * Membership indisponible : les révocations connues restent appliquées.
+ * Le flux exige le secret inter-services ({@code app.internal.token}).
+ *
+ * Métriques : jwt_revocations_refresh_total{result=success|failure},
+ * jwt_revocations_entries, jwt_revoked_tokens_rejected_total.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    /**
+     * Page du flux de révocations (GET /api/v1/auth/revocations?since=...).
+     */
+    record RevocationFeed(long latestId, long nextCursor, boolean hasMore, List<Entry> revocations) {
+
+        record Entry(long id, String userId, long revokedAt, long expiresAt) {
+        }
+    }
+
+    private record Revocation(Instant revokedAt, Instant expiresAt) {
+    }
+
+    private record Snapshot(Map<String, Revocation> entries, BloomFilter filter) {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), BloomFilter.EMPTY);
+    }
+
+    private final RestTemplate restTemplate;
+    private final String revocationsUri;
+    private final HttpEntity<Void> authenticated;
+    private final Clock clock;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private long cursor;
+
+    private final Counter refreshSuccessCounter;
+    private final Counter refreshFailureCounter;
+    private final Counter rejectedCounter;
+
+    @Autowired
+    public TokenRevocationList(
+            RestTemplate restTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.jwt.revocations-uri:}") String revocationsUri,
+            @Value("${app.internal.token:}") String internalToken
+    ) {
+        this(restTemplate, meterRegistry, revocationsUri, internalToken, Clock.systemUTC());
+    }
+
+    TokenRevocationList(RestTemplate restTemplate, MeterRegistry meterRegistry, String revocationsUri,
+                        String internalToken, Clock clock) {
+        this.restTemplate = restTemplate;
+        this.revocationsUri = revocationsUri;
+        this.clock = clock;
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Internal-Token", internalToken);
+        this.authenticated = new HttpEntity<>(headers);
+
+        this.refreshSuccessCounter = Counter.builder("jwt_revocations_refresh_total")
+                .tag("result", "success")
+                .description("Lectures du flux de révocations du service Membership réussies")
+                .register(meterRegistry);
+
+        this.refreshFailureCounter = Counter.builder("jwt_revocations_refresh_total")
+                .tag("result", "failure")
+                .description("Lectures du flux de révocations du service Membership en échec")
+                .register(meterRegistry);
+
+        this.rejectedCounter = Counter.builder("jwt_revoked_tokens_rejected_total")
+                .description("Requêtes refusées : token émis avant la révocation de l'utilisateur")
+                .register(meterRegistry);
+
+        Gauge.builder("jwt_revocations_entries", this, list -> list.snapshot.entries().size())
+                .description("Utilisateurs dont les tokens sont révoqués (en mémoire)")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        // Membership indisponible au démarrage : le flux sera relu à l'intervalle suivant
+        refresh();
+    }
+
+    /**
+     * Le token a-t-il été émis avant la révocation de son utilisateur ?
+     */
+    public boolean isRevoked(JwtPrincipal principal) {
+        Snapshot current = snapshot;
+        String userId = principal.userId();
+        if (userId == null || !current.filter().mightContain(userId)) {
+            return false;
+        }
+        Revocation revocation = current.entries().get(userId);
+        if (revocation == null) {
+            return false;
+        }
+        // Token sans date d'émission : révoqué par prudence
+        boolean revoked = principal.issuedAt() == null || !principal.issuedAt().isAfter(revocation.revokedAt());
+        if (revoked) {
+            rejectedCounter.increment();
+        }
+        return revoked;
+    }
+
+    /**
+     * Lit les révocations postérieures au curseur ; en cas d'échec, les révocations connues sont conservées.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.revocations.refresh-interval-ms:5000}",
+            initialDelayString = "${app.jwt.revocations.refresh-interval-ms:5000}")
+    public synchronized void refresh() {
+        if (revocationsUri.isBlank()) {
+            return;
+        }
+        try {
+            Map<String, Revocation> entries = new HashMap<>(snapshot.entries());
+            long since = cursor;
+            boolean more = true;
+            while (more) {
+                RevocationFeed feed = restTemplate.exchange(revocationsUri + "?since={since}",
+                        HttpMethod.GET, authenticated, RevocationFeed.class, since).getBody();
+                if (feed == null) {
+                    throw new IllegalStateException("Flux de révocations vide");
+                }
+                if (feed.latestId() < since) {
+                    // Base Membership réinitialisée : relecture complète
+                    log.warn("Curseur du flux de révocations en avance ({} > {}), relecture complète",
+                            since, feed.latestId());
+                    entries.clear();
+                    since = 0;
+                    continue;
+                }
+                for (RevocationFeed.Entry entry : feed.revocations()) {
+                    entries.merge(entry.userId(),
+                            new Revocation(Instant.ofEpochMilli(entry.revokedAt()), Instant.ofEpochMilli(entry.expiresAt())),
+                            (known, received) -> known.revokedAt().isAfter(received.revokedAt()) ? known : received);
+                }
+                since = feed.nextCursor();
+                more = feed.hasMore();
+            }
+
+            // Entrée expirée : tous les tokens qu'elle visait ont eux-mêmes expiré
+            Instant now = clock.instant();
+            entries.values().removeIf(revocation -> revocation.expiresAt().isBefore(now));
+
+            cursor = since;
+            if (!entries.equals(snapshot.entries())) {
+                snapshot = new Snapshot(Map.copyOf(entries), BloomFilter.of(entries.keySet()));
+                log.info("Révocations de tokens mises à jour: {} utilisateurs", entries.size());
+            }
+            refreshSuccessCounter.increment();
+        } catch (RuntimeException e) {
+            refreshFailureCounter.increment();
+            log.warn("Lecture du flux de révocations impossible ({}), révocations connues conservées: {}",
+                    revocationsUri, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.product.infrastructure.stock;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Journal append-only des mouvements du ledger de stock.
+ *
+ * Chaque mouvement (séquence, produit, delta) est écrit directement dans le
+ * FileChannel, sans tampon applicatif, avant d'être acquitté : il survit à un
+ * crash du processus. Le segment courant est tourné à chaque flush et les
+ * segments dont tous les mouvements sont en base sont supprimés.
+ *
+ * Non thread-safe : les appels sont sérialisés par le StockLedger.
+ */
+@Slf4j
+class StockJournal implements Closeable {
+
+    private static final int RECORD_SIZE = 3 * Long.BYTES;
+    private static final String SEGMENT_PREFIX = "stock-ledger-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    record Entry(long sequence, long productId, long delta) {
+    }
+
+    private record Segment(Path path, long lastSequence) {
+    }
+
+    private final Path directory;
+    private final ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+    private final Deque<Segment> rotatedSegments = new ArrayDeque<>();
+
+    private FileChannel channel;
+    private Path currentSegment;
+    private long nextSequence;
+    private boolean currentSegmentEmpty;
+
+    StockJournal(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Relit tous les segments présents sur disque, dans l'ordre des séquences.
+     * Un enregistrement partiel en fin de segment (crash pendant l'écriture) est ignoré.
+     */
+    List<Entry> readSegments() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        for (Path segment : listSegments()) {
+            ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(segment));
+            while (content.remaining() >= RECORD_SIZE) {
+                entries.add(new Entry(content.getLong(), content.getLong(), content.getLong()));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Supprime tous les segments existants (après réconciliation).
+     */
+    void deleteSegments() throws IOException {
+        for (Path segment : listSegments()) {
+            Files.deleteIfExists(segment);
+        }
+    }
+
+    /**
+     * Ouvre un nouveau segment ; la numérotation reprend à {@code nextSequence}.
+     */
+    void open(long nextSequence) throws IOException {
+        Files.createDirectories(directory);
+        this.nextSequence = nextSequence;
+        openSegment();
+    }
+
+    /**
+     * Écrit un mouvement et retourne sa séquence.
+     */
+    long append(long productId, long delta) throws IOException {
+        long sequence = nextSequence;
+        buffer.clear();
+        buffer.putLong(sequence).putLong(productId).putLong(delta).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        nextSequence++;
+        currentSegmentEmpty = false;
+        return sequence;
+    }
+
+    /**
+     * Dernière séquence attribuée (0 si aucune).
+     */
+    long lastSequence() {
+        return nextSequence - 1;
+    }
+
+    /**
+     * Force le segment courant sur disque et en ouvre un nouveau.
+     * Les mouvements suivants iront dans le nouveau segment.
+     *
+     * @return la dernière séquence écrite dans le segment fermé
+     */
+    long rotate() throws IOException {
+        long lastSequence = lastSequence();
+        if (currentSegmentEmpty) {
+            return lastSequence;
+        }
+        channel.force(false);
+        channel.close();
+        rotatedSegments.addLast(new Segment(currentSegment, lastSequence));
+        openSegment();
+        return lastSequence;
+    }
+
+    /**
+     * Supprime les segments tournés dont tous les mouvements sont appliqués en base.
+     */
+    void purge(long checkpointSequence) {
+        while (!rotatedSegments.isEmpty() && rotatedSegments.peekFirst().lastSequence() <= checkpointSequence) {
+            Path path = rotatedSegments.removeFirst().path();
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("Impossible de supprimer le segment de journal {}: {}", path, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null && channel.isOpen()) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+
+    private void openSegment() throws IOException {
+        currentSegment = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextSequence, SEGMENT_SUFFIX));
+        channel = FileChannel.open(currentSegment,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        currentSegmentEmpty = true;
+    }
+
+    private List<Path> listSegments() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,505 @@
+package com.example.product.infrastructure.stock;
+
+import com.example.product.domain.entity.Product;
+import com.example.product.domain.entity.StockLedgerCheckpoint;
+import com.example.product.domain.repository.ProductRepository;
+import com.example.product.domain.repository.StockLedgerCheckpointRepository;
+import com.example.product.infrastructure.exception.InsufficientStockException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Ledger de stock en mémoire pour les produits très sollicités (ventes flash).
+ *
+ * Un produit devient "chaud" lorsqu'il reçoit au moins {@code hot-threshold}
+ * mouvements de stock dans une fenêtre de {@code hot-window-ms}. Ses
+ * réservations (SUBTRACT) et libérations (ADD) sont alors servies en mémoire
+ * par un compare-and-set sur une cellule dédiée, sans verrou de ligne en base.
+ *
+ * Durabilité :
+ * - chaque mouvement est écrit dans un journal local avant d'être acquitté,
+ *   au commit de la transaction de l'appelant s'il y en a une ;
+ * - le delta net par produit est appliqué en base par lot toutes les
+ *   {@code flush-interval-ms}, avec le point de reprise dans la même transaction ;
+ * - au démarrage, les mouvements du journal postérieurs au point de reprise
+ *   sont rejoués en base.
+ *
+ * Hypothèse : une seule instance du service écrit le stock des produits chauds.
+ * Un écart détecté en base au flush (écriture externe) est réintégré dans la cellule.
+ *
+ * Désactivé par défaut ({@code app.stock.ledger.enabled=false}).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.stock.ledger", name = "enabled", havingValue = "true")
+public class StockLedger {
+
+    private static final long CHECKPOINT_ID = 1L;
+
+    /**
+     * Cellule d'un produit chaud.
+     * - available : stock visible en mémoire (base + mouvements non flushés)
+     * - pending : delta net pas encore appliqué en base
+     * - dbBase : stock en base connu au dernier flush (thread de flush uniquement)
+     */
+    static final class Cell {
+        final AtomicLong available;
+        final AtomicLong pending = new AtomicLong();
+        volatile long lastAccess = System.currentTimeMillis();
+        volatile boolean closed;
+        long dbBase;
+
+        Cell(long stock) {
+            this.available = new AtomicLong(stock);
+            this.dbBase = stock;
+        }
+    }
+
+    private final ProductRepository productRepository;
+    private final StockLedgerCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StockJournal journal;
+    private final long hotThreshold;
+    private final long idleTimeoutMs;
+
+    private final Map<Long, Cell> cells = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> accessCounts = new ConcurrentHashMap<>();
+    private final Set<Long> hotCandidates = ConcurrentHashMap.newKeySet();
+
+    // Sérialise l'écriture au journal et la prise de snapshot du flush
+    private final ReentrantLock journalLock = new ReentrantLock();
+    private long flushedSequence;
+
+    private final Counter reservedCounter;
+    private final Counter insufficientCounter;
+    private final Counter flushCounter;
+    private final Counter flushFailureCounter;
+
+    public StockLedger(ProductRepository productRepository,
+                       StockLedgerCheckpointRepository checkpointRepository,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.stock.ledger.journal-dir:./data/stock-ledger}") Path journalDir,
+                       @Value("${app.stock.ledger.hot-threshold:50}") long hotThreshold,
+                       @Value("${app.stock.ledger.idle-timeout-ms:30000}") long idleTimeoutMs) {
+        this.productRepository = productRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.journal = new StockJournal(journalDir);
+        this.hotThreshold = hotThreshold;
+        this.idleTimeoutMs = idleTimeoutMs;
+
+        Gauge.builder("products_stock_ledger_hot_skus", cells, Map::size)
+                .description("Nombre de produits chauds dont le stock est servi en mémoire")
+                .register(meterRegistry);
+
+        Gauge.builder("products_stock_ledger_pending_movements", cells,
+                        map -> map.values().stream().mapToLong(cell -> Math.abs(cell.pending.get())).sum())
+                .description("Somme des deltas de stock en attente de flush")
+                .register(meterRegistry);
+
+        this.reservedCounter = Counter.builder("products_stock_ledger_operations_total")
+                .tag("result", "applied")
+                .description("Mouvements de stock servis en mémoire")
+                .register(meterRegistry);
+
+        this.insufficientCounter = Counter.builder("products_stock_ledger_operations_total")
+                .tag("result", "insufficient")
+                .description("Mouvements de stock refusés en mémoire (stock insuffisant)")
+                .register(meterRegistry);
+
+        this.flushCounter = Counter.builder("products_stock_ledger_flush_total")
+                .tag("result", "success")
+                .description("Flushs du ledger de stock vers la base")
+                .register(meterRegistry);
+
+        this.flushFailureCounter = Counter.builder("products_stock_ledger_flush_total")
+                .tag("result", "failure")
+                .description("Flushs du ledger de stock en échec")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Réconciliation au démarrage : rejoue en base les mouvements du journal
+     * postérieurs au point de reprise, puis ouvre un nouveau segment.
+     */
+    @PostConstruct
+    public void recover() throws IOException {
+        long checkpoint = checkpointRepository.findById(CHECKPOINT_ID)
+                .map(StockLedgerCheckpoint::getLastSequence)
+                .orElse(0L);
+
+        Map<Long, Long> deltas = new HashMap<>();
+        long lastSequence = checkpoint;
+        int replayed = 0;
+        for (StockJournal.Entry entry : journal.readSegments()) {
+            lastSequence = Math.max(lastSequence, entry.sequence());
+            if (entry.sequence() > checkpoint) {
+                deltas.merge(entry.productId(), entry.delta(), Long::sum);
+                replayed++;
+            }
+        }
+
+        if (lastSequence > checkpoint) {
+            final long sequence = lastSequence;
+            transactionTemplate.executeWithoutResult(status -> applyDeltas(deltas, sequence));
+            log.info("Ledger de stock: {} mouvement(s) rejoué(s) sur {} produit(s) depuis le journal",
+                    replayed, deltas.size());
+        }
+
+        journal.deleteSegments();
+        journal.open(lastSequence + 1);
+        flushedSequence = lastSequence;
+    }
+
+    /**
+     * Applique un mouvement de stock en mémoire si le produit est chaud.
+     *
+     * Dans une transaction, le mouvement n'est journalisé qu'au commit : une
+     * réservation (SUBTRACT) est retenue en mémoire jusque-là et libérée si la
+     * transaction est annulée, une libération (ADD) n'est visible qu'au commit.
+     * Le journal ne contient ainsi que des mouvements dont la transaction (et
+     * la clé d'idempotence du lot) est validée ; un arrêt brutal entre le commit
+     * et la journalisation perd le mouvement plutôt que de le rejouer deux fois.
+     *
+     * @param delta positif pour une libération (ADD), négatif pour une réservation (SUBTRACT)
+     * @return le nouveau stock en mémoire, ou vide si le produit n'est pas géré par le ledger
+     * @throws InsufficientStockException si la réservation dépasse le stock disponible
+     */
+    public OptionalLong apply(Long productId, long delta) {
+        Cell cell = cells.get(productId);
+        if (cell == null || cell.closed) {
+            return OptionalLong.empty();
+        }
+        cell.lastAccess = System.currentTimeMillis();
+        boolean deferred = TransactionSynchronizationManager.isSynchronizationActive();
+
+        long newStock;
+        if (delta < 0) {
+            long current;
+            do {
+                current = cell.available.get();
+                if (current + delta < 0) {
+                    insufficientCounter.increment();
+                    throw new InsufficientStockException(productId, (int) -delta, (int) current);
+                }
+            } while (!cell.available.compareAndSet(current, current + delta));
+            newStock = current + delta;
+        } else if (deferred) {
+            newStock = cell.available.get() + delta;
+        } else {
+            newStock = cell.available.addAndGet(delta);
+        }
+
+        if (deferred) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_ROLLED_BACK) {
+                        commitMovement(productId, cell, delta);
+                    } else if (delta < 0) {
+                        cell.available.addAndGet(-delta);
+                    }
+                }
+            });
+            reservedCounter.increment();
+            return OptionalLong.of(newStock);
+        }
+
+        journalLock.lock();
+        try {
+            if (cell.closed) {
+                // Cellule retirée entre-temps : on annule et on laisse la base traiter
+                cell.available.addAndGet(-delta);
+                return OptionalLong.empty();
+            }
+            journal.append(productId, delta);
+            cell.pending.addAndGet(delta);
+        } catch (IOException e) {
+            cell.available.addAndGet(-delta);
+            throw new UncheckedIOException("Journal du ledger de stock indisponible", e);
+        } finally {
+            journalLock.unlock();
+        }
+
+        reservedCounter.increment();
+        return OptionalLong.of(newStock);
+    }
+
+    /**
+     * Journalise un mouvement dont la transaction est validée. Si le produit est
+     * sorti du ledger entre-temps, le mouvement est appliqué directement en base.
+     */
+    private void commitMovement(Long productId, Cell cell, long delta) {
+        boolean closed;
+        journalLock.lock();
+        try {
+            closed = cell.closed;
+            if (!closed) {
+                if (delta > 0) {
+                    cell.available.addAndGet(delta);
+                }
+                try {
+                    journal.append(productId, delta);
+                } catch (IOException e) {
+                    log.error("Journal du ledger de stock indisponible, mouvement du produit ID {} appliqué au prochain flush: {}",
+                            productId, e.getMessage());
+                }
+                cell.pending.addAndGet(delta);
+            }
+        } finally {
+            journalLock.unlock();
+        }
+
+        if (closed) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        productRepository.incrementStock(productId, Math.toIntExact(delta)));
+            } catch (RuntimeException e) {
+                log.error("Ledger de stock: delta {} du produit ID {} non appliqué en base: {}",
+                        delta, productId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stock en mémoire d'un produit chaud.
+     */
+    public OptionalLong currentStock(Long productId) {
+        Cell cell = cells.get(productId);
+        if (cell == null || cell.closed) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(cell.available.get());
+    }
+
+    /**
+     * Comptabilise un mouvement servi par la base. Au-delà du seuil, le produit
+     * est promu au prochain flush.
+     */
+    public void recordAccess(Long productId) {
+        if (cells.containsKey(productId)) {
+            return;
+        }
+        LongAdder count = accessCounts.computeIfAbsent(productId, id -> new LongAdder());
+        count.increment();
+        if (count.sum() >= hotThreshold) {
+            hotCandidates.add(productId);
+        }
+    }
+
+    /**
+     * Retire un produit du ledger après avoir appliqué son delta en base.
+     * À appeler avant toute écriture absolue du stock (SET, mise à jour, suppression),
+     * hors transaction : le flush a sa propre transaction et attendrait les
+     * verrous de ligne posés par celle de l'appelant.
+     */
+    public void evict(Long productId) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Sortie du ledger du produit " + productId + " dans une transaction ouverte");
+        }
+        Cell cell = cells.get(productId);
+        if (cell == null) {
+            return;
+        }
+        journalLock.lock();
+        try {
+            cell.closed = true;
+        } finally {
+            journalLock.unlock();
+        }
+        flush();
+    }
+
+    /**
+     * Remet à zéro les compteurs d'accès : la détection des produits chauds
+     * se fait par fenêtre glissante de {@code hot-window-ms}.
+     */
+    @Scheduled(fixedRateString = "${app.stock.ledger.hot-window-ms:1000}")
+    public void resetAccessWindow() {
+        accessCounts.clear();
+    }
+
+    @Scheduled(fixedDelayString = "${app.stock.ledger.flush-interval-ms:200}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Échec du flush du ledger de stock, nouvel essai au prochain cycle: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Applique en base le delta net de chaque produit chaud, en un lot.
+     *
+     * Le snapshot (rotation du journal + remise à zéro des deltas) est pris sous
+     * le verrou du journal ; l'écriture en base se fait hors verrou. En cas
+     * d'échec, les deltas sont réintégrés et seront retentés au cycle suivant.
+     */
+    public synchronized void flush() {
+        promoteCandidates();
+        closeIdleCells();
+
+        long lastSequence;
+        Map<Cell, Long> snapshot = new HashMap<>();
+        Map<Long, Long> deltas = new HashMap<>();
+        journalLock.lock();
+        try {
+            lastSequence = journal.rotate();
+            cells.forEach((productId, cell) -> {
+                long delta = cell.pending.getAndSet(0);
+                if (delta != 0) {
+                    snapshot.put(cell, delta);
+                    deltas.put(productId, delta);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Rotation du journal du ledger de stock impossible", e);
+        } finally {
+            journalLock.unlock();
+        }
+
+        // Deltas sans nouvelle séquence : mouvements validés que le journal n'a pas pu écrire
+        if (lastSequence > flushedSequence || !deltas.isEmpty()) {
+            Map<Long, Integer> dbStocks;
+            try {
+                dbStocks = transactionTemplate.execute(status -> {
+                    applyDeltas(deltas, lastSequence);
+                    return productRepository.findAllById(deltas.keySet()).stream()
+                            .collect(Collectors.toMap(Product::getId, Product::getStock));
+                });
+            } catch (RuntimeException e) {
+                snapshot.forEach((cell, delta) -> cell.pending.addAndGet(delta));
+                flushFailureCounter.increment();
+                throw e;
+            }
+
+            flushedSequence = lastSequence;
+            journal.purge(lastSequence);
+            flushCounter.increment();
+            reconcile(deltas, dbStocks);
+        }
+
+        cells.entrySet().removeIf(entry -> {
+            if (entry.getValue().closed) {
+                log.info("Produit ID {} retiré du ledger de stock", entry.getKey());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        try {
+            flush();
+        } finally {
+            journal.close();
+        }
+    }
+
+    /**
+     * Applique les deltas en base et avance le point de reprise (transaction en cours).
+     */
+    private void applyDeltas(Map<Long, Long> deltas, long lastSequence) {
+        deltas.forEach((productId, delta) -> {
+            if (productRepository.incrementStock(productId, Math.toIntExact(delta)) == 0) {
+                log.warn("Ledger de stock: produit ID {} introuvable, delta {} ignoré", productId, delta);
+            }
+        });
+        checkpointRepository.save(new StockLedgerCheckpoint(CHECKPOINT_ID, lastSequence));
+    }
+
+    /**
+     * Recale chaque cellule flushée sur le stock réellement en base : un écart
+     * correspond à une écriture faite hors ledger et est réintégré en mémoire.
+     */
+    private void reconcile(Map<Long, Long> deltas, Map<Long, Integer> dbStocks) {
+        deltas.forEach((productId, delta) -> {
+            Cell cell = cells.get(productId);
+            Integer dbStock = dbStocks.get(productId);
+            if (cell == null || dbStock == null) {
+                return;
+            }
+            long expected = cell.dbBase + delta;
+            cell.dbBase = dbStock;
+            if (dbStock != expected) {
+                log.warn("Ledger de stock: écart de {} sur le produit ID {}, recalage", dbStock - expected, productId);
+                cell.available.addAndGet(dbStock - expected);
+            }
+            if (dbStock < 0) {
+                log.error("Ledger de stock: stock négatif ({}) pour le produit ID {}", dbStock, productId);
+            }
+        });
+    }
+
+    /**
+     * Charge en mémoire le stock des produits devenus chauds.
+     */
+    private void promoteCandidates() {
+        if (hotCandidates.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(hotCandidates);
+        hotCandidates.removeAll(ids);
+        ids.removeIf(cells::containsKey);
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        List<Product> products = transactionTemplate.execute(status -> productRepository.findAllById(ids));
+        for (Product product : products) {
+            if (cells.putIfAbsent(product.getId(), new Cell(product.getStock())) == null) {
+                accessCounts.remove(product.getId());
+                log.info("Produit ID {} promu dans le ledger de stock (stock: {})",
+                        product.getId(), product.getStock());
+            }
+        }
+    }
+
+    /**
+     * Marque pour retrait les cellules sans mouvement depuis {@code idle-timeout-ms}.
+     */
+    private void closeIdleCells() {
+        long threshold = System.currentTimeMillis() - idleTimeoutMs;
+        journalLock.lock();
+        try {
+            cells.values().forEach(cell -> {
+                if (cell.lastAccess < threshold) {
+                    cell.closed = true;
+                }
+            });
+        } finally {
+            journalLock.unlock();
+        }
+    }
+}
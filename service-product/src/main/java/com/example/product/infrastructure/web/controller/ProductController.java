@@ -2,6 +2,7 @@ package com.example.product.infrastructure.web.controller;
 
 import com.example.product.application.dto.ProductRequestDTO;
 import com.example.product.application.dto.ProductResponseDTO;
+import com.example.product.application.dto.StockBatchUpdateDTO;
 import com.example.product.application.dto.StockUpdateDTO;
 import com.example.product.application.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -21,12 +22,14 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Contrôleur REST pour la gestion des produits.
  *
  * Endpoints :
  * - GET    /api/v1/products              : Liste tous les produits
+ * - GET    /api/v1/products?ids=1,2,3    : Récupère plusieurs produits par IDs
  * - GET    /api/v1/products/{id}         : Détail d'un produit
  * - POST   /api/v1/products              : Créer un produit
  * - PUT    /api/v1/products/{id}         : Modifier un produit
@@ -35,6 +38,7 @@ import java.util.List;
  * - GET    /api/v1/products/category/{c} : Filtrer par catégorie
  * - GET    /api/v1/products/available    : Produits en stock
  * - PATCH  /api/v1/products/{id}/stock   : Mettre à jour le stock
+ * - POST   /api/v1/products/stock/batch  : Mettre à jour le stock de plusieurs produits
  */
 @Slf4j
 @RestController
@@ -65,6 +69,29 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
 
+    /**
+     * GET /api/v1/products?ids=1,2,3
+     * Récupère plusieurs produits en un seul appel.
+     */
+    @Operation(summary = "Récupérer plusieurs produits par IDs",
+            description = "Retourne les produits correspondant aux IDs fournis (les IDs inexistants sont ignorés)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Produits récupérés avec succès",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ProductResponseDTO.class)))
+    })
+    @GetMapping(params = "ids", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<ProductResponseDTO>> getProductsByIds(
+            @Parameter(description = "IDs des produits séparés par des virgules", required = true)
+            @RequestParam Set<Long> ids) {
+
+        log.info("GET /api/v1/products?ids={} - Récupération de plusieurs produits", ids);
+
+        List<ProductResponseDTO> products = productService.getProductsByIds(ids);
+
+        return ResponseEntity.ok(products);
+    }
+
     /**
      * GET /api/v1/products/{id}
      * Récupère un produit par son ID.
@@ -282,4 +309,34 @@ public class ProductController {
 
         return ResponseEntity.ok(updatedProduct);
     }
+
+    /**
+     * POST /api/v1/products/stock/batch
+     * Met à jour le stock de plusieurs produits en une seule transaction.
+     */
+    @Operation(summary = "Mettre à jour le stock de plusieurs produits",
+            description = "Applique toutes les lignes en une seule transaction : si une ligne échoue, aucune n'est appliquée")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stocks mis à jour avec succès",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ProductResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Opération invalide ou stock insuffisant",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Produit non trouvé",
+                    content = @Content)
+    })
+    @PostMapping(value = "/stock/batch",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<ProductResponseDTO>> updateStockBatch(
+            @Parameter(description = "Lignes de mise à jour du stock", required = true)
+            @Valid @RequestBody StockBatchUpdateDTO stockBatchUpdateDTO) {
+
+        log.info("POST /api/v1/products/stock/batch - Mise à jour groupée du stock ({} lignes)",
+                stockBatchUpdateDTO.getItems().size());
+
+        List<ProductResponseDTO> updatedProducts = productService.updateStockBatch(stockBatchUpdateDTO);
+
+        return ResponseEntity.ok(updatedProducts);
+    }
 }
\ No newline at end of file
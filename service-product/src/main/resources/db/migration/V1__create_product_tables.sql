@@ -0,0 +1,20 @@
+-- Schéma initial du service Product (catalogue, point de reprise du ledger de stock)
+
+CREATE TABLE products (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name            VARCHAR(100)   NOT NULL,
+    description     VARCHAR(500)   NOT NULL,
+    price           NUMERIC(12, 2) NOT NULL,
+    stock           INTEGER        NOT NULL CHECK (stock >= 0),
+    category        ENUM ('BOOKS', 'ELECTRONICS', 'FOOD', 'OTHER') NOT NULL,
+    image_url       VARCHAR(255),
+    active          BOOLEAN        NOT NULL,
+    catalog_version BIGINT         NOT NULL,
+    created_at      TIMESTAMP(6)   NOT NULL,
+    updated_at      TIMESTAMP(6)
+);
+
+CREATE TABLE stock_ledger_checkpoint (
+    id            BIGINT NOT NULL PRIMARY KEY,
+    last_sequence BIGINT NOT NULL
+);
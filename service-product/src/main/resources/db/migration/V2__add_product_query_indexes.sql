@@ -0,0 +1,10 @@
+-- Index des requêtes fréquentes de ProductRepository
+
+-- findByCategory, countByCategory, aggregateStockByCategory
+CREATE INDEX idx_products_category ON products (category);
+
+-- countByStockAndActiveTrue, findByStockGreaterThan, countByStockLessThan
+CREATE INDEX idx_products_stock_active ON products (stock, active);
+
+-- existsByName, existsByNameAndIdNot (unicité du nom à la création / mise à jour)
+CREATE INDEX idx_products_name ON products (name);
@@ -0,0 +1,10 @@
+-- Clés d'idempotence des mises à jour de stock groupées déjà appliquées
+-- (événements d'outbox du service Order, livrés "au moins une fois")
+
+CREATE TABLE processed_stock_requests (
+    idempotency_key VARCHAR(100) NOT NULL PRIMARY KEY,
+    processed_at    TIMESTAMP(6) NOT NULL
+);
+
+-- deleteProcessedBefore (purge périodique)
+CREATE INDEX idx_processed_stock_requests_at ON processed_stock_requests (processed_at);
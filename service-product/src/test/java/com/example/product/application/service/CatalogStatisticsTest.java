@@ -0,0 +1,97 @@
+package com.example.product.application.service;
+
+import com.example.product.domain.entity.Product;
+import com.example.product.domain.entity.Product.ProductCategory;
+import com.example.product.domain.repository.ProductRepository;
+import com.example.product.infrastructure.health.StockHealthIndicator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de CatalogStatistics sur une base H2 :
+ * - Agrégation par catégorie en une requête
+ * - Gauges et health check servis depuis l'instantané
+ */
+@DataJpaTest
+class CatalogStatisticsTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CatalogStatistics catalogStatistics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        catalogStatistics = new CatalogStatistics(productRepository, meterRegistry);
+    }
+
+    private void saveProduct(String name, ProductCategory category, int stock, boolean active) {
+        productRepository.save(Product.builder()
+                .name(name)
+                .description("Description du produit " + name)
+                .price(new BigDecimal("9.99"))
+                .stock(stock)
+                .category(category)
+                .active(active)
+                .build());
+    }
+
+    @Test
+    void testRefreshAggregatesByCategory() {
+        // Given
+        saveProduct("Clavier", ProductCategory.ELECTRONICS, 0, true);
+        saveProduct("Souris", ProductCategory.ELECTRONICS, 3, true);
+        saveProduct("Ecran", ProductCategory.ELECTRONICS, 20, true);
+        saveProduct("Roman", ProductCategory.BOOKS, 0, false);
+
+        // When
+        catalogStatistics.refresh();
+
+        // Then
+        CatalogStatistics.Snapshot snapshot = catalogStatistics.snapshot();
+        assertEquals(3, snapshot.countByCategory(ProductCategory.ELECTRONICS));
+        assertEquals(1, snapshot.countByCategory(ProductCategory.BOOKS));
+        assertEquals(0, snapshot.countByCategory(ProductCategory.FOOD));
+        assertEquals(1, snapshot.outOfStock());   // le produit inactif n'est pas compté
+        assertEquals(3, snapshot.lowStock());
+        assertNotNull(snapshot.computedAt());
+    }
+
+    @Test
+    void testGaugesReadSnapshotUntilNextRefresh() {
+        // Given
+        saveProduct("Clavier", ProductCategory.ELECTRONICS, 0, true);
+        catalogStatistics.refresh();
+
+        // When : nouveau produit, pas encore de recalcul
+        saveProduct("Souris", ProductCategory.ELECTRONICS, 0, true);
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("products_out_of_stock").gauge().value());
+        assertEquals(1.0, meterRegistry.get("products_existing_total")
+                .tag("category", "ELECTRONICS").gauge().value());
+
+        catalogStatistics.refresh();
+        assertEquals(2.0, meterRegistry.get("products_out_of_stock").gauge().value());
+    }
+
+    @Test
+    void testHealthUnknownBeforeFirstRefresh() {
+        StockHealthIndicator healthIndicator = new StockHealthIndicator(catalogStatistics);
+
+        assertEquals(Status.UNKNOWN, healthIndicator.health().getStatus());
+
+        catalogStatistics.refresh();
+        assertEquals(Status.UP, healthIndicator.health().getStatus());
+    }
+}
@@ -2,8 +2,11 @@ package com.example.product.application.service;
 
 import com.example.product.application.dto.ProductRequestDTO;
 import com.example.product.application.dto.ProductResponseDTO;
+import com.example.product.application.dto.StockBatchItemDTO;
+import com.example.product.application.dto.StockBatchUpdateDTO;
 import com.example.product.application.dto.StockUpdateDTO;
 import com.example.product.application.dto.StockUpdateDTO.StockOperation;
+import com.example.product.application.event.ProductCatalogChangedEvent;
 import com.example.product.application.mapper.ProductMapper;
 import com.example.product.domain.entity.Product;
 import com.example.product.domain.entity.Product.ProductCategory;
@@ -12,18 +15,23 @@ import com.example.product.infrastructure.client.OrderServiceClient;
 import com.example.product.infrastructure.exception.InsufficientStockException;
 import com.example.product.infrastructure.exception.ResourceAlreadyExistsException;
 import com.example.product.infrastructure.exception.ResourceNotFoundException;
+import com.example.product.infrastructure.stock.StockLedger;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -47,6 +55,15 @@ class ProductServiceTest {
     @Mock
     private OrderServiceClient orderServiceClient;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StockRequestRegistry stockRequestRegistry;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private ProductMapper productMapper;
     private MeterRegistry meterRegistry;
     private ProductService productService;
@@ -55,7 +72,8 @@ class ProductServiceTest {
     void setUp() {
         productMapper = new ProductMapper();
         meterRegistry = new SimpleMeterRegistry();
-        productService = new ProductService(productRepository, productMapper, meterRegistry, orderServiceClient);
+        productService = new ProductService(productRepository, productMapper, meterRegistry, orderServiceClient,
+                Optional.empty(), eventPublisher, stockRequestRegistry, transactionManager);
     }
 
     @Test
@@ -102,6 +120,23 @@ class ProductServiceTest {
         verify(productRepository).findById(productId);
     }
 
+    @Test
+    void testGetProductsByIds() {
+        // Given
+        Product product1 = createTestProduct(1L, "Product 1", ProductCategory.ELECTRONICS, 10, true);
+        Product product2 = createTestProduct(2L, "Product 2", ProductCategory.BOOKS, 20, true);
+        List<Long> ids = List.of(1L, 2L, 3L);
+        when(productRepository.findAllById(ids)).thenReturn(List.of(product1, product2));
+
+        // When
+        List<ProductResponseDTO> result = productService.getProductsByIds(ids);
+
+        // Then
+        assertEquals(2, result.size());
+        verify(productRepository).findAllById(ids);
+        verify(productRepository, never()).findById(anyLong());
+    }
+
     @Test
     void testCreateProduct_Success() {
         // Given
@@ -177,6 +212,60 @@ class ProductServiceTest {
         verify(productRepository).save(existing);
     }
 
+    @Test
+    void testUpdateProduct_PriceChange_BumpsCatalogVersion() {
+        // Given
+        Long productId = 1L;
+        Product existing = createTestProduct(productId, "Product 1", ProductCategory.ELECTRONICS, 10, true);
+
+        ProductRequestDTO requestDTO = ProductRequestDTO.builder()
+                .name("Product 1")
+                .description("Test product description that is long enough")
+                .price(new BigDecimal("79.99"))
+                .stock(10)
+                .category(ProductCategory.ELECTRONICS)
+                .active(true)
+                .build();
+
+        when(productRepository.findById(productId)).thenReturn(Optional.of(existing));
+        when(productRepository.existsByNameAndIdNot(requestDTO.getName(), productId)).thenReturn(false);
+        when(productRepository.save(any(Product.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // When
+        ProductResponseDTO result = productService.updateProduct(productId, requestDTO);
+
+        // Then
+        assertEquals(1L, result.getCatalogVersion());
+        verify(eventPublisher).publishEvent(new ProductCatalogChangedEvent(productId, 1L));
+    }
+
+    @Test
+    void testUpdateProduct_StockOnly_KeepsCatalogVersion() {
+        // Given
+        Long productId = 1L;
+        Product existing = createTestProduct(productId, "Product 1", ProductCategory.ELECTRONICS, 10, true);
+
+        ProductRequestDTO requestDTO = ProductRequestDTO.builder()
+                .name("Product 1")
+                .description("Test product description that is long enough")
+                .price(new BigDecimal("99.990"))
+                .stock(50)
+                .category(ProductCategory.ELECTRONICS)
+                .active(true)
+                .build();
+
+        when(productRepository.findById(productId)).thenReturn(Optional.of(existing));
+        when(productRepository.existsByNameAndIdNot(requestDTO.getName(), productId)).thenReturn(false);
+        when(productRepository.save(any(Product.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // When
+        ProductResponseDTO result = productService.updateProduct(productId, requestDTO);
+
+        // Then
+        assertEquals(0L, result.getCatalogVersion());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
     @Test
     void testUpdateProduct_NameAlreadyUsedByAnotherProduct() {
         // Given
@@ -206,15 +295,15 @@ class ProductServiceTest {
     void testUpdateStock_Subtract_Success() {
         // Given
         Long productId = 1L;
-        Product product = createTestProduct(productId, "Test Product", ProductCategory.ELECTRONICS, 50, true);
+        Product updated = createTestProduct(productId, "Test Product", ProductCategory.ELECTRONICS, 40, true);
 
         StockUpdateDTO stockUpdateDTO = StockUpdateDTO.builder()
                 .quantity(10)
                 .operation(StockOperation.SUBTRACT)
                 .build();
 
-        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(Product.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(productRepository.decrementStock(productId, 10)).thenReturn(1);
+        when(productRepository.findById(productId)).thenReturn(Optional.of(updated));
 
         // When
         ProductResponseDTO result = productService.updateStock(productId, stockUpdateDTO);
@@ -222,8 +311,8 @@ class ProductServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(40, result.getStock());
-        verify(productRepository).findById(productId);
-        verify(productRepository).save(product);
+        verify(productRepository).decrementStock(productId, 10);
+        verify(productRepository, never()).save(any(Product.class));
     }
 
     @Test
@@ -237,28 +326,46 @@ class ProductServiceTest {
                 .operation(StockOperation.SUBTRACT)
                 .build();
 
+        when(productRepository.decrementStock(productId, 10)).thenReturn(0);
         when(productRepository.findById(productId)).thenReturn(Optional.of(product));
 
         // When & Then
         assertThrows(InsufficientStockException.class, () -> productService.updateStock(productId, stockUpdateDTO));
 
-        verify(productRepository).findById(productId);
+        verify(productRepository).decrementStock(productId, 10);
         verify(productRepository, never()).save(any(Product.class));
     }
 
+    @Test
+    void testUpdateStock_Subtract_NotFound() {
+        // Given
+        Long productId = 999L;
+
+        StockUpdateDTO stockUpdateDTO = StockUpdateDTO.builder()
+                .quantity(1)
+                .operation(StockOperation.SUBTRACT)
+                .build();
+
+        when(productRepository.decrementStock(productId, 1)).thenReturn(0);
+        when(productRepository.findById(productId)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> productService.updateStock(productId, stockUpdateDTO));
+    }
+
     @Test
     void testUpdateStock_Add_Success() {
         // Given
         Long productId = 1L;
-        Product product = createTestProduct(productId, "Test Product", ProductCategory.ELECTRONICS, 50, true);
+        Product updated = createTestProduct(productId, "Test Product", ProductCategory.ELECTRONICS, 75, true);
 
         StockUpdateDTO stockUpdateDTO = StockUpdateDTO.builder()
                 .quantity(25)
                 .operation(StockOperation.ADD)
                 .build();
 
-        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(Product.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(productRepository.incrementStock(productId, 25)).thenReturn(1);
+        when(productRepository.findById(productId)).thenReturn(Optional.of(updated));
 
         // When
         ProductResponseDTO result = productService.updateStock(productId, stockUpdateDTO);
@@ -266,8 +373,179 @@ class ProductServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(75, result.getStock());
-        verify(productRepository).findById(productId);
-        verify(productRepository).save(product);
+        verify(productRepository).incrementStock(productId, 25);
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    void testUpdateStockBatch_Success() {
+        // Given
+        Product product1 = createTestProduct(1L, "Product 1", ProductCategory.ELECTRONICS, 25, true);
+        Product product2 = createTestProduct(2L, "Product 2", ProductCategory.BOOKS, 15, true);
+
+        StockBatchUpdateDTO batchDTO = StockBatchUpdateDTO.builder()
+                .items(List.of(
+                        StockBatchItemDTO.builder().productId(2L).quantity(5).operation(StockOperation.SUBTRACT).build(),
+                        StockBatchItemDTO.builder().productId(1L).quantity(10).operation(StockOperation.SUBTRACT).build(),
+                        StockBatchItemDTO.builder().productId(1L).quantity(15).operation(StockOperation.SUBTRACT).build()
+                ))
+                .build();
+
+        when(productRepository.decrementStock(anyLong(), anyInt())).thenReturn(1);
+        when(productRepository.findAllById(anyCollection())).thenReturn(List.of(product1, product2));
+
+        // When
+        List<ProductResponseDTO> result = productService.updateStockBatch(batchDTO);
+
+        // Then
+        assertEquals(2, result.size());
+        var inOrder = inOrder(productRepository);
+        inOrder.verify(productRepository).decrementStock(1L, 10);
+        inOrder.verify(productRepository).decrementStock(1L, 15);
+        inOrder.verify(productRepository).decrementStock(2L, 5);
+        verify(productRepository, never()).saveAll(anyCollection());
+    }
+
+    @Test
+    void testUpdateStockBatch_InsufficientStock_RejectsWholeBatch() {
+        // Given
+        Product product2 = createTestProduct(2L, "Product 2", ProductCategory.BOOKS, 3, true);
+
+        StockBatchUpdateDTO batchDTO = StockBatchUpdateDTO.builder()
+                .items(List.of(
+                        StockBatchItemDTO.builder().productId(1L).quantity(10).operation(StockOperation.SUBTRACT).build(),
+                        StockBatchItemDTO.builder().productId(2L).quantity(5).operation(StockOperation.SUBTRACT).build()
+                ))
+                .build();
+
+        when(productRepository.decrementStock(1L, 10)).thenReturn(1);
+        when(productRepository.decrementStock(2L, 5)).thenReturn(0);
+        when(productRepository.findById(2L)).thenReturn(Optional.of(product2));
+
+        // When & Then (l'exception annule la transaction, donc la ligne 1 aussi)
+        assertThrows(InsufficientStockException.class, () -> productService.updateStockBatch(batchDTO));
+        verify(productRepository, never()).findAllById(anyCollection());
+    }
+
+    @Test
+    void testUpdateStockBatch_ProductNotFound() {
+        // Given
+        StockBatchUpdateDTO batchDTO = StockBatchUpdateDTO.builder()
+                .items(List.of(
+                        StockBatchItemDTO.builder().productId(999L).quantity(1).operation(StockOperation.SUBTRACT).build()
+                ))
+                .build();
+
+        when(productRepository.decrementStock(999L, 1)).thenReturn(0);
+        when(productRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> productService.updateStockBatch(batchDTO));
+    }
+
+    @Test
+    void testUpdateStock_HotProduct_ServedByLedger() {
+        // Given
+        StockLedger stockLedger = mock(StockLedger.class);
+        ProductService ledgerService = new ProductService(productRepository, productMapper, meterRegistry,
+                orderServiceClient, Optional.of(stockLedger), eventPublisher, stockRequestRegistry, transactionManager);
+        Product product = createTestProduct(1L, "Product 1", ProductCategory.ELECTRONICS, 100, true);
+        StockUpdateDTO stockUpdateDTO = StockUpdateDTO.builder()
+                .quantity(3)
+                .operation(StockOperation.SUBTRACT)
+                .build();
+
+        when(stockLedger.apply(1L, -3)).thenReturn(OptionalLong.of(97));
+        when(stockLedger.currentStock(1L)).thenReturn(OptionalLong.of(97));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+        // When
+        ProductResponseDTO result = ledgerService.updateStock(1L, stockUpdateDTO);
+
+        // Then (stock en mémoire, aucune écriture en base)
+        assertEquals(97, result.getStock());
+        verify(productRepository, never()).decrementStock(anyLong(), anyInt());
+        verify(stockLedger, never()).recordAccess(anyLong());
+    }
+
+    @Test
+    void testUpdateStock_ColdProduct_RecordsAccessForLedger() {
+        // Given
+        StockLedger stockLedger = mock(StockLedger.class);
+        ProductService ledgerService = new ProductService(productRepository, productMapper, meterRegistry,
+                orderServiceClient, Optional.of(stockLedger), eventPublisher, stockRequestRegistry, transactionManager);
+        Product product = createTestProduct(1L, "Product 1", ProductCategory.ELECTRONICS, 7, true);
+        StockUpdateDTO stockUpdateDTO = StockUpdateDTO.builder()
+                .quantity(3)
+                .operation(StockOperation.SUBTRACT)
+                .build();
+
+        when(stockLedger.apply(1L, -3)).thenReturn(OptionalLong.empty());
+        when(stockLedger.currentStock(1L)).thenReturn(OptionalLong.empty());
+        when(productRepository.decrementStock(1L, 3)).thenReturn(1);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+        // When
+        ProductResponseDTO result = ledgerService.updateStock(1L, stockUpdateDTO);
+
+        // Then
+        assertEquals(7, result.getStock());
+        verify(productRepository).decrementStock(1L, 3);
+        verify(stockLedger).recordAccess(1L);
+    }
+
+    @Test
+    void testUpdateStockBatch_Failure_LedgerLineLeftToLedger() {
+        // Given
+        StockLedger stockLedger = mock(StockLedger.class);
+        ProductService ledgerService = new ProductService(productRepository, productMapper, meterRegistry,
+                orderServiceClient, Optional.of(stockLedger), eventPublisher, stockRequestRegistry, transactionManager);
+        Product product2 = createTestProduct(2L, "Product 2", ProductCategory.BOOKS, 1, true);
+
+        StockBatchUpdateDTO batchDTO = StockBatchUpdateDTO.builder()
+                .items(List.of(
+                        StockBatchItemDTO.builder().productId(1L).quantity(4).operation(StockOperation.SUBTRACT).build(),
+                        StockBatchItemDTO.builder().productId(2L).quantity(5).operation(StockOperation.SUBTRACT).build()
+                ))
+                .build();
+
+        when(stockLedger.apply(1L, -4)).thenReturn(OptionalLong.of(96));
+        when(stockLedger.apply(2L, -5)).thenReturn(OptionalLong.empty());
+        when(productRepository.decrementStock(2L, 5)).thenReturn(0);
+        when(productRepository.findById(2L)).thenReturn(Optional.of(product2));
+
+        // When & Then (le ledger libère lui-même la réservation au rollback)
+        assertThrows(InsufficientStockException.class, () -> ledgerService.updateStockBatch(batchDTO));
+        verify(transactionManager).rollback(any());
+        verify(stockLedger).apply(1L, -4);
+        verify(stockLedger, never()).apply(1L, 4);
+    }
+
+    @Test
+    void testUpdateStockBatch_SetLine_EvictedBeforeTransaction() {
+        // Given
+        StockLedger stockLedger = mock(StockLedger.class);
+        ProductService ledgerService = new ProductService(productRepository, productMapper, meterRegistry,
+                orderServiceClient, Optional.of(stockLedger), eventPublisher, stockRequestRegistry, transactionManager);
+        StockBatchUpdateDTO batchDTO = StockBatchUpdateDTO.builder()
+                .items(List.of(
+                        StockBatchItemDTO.builder().productId(1L).quantity(50).operation(StockOperation.SET).build()
+                ))
+                .build();
+
+        when(productRepository.setStock(1L, 50)).thenReturn(1);
+        when(productRepository.findAllById(any()))
+                .thenReturn(List.of(createTestProduct(1L, "Product 1", ProductCategory.ELECTRONICS, 50, true)));
+
+        // When
+        ledgerService.updateStockBatch(batchDTO);
+
+        // Then : le flush du ledger ne s'exécute pas dans la transaction du lot
+        InOrder inOrder = inOrder(stockLedger, transactionManager, productRepository);
+        inOrder.verify(stockLedger).evict(1L);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(productRepository).setStock(1L, 50);
+        verify(stockLedger, never()).apply(anyLong(), anyLong());
     }
 
     @Test
@@ -0,0 +1,116 @@
+package com.example.product.application.service;
+
+import com.example.product.application.dto.ProductResponseDTO;
+import com.example.product.application.dto.StockBatchItemDTO;
+import com.example.product.application.dto.StockBatchUpdateDTO;
+import com.example.product.application.dto.StockUpdateDTO.StockOperation;
+import com.example.product.application.mapper.ProductMapper;
+import com.example.product.domain.entity.Product;
+import com.example.product.domain.entity.Product.ProductCategory;
+import com.example.product.domain.repository.ProcessedStockRequestRepository;
+import com.example.product.domain.repository.ProductRepository;
+import com.example.product.infrastructure.client.OrderServiceClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests de l'idempotence des mises à jour de stock groupées sur une base H2 (schéma Flyway) :
+ * un lot rejoué avec les mêmes clés (réponse perdue, relais d'outbox) ne déplace le stock qu'une fois.
+ */
+@DataJpaTest
+class StockBatchIdempotencyTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProcessedStockRequestRepository processedStockRequestRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductService productService;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        StockRequestRegistry registry = new StockRequestRegistry(processedStockRequestRepository, meterRegistry, 168);
+        productService = new ProductService(productRepository, new ProductMapper(), meterRegistry,
+                mock(OrderServiceClient.class), Optional.empty(), mock(ApplicationEventPublisher.class), registry,
+                transactionManager);
+
+        productId = productRepository.saveAndFlush(Product.builder()
+                .name("Clavier")
+                .description("Clavier mécanique pour les tests d'idempotence")
+                .price(new BigDecimal("49.90"))
+                .stock(10)
+                .category(ProductCategory.ELECTRONICS)
+                .build()).getId();
+    }
+
+    private StockBatchUpdateDTO batch(String key, int quantity, StockOperation operation) {
+        return StockBatchUpdateDTO.builder()
+                .items(List.of(StockBatchItemDTO.builder()
+                        .productId(productId).quantity(quantity).operation(operation).idempotencyKey(key).build()))
+                .build();
+    }
+
+    private int stock() {
+        return productRepository.findById(productId).orElseThrow().getStock();
+    }
+
+    @Test
+    void testSameEventDeliveredTwiceMovesStockOnce() {
+        // Given : livraison d'origine appliquée (réponse perdue côté relais)
+        productService.updateStockBatch(batch("order-outbox-1", 3, StockOperation.SUBTRACT));
+
+        // When : même événement renvoyé
+        List<ProductResponseDTO> replay = productService.updateStockBatch(batch("order-outbox-1", 3, StockOperation.SUBTRACT));
+
+        // Then
+        assertEquals(7, stock());
+        assertEquals(7, replay.get(0).getStock());
+        assertEquals(1, processedStockRequestRepository.count());
+        assertEquals(1.0, meterRegistry.get("stock_batch_replayed_keys_total").counter().count());
+    }
+
+    @Test
+    void testOnlyNewKeysAppliedInMixedBatch() {
+        productService.updateStockBatch(batch("order-outbox-1", 3, StockOperation.SUBTRACT));
+
+        // Lot suivant du relais : l'événement déjà appliqué plus une annulation nouvelle
+        productService.updateStockBatch(StockBatchUpdateDTO.builder()
+                .items(List.of(
+                        StockBatchItemDTO.builder().productId(productId).quantity(3)
+                                .operation(StockOperation.SUBTRACT).idempotencyKey("order-outbox-1").build(),
+                        StockBatchItemDTO.builder().productId(productId).quantity(3)
+                                .operation(StockOperation.ADD).idempotencyKey("order-outbox-2").build()))
+                .build());
+
+        assertEquals(10, stock());
+        assertEquals(2, processedStockRequestRepository.count());
+    }
+
+    @Test
+    void testLinesWithoutKeyAlwaysApplied() {
+        productService.updateStockBatch(batch(null, 2, StockOperation.SUBTRACT));
+        productService.updateStockBatch(batch(null, 2, StockOperation.SUBTRACT));
+
+        assertEquals(6, stock());
+        assertEquals(0, processedStockRequestRepository.count());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.product.domain.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Plans d'exécution (EXPLAIN H2) des requêtes fréquentes du service Product.
+ *
+ * Vérifie, sur le schéma créé par les migrations Flyway, que chaque requête
+ * passe par l'index attendu et jamais par un parcours complet de table.
+ * La recherche par nom partiel (LIKE '%...%') ne peut pas utiliser d'index
+ * et n'est pas vérifiée ici.
+ */
+@DataJpaTest
+class ProductQueryPlanTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    private String explain(String sql, Object... args) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+    }
+
+    private void assertUsesIndex(String index, String sql, Object... args) {
+        String plan = explain(sql, args);
+        assertFalse(plan.contains(".tableScan"), () -> "Parcours complet de table :\n" + plan);
+        assertTrue(plan.toUpperCase().contains(index.toUpperCase()), () -> "Index " + index + " non utilisé :\n" + plan);
+    }
+
+    @Test
+    void testDetectsTableScan() {
+        assertTrue(explain("SELECT * FROM products WHERE description = ?", "Description").contains(".tableScan"));
+    }
+
+    @Test
+    void testFindByCategoryUsesIndex() {
+        assertUsesIndex("idx_products_category", "SELECT * FROM products WHERE category = ?", "BOOKS");
+    }
+
+    @Test
+    void testAggregateStockByCategoryUsesIndex() {
+        assertUsesIndex("idx_products_category",
+                "SELECT category, COUNT(*), SUM(CASE WHEN stock < ? THEN 1 ELSE 0 END) FROM products GROUP BY category", 5);
+    }
+
+    @Test
+    void testCountOutOfStockUsesIndex() {
+        assertUsesIndex("idx_products_stock_active",
+                "SELECT COUNT(*) FROM products WHERE stock = ? AND active = TRUE", 0);
+    }
+
+    @Test
+    void testFindInStockUsesIndex() {
+        assertUsesIndex("idx_products_stock_active", "SELECT * FROM products WHERE stock > ?", 0);
+    }
+
+    @Test
+    void testCountLowStockUsesIndex() {
+        assertUsesIndex("idx_products_stock_active", "SELECT COUNT(*) FROM products WHERE stock < ?", 5);
+    }
+
+    @Test
+    void testExistsByNameUsesIndex() {
+        assertUsesIndex("idx_products_name", "SELECT 1 FROM products WHERE name = ? FETCH FIRST 1 ROWS ONLY", "Clavier");
+    }
+
+    @Test
+    void testExistsByNameAndIdNotUsesIndex() {
+        assertUsesIndex("idx_products_name",
+                "SELECT 1 FROM products WHERE name = ? AND id <> ? FETCH FIRST 1 ROWS ONLY", "Clavier", 1L);
+    }
+}
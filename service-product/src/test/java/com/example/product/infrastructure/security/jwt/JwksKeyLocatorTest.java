@@ -0,0 +1,150 @@
+package com.example.product.infrastructure.security.jwt;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SignatureException;
+import io.jsonwebtoken.security.UnsupportedKeyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.security.KeyPair;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de la sélection des clés par kid depuis le JWKS :
+ * - Tokens ES256 / EdDSA vérifiés avec la clé publiée
+ * - Rotation : un kid inconnu déclenche un rafraîchissement
+ * - Rafraîchissements bornés pour des kids inconnus répétés
+ */
+class JwksKeyLocatorTest {
+
+    private static final String JWKS_URI = "http://membership/.well-known/jwks.json";
+
+    private RestTemplate restTemplate;
+    private SimpleMeterRegistry meterRegistry;
+
+    private final KeyPair ecKey = Jwts.SIG.ES256.keyPair().build();
+    private final KeyPair edKey = Jwks.CRV.Ed25519.keyPair().build();
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = mock(RestTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private JwtTokenProvider providerWith(long minRefreshIntervalMs) {
+        JwksKeyLocator keyLocator = new JwksKeyLocator(restTemplate, new DefaultResourceLoader(),
+                meterRegistry, JWKS_URI, "", minRefreshIntervalMs, 1_000);
+        keyLocator.init();
+
+        JwtTokenProvider provider = new JwtTokenProvider(keyLocator, meterRegistry, 100);
+        provider.init();
+        return provider;
+    }
+
+    private static PublicJwk<?> jwk(KeyPair keyPair) {
+        return Jwks.builder().key(keyPair.getPublic()).idFromThumbprint().build();
+    }
+
+    private void publish(KeyPair... keyPairs) {
+        String json = Arrays.stream(keyPairs)
+                .map(keyPair -> Jwks.json(jwk(keyPair)))
+                .collect(Collectors.joining(",", "{\"keys\":[", "]}"));
+        when(restTemplate.getForObject(eq(JWKS_URI), eq(String.class))).thenReturn(json);
+    }
+
+    private static String token(KeyPair keyPair, String kid) {
+        return Jwts.builder()
+                .header().keyId(kid).and()
+                .subject("aya@test.com")
+                .claim("roles", "USER")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(keyPair.getPrivate())
+                .compact();
+    }
+
+    private double refreshes(String result) {
+        return meterRegistry.get("jwt_jwks_refresh_total").tag("result", result).counter().count();
+    }
+
+    @Test
+    void testTokensVerifiedWithPublishedKeys() {
+        // Given
+        publish(ecKey, edKey);
+        JwtTokenProvider provider = providerWith(10_000);
+
+        // When / Then
+        assertEquals("aya@test.com", provider.authenticate(token(ecKey, jwk(ecKey).getId())).userId());
+        assertEquals("aya@test.com", provider.authenticate(token(edKey, jwk(edKey).getId())).userId());
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(String.class));
+        assertEquals(2.0, meterRegistry.get("jwt_jwks_keys").gauge().value());
+    }
+
+    @Test
+    void testUnknownKidTriggersRefresh() {
+        // Given : JWKS initial sans la nouvelle clé
+        publish(ecKey);
+        JwtTokenProvider provider = providerWith(0);
+
+        // When : rotation côté Membership
+        publish(ecKey, edKey);
+        JwtPrincipal principal = provider.authenticate(token(edKey, jwk(edKey).getId()));
+
+        // Then
+        assertEquals("aya@test.com", principal.userId());
+        assertEquals(2.0, refreshes("success"));
+    }
+
+    @Test
+    void testRepeatedUnknownKidsRefreshAtMostOncePerInterval() {
+        // Given
+        publish(ecKey);
+        JwtTokenProvider provider = providerWith(60_000);
+
+        // When : kids inconnus juste après le chargement initial
+        for (int i = 0; i < 3; i++) {
+            String forged = token(edKey, "kid-inconnu-" + i);
+            assertThrows(UnsupportedKeyException.class, () -> provider.authenticate(forged));
+        }
+
+        // Then : aucun appel supplémentaire au JWKS
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(String.class));
+    }
+
+    @Test
+    void testTokenSignedWithOtherKeyForSameKidRejected() {
+        publish(ecKey);
+        JwtTokenProvider provider = providerWith(60_000);
+
+        String forged = token(Jwts.SIG.ES256.keyPair().build(), jwk(ecKey).getId());
+
+        assertThrows(SignatureException.class, () -> provider.authenticate(forged));
+    }
+
+    @Test
+    void testJwksUnavailableAtStartupDoesNotFail() {
+        // Given
+        when(restTemplate.getForObject(anyString(), eq(String.class)))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        // When
+        JwtTokenProvider provider = providerWith(0);
+
+        // Then : récupéré au premier token
+        assertEquals(1.0, refreshes("failure"));
+        publish(ecKey);
+        assertEquals("aya@test.com", provider.authenticate(token(ecKey, jwk(ecKey).getId())).userId());
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.product.infrastructure.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de l'authentification JWT par requête (filtre), avant / après :
+ * - legacyPerRequest : ancien filtre, 3 parsers construits et 3 vérifications RSA
+ * - singleParse : parser partagé, une vérification en JwtPrincipal (sans cache)
+ * - cachedAuthenticate : parser partagé + cache des tokens vérifiés (token réutilisé)
+ *
+ * Lancement (depuis service-product) :
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.example.product.infrastructure.security.jwt.JwtParsingBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtParsingBenchmark {
+
+    private PublicKey publicKey;
+    private String token;
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        publicKey = keyPair.getPublic();
+
+        Path publicKeyFile = Files.createTempFile("jwt-bench", ".pem");
+        publicKeyFile.toFile().deleteOnExit();
+        Files.writeString(publicKeyFile, "-----BEGIN PUBLIC KEY-----\n"
+                + Base64.getMimeEncoder().encodeToString(publicKey.getEncoded())
+                + "\n-----END PUBLIC KEY-----\n");
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JwksKeyLocator keyLocator = new JwksKeyLocator(new RestTemplate(), new DefaultResourceLoader(),
+                meterRegistry, "", publicKeyFile.toUri().toString(), 10_000, 100);
+        keyLocator.init();
+
+        jwtTokenProvider = new JwtTokenProvider(keyLocator, meterRegistry, 10_000);
+        jwtTokenProvider.init();
+
+        token = Jwts.builder()
+                .subject("aya@test.com")
+                .claim("email", "aya@test.com")
+                .claim("roles", "USER")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(keyPair.getPrivate())
+                .compact();
+    }
+
+    @Benchmark
+    public Object legacyPerRequest() {
+        Date expiration = legacyClaims().getExpiration();
+        String userId = legacyClaims().getSubject();
+        String role = legacyClaims().get("roles", String.class);
+        return expiration.before(new Date()) ? null : userId + role;
+    }
+
+    @Benchmark
+    public JwtPrincipal singleParse() {
+        return jwtTokenProvider.parse(token);
+    }
+
+    @Benchmark
+    public JwtPrincipal cachedAuthenticate() {
+        return jwtTokenProvider.authenticate(token);
+    }
+
+    private Claims legacyClaims() {
+        return Jwts.parser()
+                .verifyWith(publicKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(JwtParsingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
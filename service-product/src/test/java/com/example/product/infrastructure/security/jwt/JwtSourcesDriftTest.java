@@ -0,0 +1,73 @@
+package com.example.product.infrastructure.security.jwt;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Validation JWT dupliquée dans les services Product et Order (pas de module
+ * commun : chaque image Docker est construite depuis le seul répertoire du
+ * service). Ce test échoue dès que les deux copies divergent, au nom de
+ * package près : toute modification doit être reportée dans Order.
+ *
+ * Ignoré si les sources de Order ne sont pas présentes (build isolé).
+ */
+class JwtSourcesDriftTest {
+
+    private static final String PACKAGE_PATH = "infrastructure/security/jwt/";
+
+    private static final Path SELF_MAIN = Path.of("src/main/java/com/example/product/" + PACKAGE_PATH);
+    private static final Path SELF_TEST = Path.of("src/test/java/com/example/product/" + PACKAGE_PATH);
+    private static final Path SIBLING_MAIN = Path.of("../service-order/src/main/java/com/membership/order/" + PACKAGE_PATH);
+    private static final Path SIBLING_TEST = Path.of("../service-order/src/test/java/com/membership/order/" + PACKAGE_PATH);
+
+    private static final List<String> SHARED_SOURCES = List.of(
+            "BloomFilter.java",
+            "JwksKeyLocator.java",
+            "JwtAuthenticationFilter.java",
+            "JwtPrincipal.java",
+            "JwtTokenProvider.java",
+            "TokenRevocationList.java");
+
+    private static final List<String> SHARED_TESTS = List.of(
+            "JwksKeyLocatorTest.java",
+            "JwtTokenProviderTest.java",
+            "TokenRevocationListTest.java");
+
+    private static String normalized(Path file, String basePackage) throws IOException {
+        return Files.readString(file).replace(basePackage, "<base-package>");
+    }
+
+    private static void assertSameSources(Path self, Path sibling, List<String> files) {
+        assumeTrue(Files.isDirectory(sibling), "Sources de Order absentes : " + sibling);
+        assertAll(files.stream().map(name -> (Executable) () -> assertEquals(
+                normalized(sibling.resolve(name), "com.membership.order"),
+                normalized(self.resolve(name), "com.example.product"),
+                () -> name + " diverge de la copie de Order")));
+    }
+
+    @Test
+    void testSharedSourcesIdenticalToSibling() {
+        assertSameSources(SELF_MAIN, SIBLING_MAIN, SHARED_SOURCES);
+    }
+
+    @Test
+    void testSharedTestsIdenticalToSibling() {
+        assertSameSources(SELF_TEST, SIBLING_TEST, SHARED_TESTS);
+    }
+
+    @Test
+    void testNoUnsharedSource() throws IOException {
+        try (Stream<Path> files = Files.list(SELF_MAIN)) {
+            assertEquals(SHARED_SOURCES, files.map(file -> file.getFileName().toString()).sorted().toList());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.product.infrastructure.security.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Surcoût par requête de la vérification des révocations (10 000 utilisateurs révoqués) :
+ * - notRevoked : cas courant, écarté par le filtre de Bloom
+ * - revoked : utilisateur révoqué, confirmé par la table exacte
+ *
+ * Lancement (depuis service-product) :
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.example.product.infrastructure.security.jwt.TokenRevocationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenRevocationBenchmark {
+
+    private TokenRevocationList revocationList;
+    private JwtPrincipal activeUser;
+    private JwtPrincipal revokedUser;
+
+    @Setup
+    public void setUp() {
+        Instant now = Instant.now();
+        List<TokenRevocationList.RevocationFeed.Entry> entries = LongStream.range(0, 10_000)
+                .mapToObj(id -> new TokenRevocationList.RevocationFeed.Entry(id + 1, String.valueOf(1_000_000 + id),
+                        now.toEpochMilli(), now.plusSeconds(960).toEpochMilli()))
+                .toList();
+
+        RestTemplate restTemplate = mock(RestTemplate.class);
+        when(restTemplate.exchange(any(String.class), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(TokenRevocationList.RevocationFeed.class), eq(0L)))
+                .thenReturn(ResponseEntity.ok(new TokenRevocationList.RevocationFeed(10_000, 10_000, false, entries)));
+        revocationList = new TokenRevocationList(restTemplate, new SimpleMeterRegistry(), "http://membership",
+                "secret", Clock.systemUTC());
+        revocationList.refresh();
+
+        activeUser = new JwtPrincipal("42", "aya@test.com", "USER", now.minusSeconds(60), now.plusSeconds(840));
+        revokedUser = new JwtPrincipal("1000042", "x@test.com", "USER", now.minusSeconds(60), now.plusSeconds(840));
+    }
+
+    @Benchmark
+    public boolean notRevoked() {
+        return revocationList.isRevoked(activeUser);
+    }
+
+    @Benchmark
+    public boolean revoked() {
+        return revocationList.isRevoked(revokedUser);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(TokenRevocationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.product.infrastructure.stock;
+
+import com.example.product.domain.entity.Product;
+import com.example.product.domain.repository.ProductRepository;
+import com.example.product.domain.repository.StockLedgerCheckpointRepository;
+import com.example.product.infrastructure.security.jwt.TokenRevocationList;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskSchedulingAutoConfiguration;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Planification avec le pool de application.yml : une lecture du flux de
+ * révocations bloquée (Membership ne répond pas) ne retarde pas le flush du
+ * ledger de stock.
+ */
+class StockLedgerSchedulingTest {
+
+    @TempDir
+    Path journalDir;
+
+    @Configuration
+    @EnableScheduling
+    static class SchedulingConfig {
+    }
+
+    @Test
+    void testBlockedRevocationRefreshDoesNotDelayFlush() throws Exception {
+        // Given : flux de révocations bloqué après la lecture initiale
+        CountDownLatch refreshBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger feedReads = new AtomicInteger();
+        RestTemplate restTemplate = mock(RestTemplate.class);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), any(Class.class), any(Object[].class)))
+                .thenAnswer(inv -> {
+                    if (feedReads.getAndIncrement() > 0) {
+                        refreshBlocked.countDown();
+                        release.await(10, TimeUnit.SECONDS);
+                    }
+                    return ResponseEntity.ok().build();
+                });
+
+        ProductRepository productRepository = mock(ProductRepository.class);
+        StockLedgerCheckpointRepository checkpointRepository = mock(StockLedgerCheckpointRepository.class);
+        when(checkpointRepository.findById(1L)).thenReturn(Optional.empty());
+        when(productRepository.findAllById(anyCollection()))
+                .thenReturn(List.of(Product.builder().id(1L).stock(10).build()));
+        when(productRepository.incrementStock(1L, -1)).thenReturn(1);
+
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        new ApplicationContextRunner()
+                .withInitializer(new ConfigDataApplicationContextInitializer())
+                .withConfiguration(AutoConfigurations.of(TaskSchedulingAutoConfiguration.class))
+                .withUserConfiguration(SchedulingConfig.class)
+                .withPropertyValues(
+                        "app.stock.ledger.enabled=true",
+                        "app.stock.ledger.flush-interval-ms=20",
+                        "app.jwt.revocations.refresh-interval-ms=10")
+                .withBean(TokenRevocationList.class, () -> new TokenRevocationList(
+                        restTemplate, meterRegistry, "http://membership/api/v1/auth/revocations", "secret"))
+                .withBean(StockLedger.class, () -> new StockLedger(productRepository, checkpointRepository,
+                        mock(PlatformTransactionManager.class), meterRegistry, journalDir, 1, 30_000))
+                .run(context -> {
+                    try {
+                        assertTrue(refreshBlocked.await(5, TimeUnit.SECONDS));
+                        StockLedger stockLedger = context.getBean(StockLedger.class);
+
+                        // When : produit promu (flush planifié) puis réservé, lecture du flux toujours bloquée
+                        stockLedger.recordAccess(1L);
+                        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+                        while (stockLedger.apply(1L, -1).isEmpty()) {
+                            assertTrue(System.nanoTime() < deadline, "Produit non promu par le flush planifié");
+                            Thread.sleep(5);
+                        }
+
+                        // Then : le delta est appliqué en base par le flush planifié suivant
+                        verify(productRepository, timeout(2000)).incrementStock(1L, -1);
+                        assertEquals(2, feedReads.get());
+                    } finally {
+                        release.countDown();
+                    }
+                });
+    }
+}
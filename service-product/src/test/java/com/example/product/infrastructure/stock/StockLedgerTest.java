@@ -0,0 +1,293 @@
+package com.example.product.infrastructure.stock;
+
+import com.example.product.domain.entity.Product;
+import com.example.product.domain.entity.StockLedgerCheckpoint;
+import com.example.product.domain.repository.ProductRepository;
+import com.example.product.domain.repository.StockLedgerCheckpointRepository;
+import com.example.product.infrastructure.exception.InsufficientStockException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour StockLedger.
+ *
+ * Vérifie :
+ * - La promotion d'un produit chaud et les réservations en mémoire
+ * - Le flush du delta net avec point de reprise
+ * - Le rejeu du journal au démarrage
+ * - La journalisation au commit de la transaction de l'appelant
+ * - La sortie d'un produit, refusée dans une transaction ouverte
+ */
+@ExtendWith(MockitoExtension.class)
+class StockLedgerTest {
+
+    private static final long HOT_THRESHOLD = 3;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockLedgerCheckpointRepository checkpointRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path journalDir;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testHotProduct_ReservedInMemoryThenFlushed() throws Exception {
+        // Given
+        StockLedger stockLedger = newLedger();
+        when(checkpointRepository.findById(1L)).thenReturn(Optional.empty());
+        stockLedger.recover();
+
+        when(productRepository.findAllById(anyCollection()))
+                .thenReturn(List.of(product(1L, 10)))
+                .thenReturn(List.of(product(1L, 6)));
+        when(productRepository.incrementStock(1L, -4)).thenReturn(1);
+
+        for (int i = 0; i < HOT_THRESHOLD; i++) {
+            stockLedger.recordAccess(1L);
+        }
+        stockLedger.flush();
+
+        // When
+        long stock = stockLedger.apply(1L, -4).orElseThrow();
+
+        // Then
+        assertEquals(6, stock);
+        assertThrows(InsufficientStockException.class, () -> stockLedger.apply(1L, -7));
+        assertEquals(1.0, meterRegistry.get("products_stock_ledger_hot_skus").gauge().value());
+
+        stockLedger.flush();
+        verify(productRepository).incrementStock(1L, -4);
+        verify(checkpointRepository).save(new StockLedgerCheckpoint(1L, 1L));
+        assertEquals(6, stockLedger.currentStock(1L).orElseThrow());
+    }
+
+    @Test
+    void testColdProduct_NotManaged() throws Exception {
+        // Given
+        StockLedger stockLedger = newLedger();
+        when(checkpointRepository.findById(1L)).thenReturn(Optional.empty());
+        stockLedger.recover();
+
+        // When
+        stockLedger.recordAccess(1L);
+        stockLedger.flush();
+
+        // Then
+        assertTrue(stockLedger.apply(1L, -1).isEmpty());
+        verify(productRepository, never()).findAllById(anyCollection());
+    }
+
+    @Test
+    void testRecover_ReplaysJournalAfterCheckpoint() throws Exception {
+        // Given : mouvements journalisés mais jamais flushés (crash)
+        StockLedger crashed = newLedger();
+        when(checkpointRepository.findById(1L)).thenReturn(Optional.empty());
+        crashed.recover();
+        when(productRepository.findAllById(anyCollection())).thenReturn(List.of(product(1L, 10)));
+        for (int i = 0; i < HOT_THRESHOLD; i++) {
+            crashed.recordAccess(1L);
+        }
+        crashed.flush();
+        crashed.apply(1L, -4);
+        crashed.apply(1L, -2);
+        crashed.apply(1L, 1);
+
+        // When
+        StockLedger restarted = newLedger();
+        restarted.recover();
+
+        // Then
+        verify(productRepository).incrementStock(1L, -5);
+        verify(checkpointRepository).save(new StockLedgerCheckpoint(1L, 3L));
+    }
+
+    @Test
+    void testRecover_SkipsMovementsAlreadyCheckpointed() throws Exception {
+        // Given
+        StockLedger crashed = newLedger();
+        when(checkpointRepository.findById(1L)).thenReturn(Optional.empty());
+        crashed.recover();
+        when(productRepository.findAllById(anyCollection())).thenReturn(List.of(product(1L, 10)));
+        for (int i = 0; i < HOT_THRESHOLD; i++) {
+            crashed.recordAccess(1L);
+        }
+        crashed.flush();
+        crashed.apply(1L, -4);
+        crashed.apply(1L, -2);
+
+        // When : la séquence 1 a déjà été appliquée en base
+        when(checkpointRepository.findById(1L)).thenReturn(Optional.of(new StockLedgerCheckpoint(1L, 1L)));
+        StockLedger restarted = newLedger();
+        restarted.recover();
+
+        // Then
+        verify(productRepository).incrementStock(1L, -2);
+        verify(productRepository, never()).incrementStock(1L, -6);
+    }
+
+    @Test
+    void testEvict_RefusedInsideOpenTransaction() throws Exception {
+        // Given : produit chaud
+        StockLedger stockLedger = newLedger();
+        when(checkpointRepository.findById(1L)).thenReturn(Optional.empty());
+        stockLedger.recover();
+        when(productRepository.findAllById(anyCollection())).thenReturn(List.of(product(1L, 10)));
+        for (int i = 0; i < HOT_THRESHOLD; i++) {
+            stockLedger.recordAccess(1L);
+        }
+        stockLedger.flush();
+
+        // When & Then : le flush attendrait les verrous de la transaction de l'appelant
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThrows(IllegalStateException.class, () -> stockLedger.evict(1L));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        assertEquals(10, stockLedger.currentStock(1L).orElseThrow());
+
+        stockLedger.evict(1L);
+        assertTrue(stockLedger.currentStock(1L).isEmpty());
+    }
+
+    @Test
+    void testApply_InTransaction_JournaledOnlyAtCommit() throws Exception {
+        // Given
+        StockLedger crashed = hotLedger();
+
+        // When : réservation dans une transaction jamais terminée (arrêt brutal avant le commit)
+        inTransaction(() -> {
+            assertEquals(6, crashed.apply(1L, -4).orElseThrow());
+            assertEquals(6, crashed.currentStock(1L).orElseThrow());
+        });
+
+        // Then : rien à rejouer, la clé d'idempotence du lot n'a pas été enregistrée non plus
+        StockLedger restarted = newLedger();
+        restarted.recover();
+        verify(productRepository, never()).incrementStock(anyLong(), anyInt());
+    }
+
+    @Test
+    void testApply_InTransaction_CommittedMovementFlushed() throws Exception {
+        // Given
+        StockLedger stockLedger = hotLedger();
+        when(productRepository.incrementStock(1L, -1)).thenReturn(1);
+
+        // When
+        inTransaction(() -> {
+            stockLedger.apply(1L, -4);
+            stockLedger.apply(1L, 3);
+            assertEquals(6, stockLedger.currentStock(1L).orElseThrow());
+            completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        });
+
+        // Then : libération visible au commit, delta net flushé
+        assertEquals(9, stockLedger.currentStock(1L).orElseThrow());
+        stockLedger.flush();
+        verify(productRepository).incrementStock(1L, -1);
+        verify(checkpointRepository).save(new StockLedgerCheckpoint(1L, 2L));
+    }
+
+    @Test
+    void testApply_InTransaction_RollbackReleasesReservation() throws Exception {
+        // Given
+        StockLedger stockLedger = hotLedger();
+
+        // When
+        inTransaction(() -> {
+            stockLedger.apply(1L, -4);
+            stockLedger.apply(1L, 3);
+            completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        });
+
+        // Then
+        assertEquals(10, stockLedger.currentStock(1L).orElseThrow());
+        stockLedger.flush();
+        verify(productRepository, never()).incrementStock(anyLong(), anyInt());
+    }
+
+    @Test
+    void testApply_EvictedBeforeCommit_MovementAppliedInDatabase() throws Exception {
+        // Given
+        StockLedger stockLedger = hotLedger();
+
+        // When : produit sorti du ledger (SET concurrent) pendant la transaction
+        inTransaction(() -> {
+            stockLedger.apply(1L, -4);
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            stockLedger.evict(1L);
+            completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        });
+
+        // Then
+        assertTrue(stockLedger.currentStock(1L).isEmpty());
+        verify(productRepository).incrementStock(1L, -4);
+    }
+
+    /**
+     * Produit 1 promu dans le ledger avec un stock de 10.
+     */
+    private StockLedger hotLedger() throws Exception {
+        StockLedger stockLedger = newLedger();
+        when(checkpointRepository.findById(1L)).thenReturn(Optional.empty());
+        stockLedger.recover();
+        when(productRepository.findAllById(anyCollection())).thenReturn(List.of(product(1L, 10)));
+        for (int i = 0; i < HOT_THRESHOLD; i++) {
+            stockLedger.recordAccess(1L);
+        }
+        stockLedger.flush();
+        return stockLedger;
+    }
+
+    private void inTransaction(Runnable body) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            body.run();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void completeTransaction(int status) {
+        TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(), status);
+    }
+
+    private StockLedger newLedger() {
+        return new StockLedger(productRepository, checkpointRepository, transactionManager,
+                meterRegistry, journalDir, HOT_THRESHOLD, 30000);
+    }
+
+    private Product product(Long id, int stock) {
+        return Product.builder().id(id).stock(stock).build();
+    }
+}